@@ -0,0 +1,128 @@
+package com.rut.booking.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rut.booking.security.SignedTokenService;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.servlet.FlashMap;
+import org.springframework.web.servlet.support.AbstractFlashMapManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps redirect flash attributes in a signed cookie instead of the HTTP session,
+ * so the stateless mode can serve the follow-up GET from any node.
+ */
+public class CookieFlashMapManager extends AbstractFlashMapManager {
+
+    static final String FLASH_COOKIE = "RUT_FLASH";
+
+    private static final TypeReference<List<Map<String, Object>>> FLASH_LIST_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+    private final SignedTokenService signedTokenService;
+
+    public CookieFlashMapManager(ObjectMapper objectMapper, SignedTokenService signedTokenService) {
+        this.objectMapper = objectMapper;
+        this.signedTokenService = signedTokenService;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected List<FlashMap> retrieveFlashMaps(HttpServletRequest request) {
+        String value = readCookie(request);
+        if (value == null) {
+            return null;
+        }
+        int dot = value.indexOf('.');
+        if (dot <= 0 || !signedTokenService.verifySignature(value.substring(0, dot), value.substring(dot + 1))) {
+            return null;
+        }
+
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(value.substring(0, dot));
+            List<FlashMap> flashMaps = new ArrayList<>();
+            for (Map<String, Object> entry : objectMapper.readValue(json, FLASH_LIST_TYPE)) {
+                FlashMap flashMap = new FlashMap();
+                flashMap.setTargetRequestPath((String) entry.get("path"));
+                Map<String, List<String>> params = (Map<String, List<String>>) entry.get("params");
+                if (params != null) {
+                    flashMap.addTargetRequestParams(new LinkedMultiValueMap<>(params));
+                }
+                flashMap.setExpirationTime(((Number) entry.get("expires")).longValue());
+                flashMap.putAll((Map<String, Object>) entry.get("attributes"));
+                flashMaps.add(flashMap);
+            }
+            return flashMaps;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    @Override
+    protected void updateFlashMaps(List<FlashMap> flashMaps, HttpServletRequest request,
+                                   HttpServletResponse response) {
+        if (flashMaps.isEmpty()) {
+            writeCookie(response, "", 0);
+            return;
+        }
+
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (FlashMap flashMap : flashMaps) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("path", flashMap.getTargetRequestPath());
+            entry.put("params", flashMap.getTargetRequestParams());
+            entry.put("expires", flashMap.getExpirationTime());
+            entry.put("attributes", new LinkedHashMap<>(flashMap));
+            entries.add(entry);
+        }
+
+        try {
+            String payload = Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(objectMapper.writeValueAsString(entries).getBytes(StandardCharsets.UTF_8));
+            writeCookie(response, payload + "." + signedTokenService.sign(payload), getFlashMapTimeout());
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to write flash attributes: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    protected Object getFlashMapsMutex(HttpServletRequest request) {
+        // Cookie-backed maps are per-request copies, nothing shared to lock
+        return null;
+    }
+
+    private String readCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (FLASH_COOKIE.equals(cookie.getName())) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+
+    private void writeCookie(HttpServletResponse response, String value, int maxAgeSeconds) {
+        ResponseCookie cookie = ResponseCookie.from(FLASH_COOKIE, value)
+                .httpOnly(true)
+                .sameSite("Lax")
+                .path("/")
+                .maxAge(maxAgeSeconds)
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+}
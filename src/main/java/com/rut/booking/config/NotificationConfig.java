@@ -0,0 +1,27 @@
+package com.rut.booking.config;
+
+import com.rut.booking.notifications.LoggingNotificationTransport;
+import com.rut.booking.notifications.NotificationTransport;
+import com.rut.booking.notifications.SmtpNotificationTransport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.javamail.JavaMailSender;
+
+@Configuration
+public class NotificationConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.notifications.transport", havingValue = "log", matchIfMissing = true)
+    public NotificationTransport loggingNotificationTransport() {
+        return new LoggingNotificationTransport();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.notifications.transport", havingValue = "smtp")
+    public NotificationTransport smtpNotificationTransport(JavaMailSender mailSender,
+                                                           @Value("${app.notifications.from}") String from) {
+        return new SmtpNotificationTransport(mailSender, from);
+    }
+}
@@ -1,6 +1,12 @@
 package com.rut.booking.config;
 
+import com.rut.booking.security.AuthenticationUserCache;
 import com.rut.booking.security.CustomUserDetailsService;
+import com.rut.booking.security.SignedTokenAuthenticationFilter;
+import com.rut.booking.security.SignedTokenCookieHandler;
+import com.rut.booking.security.SignedTokenService;
+import com.rut.booking.security.TokenRevocationService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -8,9 +14,14 @@ import org.springframework.security.authentication.dao.DaoAuthenticationProvider
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
+import org.springframework.security.web.savedrequest.NullRequestCache;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
 @Configuration
@@ -18,14 +29,30 @@ import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
+    private final AuthenticationUserCache userCache;
+    private final int bcryptStrength;
+    private final SignedTokenService signedTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final SignedTokenCookieHandler signedTokenCookieHandler;
+    private final boolean statelessEnabled;
 
-    public SecurityConfig(CustomUserDetailsService userDetailsService) {
+    public SecurityConfig(CustomUserDetailsService userDetailsService, AuthenticationUserCache userCache,
+                          @Value("${app.security.bcrypt-strength:10}") int bcryptStrength,
+                          SignedTokenService signedTokenService, TokenRevocationService tokenRevocationService,
+                          SignedTokenCookieHandler signedTokenCookieHandler,
+                          @Value("${app.security.stateless.enabled:false}") boolean statelessEnabled) {
         this.userDetailsService = userDetailsService;
+        this.userCache = userCache;
+        this.bcryptStrength = bcryptStrength;
+        this.signedTokenService = signedTokenService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.signedTokenCookieHandler = signedTokenCookieHandler;
+        this.statelessEnabled = statelessEnabled;
     }
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     @Bean
@@ -33,6 +60,9 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setUserCache(userCache);
+        // Hashes with a lower cost than configured are re-encoded on the next successful login
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
@@ -47,12 +77,13 @@ public class SecurityConfig {
                 .authenticationProvider(authenticationProvider())
                 .authorizeHttpRequests(auth -> auth
                         // Public pages
-                        .requestMatchers("/", "/home", "/contacts", "/licenses", "/policies", "/faq", "/campus-plan").permitAll()
+                        .requestMatchers("/", "/home", "/contacts", "/licenses", "/policies", "/faq", "/campus-plan", "/campus-plan/api/plans").permitAll()
                         .requestMatchers("/login", "/register").permitAll()
                         .requestMatchers("/css/**", "/js/**", "/images/**", "/uploads/**", "/campus-plans/**").permitAll()
                         .requestMatchers("/error").permitAll()
 
                         // Admin/Dispatcher pages
+                        .requestMatchers("/admin/api/users/**").hasRole("ADMIN")
                         .requestMatchers("/admin/**").hasAnyRole("ADMIN", "DISPATCHER")
 
                         // Teacher pages
@@ -85,6 +116,38 @@ public class SecurityConfig {
                         .ignoringRequestMatchers("/api/**")
                 );
 
+        if (statelessEnabled) {
+            configureStateless(http);
+        }
+
         return http.build();
     }
+
+    /**
+     * Stateless mode: the principal travels in a signed cookie, so any node can serve any
+     * request without a session. Login issues the cookie, logout revokes it.
+     */
+    private void configureStateless(HttpSecurity http) throws Exception {
+        http
+                .sessionManagement(session -> session
+                        .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                )
+                .securityContext(context -> context
+                        .securityContextRepository(new RequestAttributeSecurityContextRepository())
+                )
+                .requestCache(cache -> cache
+                        .requestCache(new NullRequestCache())
+                )
+                .formLogin(form -> form
+                        .successHandler(signedTokenCookieHandler)
+                )
+                .logout(logout -> logout
+                        .addLogoutHandler(signedTokenCookieHandler)
+                )
+                .csrf(csrf -> csrf
+                        .csrfTokenRepository(CookieCsrfTokenRepository.withHttpOnlyFalse())
+                )
+                .addFilterBefore(new SignedTokenAuthenticationFilter(signedTokenService, tokenRevocationService),
+                        UsernamePasswordAuthenticationFilter.class);
+    }
 }
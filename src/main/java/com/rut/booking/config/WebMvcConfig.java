@@ -1,20 +1,77 @@
 package com.rut.booking.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rut.booking.security.SignedTokenService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.FlashMapManager;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
 
+    @Value("${app.storage.backend:local}")
+    private String storageBackend;
+
+    @Value("${app.storage.local.root:.}")
+    private String localStorageRoot;
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        // Serve uploaded files
+        if (!"local".equals(storageBackend)) {
+            // Object storage: UploadController redirects to pre-signed URLs instead
+            return;
+        }
+        String root = Paths.get(localStorageRoot).toAbsolutePath().normalize().toUri().toString();
+        if (!root.endsWith("/")) {
+            root += "/";
+        }
+
+        // Content-addressed uploads never change under the same URL
+        registry.addResourceHandler("/uploads/blobs/**")
+                .addResourceLocations(root + "uploads/blobs/")
+                .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                .setEtagGenerator(WebMvcConfig::etag);
+
+        // Serve uploaded files; browsers revalidate and get 304 while the file is unchanged
         registry.addResourceHandler("/uploads/**")
-                .addResourceLocations("file:./uploads/");
+                .addResourceLocations(root + "uploads/")
+                .setCacheControl(CacheControl.noCache().cachePublic())
+                .setEtagGenerator(WebMvcConfig::etag);
 
         // Serve PDF files
         registry.addResourceHandler("/pdf/**")
-                .addResourceLocations("file:./pdf-storage/");
+                .addResourceLocations(root + "pdf-storage/")
+                .setCacheControl(CacheControl.noCache().cachePrivate())
+                .setEtagGenerator(WebMvcConfig::etag);
+    }
+
+    /**
+     * Weak validator from size and modification time, which avoids hashing the file per request.
+     */
+    private static String etag(Resource resource) {
+        try {
+            return "W/\"" + Long.toHexString(resource.contentLength()) + "-"
+                    + Long.toHexString(resource.lastModified()) + "\"";
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // Stateless mode keeps redirect flash attributes in a signed cookie instead of the session
+    @Bean(name = DispatcherServlet.FLASH_MAP_MANAGER_BEAN_NAME)
+    @ConditionalOnProperty(name = "app.security.stateless.enabled", havingValue = "true")
+    public FlashMapManager flashMapManager(ObjectMapper objectMapper, SignedTokenService signedTokenService) {
+        return new CookieFlashMapManager(objectMapper, signedTokenService);
     }
 }
@@ -1,19 +1,46 @@
 package com.rut.booking.controllers;
 
+import com.rut.booking.dto.BlackoutResultDto;
 import com.rut.booking.dto.BookingDto;
+import com.rut.booking.dto.BulkBookingJobDto;
+import com.rut.booking.dto.CacheRegionStatsDto;
 import com.rut.booking.dto.CalendarEventDto;
 import com.rut.booking.dto.ReviewDto;
+import com.rut.booking.dto.RoomBlackoutDto;
 import com.rut.booking.dto.RoomDto;
 import com.rut.booking.dto.RoomIssueDto;
+import com.rut.booking.dto.TimetableImportResultDto;
+import com.rut.booking.dto.UserDto;
+import com.rut.booking.dto.UtilizationReportDto;
+import com.rut.booking.dto.WaitlistEntryDto;
+import com.rut.booking.models.enums.BlackoutScope;
 import com.rut.booking.models.enums.BookingStatus;
+import com.rut.booking.models.enums.BulkBookingAction;
+import com.rut.booking.models.enums.ClassPeriod;
+import com.rut.booking.models.enums.ExportFormat;
+import com.rut.booking.models.enums.RoleType;
 import com.rut.booking.models.enums.RoomType;
 import com.rut.booking.security.CustomUserDetails;
+import com.rut.booking.services.AttendanceService;
+import com.rut.booking.services.BlackoutService;
 import com.rut.booking.services.BookingService;
+import com.rut.booking.services.BookingStatusCounters;
+import com.rut.booking.services.BulkBookingService;
+import com.rut.booking.services.EntityCacheService;
+import com.rut.booking.services.ExportService;
 import com.rut.booking.services.ReviewService;
 import com.rut.booking.services.RoomService;
 import com.rut.booking.services.RoomIssueService;
+import com.rut.booking.services.TimetableImportService;
+import com.rut.booking.services.UserService;
+import com.rut.booking.services.UtilizationService;
+import com.rut.booking.services.WaitlistService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -21,8 +48,11 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.io.IOException;
+import java.net.URI;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @Controller
 @RequestMapping("/admin")
@@ -32,20 +62,46 @@ public class AdminController {
     private final RoomService roomService;
     private final ReviewService reviewService;
     private final RoomIssueService roomIssueService;
-
-    public AdminController(BookingService bookingService, RoomService roomService, ReviewService reviewService, RoomIssueService roomIssueService) {
+    private final EntityCacheService entityCacheService;
+    private final BulkBookingService bulkBookingService;
+    private final BlackoutService blackoutService;
+    private final WaitlistService waitlistService;
+    private final TimetableImportService timetableImportService;
+    private final ExportService exportService;
+    private final UtilizationService utilizationService;
+    private final BookingStatusCounters bookingStatusCounters;
+    private final AttendanceService attendanceService;
+    private final UserService userService;
+
+    public AdminController(BookingService bookingService, RoomService roomService, ReviewService reviewService,
+                           RoomIssueService roomIssueService, EntityCacheService entityCacheService,
+                           BulkBookingService bulkBookingService, BlackoutService blackoutService,
+                           WaitlistService waitlistService, TimetableImportService timetableImportService,
+                           ExportService exportService, UtilizationService utilizationService,
+                           BookingStatusCounters bookingStatusCounters, AttendanceService attendanceService,
+                           UserService userService) {
         this.bookingService = bookingService;
         this.roomService = roomService;
         this.reviewService = reviewService;
         this.roomIssueService = roomIssueService;
+        this.entityCacheService = entityCacheService;
+        this.bulkBookingService = bulkBookingService;
+        this.blackoutService = blackoutService;
+        this.waitlistService = waitlistService;
+        this.timetableImportService = timetableImportService;
+        this.exportService = exportService;
+        this.utilizationService = utilizationService;
+        this.bookingStatusCounters = bookingStatusCounters;
+        this.attendanceService = attendanceService;
+        this.userService = userService;
     }
 
     @GetMapping
     public String dashboard(@AuthenticationPrincipal CustomUserDetails userDetails, Model model) {
-        Long pendingCount = bookingService.countByStatus(BookingStatus.PENDING) +
-                           bookingService.countByStatus(BookingStatus.CREATED);
-        Long approvedCount = bookingService.countByStatus(BookingStatus.APPROVED);
-        Long rejectedCount = bookingService.countByStatus(BookingStatus.REJECTED);
+        Map<BookingStatus, Long> counts = bookingStatusCounters.snapshot();
+        Long pendingCount = counts.get(BookingStatus.PENDING) + counts.get(BookingStatus.CREATED);
+        Long approvedCount = counts.get(BookingStatus.APPROVED);
+        Long rejectedCount = counts.get(BookingStatus.REJECTED);
 
         model.addAttribute("pendingCount", pendingCount);
         model.addAttribute("approvedCount", approvedCount);
@@ -55,6 +111,41 @@ public class AdminController {
         return "admin/dashboard";
     }
 
+    /**
+     * Utilization per room, building, floor, period and weekday, read from the daily rollup.
+     * Defaults to the last four weeks.
+     */
+    @GetMapping("/analytics")
+    public String analytics(@AuthenticationPrincipal CustomUserDetails userDetails,
+                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+                            Model model) {
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : end.minusDays(27);
+        try {
+            UtilizationReportDto report = utilizationService.getReport(start, end);
+            model.addAttribute("report", report);
+        } catch (IllegalArgumentException e) {
+            model.addAttribute("error", e.getMessage());
+        }
+        model.addAttribute("startDate", start);
+        model.addAttribute("endDate", end);
+        model.addAttribute("user", userDetails);
+        return "admin/analytics";
+    }
+
+    /**
+     * Teachers with empty or late-cancelled bookings and rooms most often found empty, from the
+     * summaries the attendance job maintains.
+     */
+    @GetMapping("/attendance")
+    public String attendance(@AuthenticationPrincipal CustomUserDetails userDetails, Model model) {
+        model.addAttribute("teachers", attendanceService.getTeacherSummaries());
+        model.addAttribute("rooms", attendanceService.getRoomSummaries());
+        model.addAttribute("user", userDetails);
+        return "admin/attendance";
+    }
+
     @GetMapping("/bookings")
     public String listBookings(@AuthenticationPrincipal CustomUserDetails userDetails,
                                @RequestParam(required = false) BookingStatus status,
@@ -83,6 +174,33 @@ public class AdminController {
         return "admin/bookings";
     }
 
+    /**
+     * Streams the bookings matching the list filters; rows are written as they are read.
+     */
+    @GetMapping("/export/bookings")
+    public void exportBookings(@RequestParam(required = false) BookingStatus status,
+                               @RequestParam(required = false) Long roomId,
+                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+                               @RequestParam(defaultValue = "CSV") ExportFormat format,
+                               HttpServletResponse response) throws IOException {
+        startDownload(response, format, "bookings");
+        exportService.exportBookings(status, roomId, null, startDate, endDate, format, response.getOutputStream());
+    }
+
+    @GetMapping("/export/review-issues")
+    public void exportReviewIssues(@RequestParam(defaultValue = "CSV") ExportFormat format,
+                                   HttpServletResponse response) throws IOException {
+        startDownload(response, format, "review-issues");
+        exportService.exportReviewIssues(format, response.getOutputStream());
+    }
+
+    private void startDownload(HttpServletResponse response, ExportFormat format, String name) {
+        response.setContentType(format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + name + "-" + LocalDate.now() + "." + format.getExtension() + "\"");
+    }
+
     @GetMapping("/bookings/{id}")
     public String bookingDetails(@AuthenticationPrincipal CustomUserDetails userDetails,
                                  @PathVariable Long id,
@@ -105,12 +223,154 @@ public class AdminController {
         try {
             bookingService.rejectBooking(id, reason, userDetails.getUserId());
             redirectAttributes.addFlashAttribute("success", "Booking rejected successfully");
+        } catch (ObjectOptimisticLockingFailureException e) {
+            redirectAttributes.addFlashAttribute("error", "The booking was changed by someone else, check its status and try again");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+        }
+        return "redirect:/admin/bookings";
+    }
+
+    @PostMapping("/bookings/{id}/report-empty")
+    public String reportBookingEmpty(@AuthenticationPrincipal CustomUserDetails userDetails,
+                                     @PathVariable Long id,
+                                     RedirectAttributes redirectAttributes) {
+        try {
+            attendanceService.reportEmpty(id, userDetails.getUserId());
+            redirectAttributes.addFlashAttribute("success", "Отмечено, что аудитория пустовала");
+        } catch (ObjectOptimisticLockingFailureException e) {
+            redirectAttributes.addFlashAttribute("error", "Бронирование только что изменили, обновите страницу и попробуйте снова");
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", e.getMessage());
         }
         return "redirect:/admin/bookings";
     }
 
+    /**
+     * Rejects or cancels all bookings matching the filter in the background; poll the returned job for progress.
+     */
+    @PostMapping("/api/bookings/bulk")
+    @ResponseBody
+    public ResponseEntity<BulkBookingJobDto> startBulkBookingOperation(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam BulkBookingAction action,
+            @RequestParam(required = false) Long roomId,
+            @RequestParam(required = false) String building,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) ClassPeriod classPeriod,
+            @RequestParam(required = false) String reason) {
+        try {
+            BulkBookingJobDto job = bulkBookingService.start(action, roomId, building, startDate, endDate,
+                    classPeriod, reason, userDetails.getUserId());
+            return ResponseEntity.accepted()
+                    .location(URI.create("/admin/api/bookings/bulk/" + job.getId()))
+                    .body(job);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    @GetMapping("/api/bookings/bulk/{jobId}")
+    @ResponseBody
+    public ResponseEntity<BulkBookingJobDto> getBulkBookingOperation(@PathVariable String jobId) {
+        return bulkBookingService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/api/blackouts")
+    @ResponseBody
+    public ResponseEntity<List<RoomBlackoutDto>> getBlackouts() {
+        return ResponseEntity.ok(blackoutService.getCurrentAndUpcoming());
+    }
+
+    /**
+     * Closes a room, floor or building; the response lists the existing bookings inside the window.
+     */
+    @PostMapping("/api/blackouts")
+    @ResponseBody
+    public ResponseEntity<BlackoutResultDto> createBlackout(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam BlackoutScope scope,
+            @RequestParam(required = false) Long roomId,
+            @RequestParam(required = false) String building,
+            @RequestParam(required = false) Integer floor,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) List<ClassPeriod> periods,
+            @RequestParam(required = false) String reason,
+            @RequestParam(required = false) Long roomIssueId) {
+        try {
+            return ResponseEntity.ok(blackoutService.createBlackout(scope, roomId, building, floor, startDate,
+                    endDate, periods, reason, roomIssueId, userDetails.getUserId()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @DeleteMapping("/api/blackouts/{id}")
+    @ResponseBody
+    public ResponseEntity<Void> deleteBlackout(@PathVariable Long id) {
+        blackoutService.deleteBlackout(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Moves a waitlist entry ahead of (higher) or behind (lower) others queued for the same slot.
+     */
+    @PostMapping("/api/waitlist/{id}/priority")
+    @ResponseBody
+    public ResponseEntity<WaitlistEntryDto> setWaitlistPriority(@PathVariable Long id, @RequestParam int priority) {
+        return ResponseEntity.ok(waitlistService.setPriority(id, priority));
+    }
+
+    /**
+     * Deactivates an account; its cached logins and issued tokens stop working once this commits.
+     */
+    @PostMapping("/api/users/{id}/deactivate")
+    @ResponseBody
+    public ResponseEntity<UserDto> deactivateUser(@AuthenticationPrincipal CustomUserDetails userDetails,
+                                                  @PathVariable Long id) {
+        if (id.equals(userDetails.getUserId())) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(userService.deactivateUser(id));
+    }
+
+    @PostMapping("/api/users/{id}/role")
+    @ResponseBody
+    public ResponseEntity<UserDto> changeUserRole(@PathVariable Long id, @RequestParam RoleType role) {
+        return ResponseEntity.ok(userService.changeRole(id, role));
+    }
+
+    @GetMapping("/timetable-import")
+    public String timetableImportForm(@AuthenticationPrincipal CustomUserDetails userDetails, Model model) {
+        model.addAttribute("user", userDetails);
+        return "admin/timetable-import";
+    }
+
+    /**
+     * Renders the report directly instead of redirecting: it can be far larger than a flash cookie.
+     */
+    @PostMapping("/timetable-import")
+    public String importTimetable(@AuthenticationPrincipal CustomUserDetails userDetails,
+                                  @RequestParam MultipartFile file,
+                                  @RequestParam(defaultValue = "false") boolean dryRun,
+                                  Model model) {
+        try {
+            TimetableImportResultDto result = timetableImportService.importTimetable(file, dryRun,
+                    userDetails.getUserId());
+            model.addAttribute("result", result);
+        } catch (IllegalArgumentException e) {
+            model.addAttribute("error", e.getMessage());
+        }
+        model.addAttribute("user", userDetails);
+        return "admin/timetable-import";
+    }
+
     @GetMapping("/calendar")
     public String calendar(@AuthenticationPrincipal CustomUserDetails userDetails,
                            @RequestParam(required = false) Long roomId,
@@ -227,6 +487,12 @@ public class AdminController {
         return ResponseEntity.ok(reviews);
     }
 
+    @GetMapping("/api/cache-stats")
+    @ResponseBody
+    public ResponseEntity<List<CacheRegionStatsDto>> getCacheStats() {
+        return ResponseEntity.ok(entityCacheService.getRegionStatistics());
+    }
+
     @GetMapping("/rooms")
     public String manageRooms(@AuthenticationPrincipal CustomUserDetails userDetails, Model model) {
         List<RoomDto> rooms = roomService.getAllRooms();
@@ -2,18 +2,22 @@ package com.rut.booking.controllers;
 
 import com.rut.booking.dto.BookingCreateRequest;
 import com.rut.booking.dto.BookingDto;
+import com.rut.booking.dto.BookingHoldDto;
 import com.rut.booking.dto.RoomDto;
 import com.rut.booking.models.enums.ClassPeriod;
 import com.rut.booking.models.exceptions.BookingConflictException;
 import com.rut.booking.security.CustomUserDetails;
+import com.rut.booking.services.BookingHoldService;
 import com.rut.booking.services.BookingService;
 import com.rut.booking.services.RoomService;
+import com.rut.booking.services.WaitlistService;
 import jakarta.validation.Valid;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -21,8 +25,12 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.net.URI;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Controller
 @RequestMapping("/booking")
@@ -30,26 +38,34 @@ public class BookingController {
 
     private final BookingService bookingService;
     private final RoomService roomService;
+    private final WaitlistService waitlistService;
+    private final BookingHoldService bookingHoldService;
 
-    public BookingController(BookingService bookingService, RoomService roomService) {
+    public BookingController(BookingService bookingService, RoomService roomService,
+                             WaitlistService waitlistService, BookingHoldService bookingHoldService) {
         this.bookingService = bookingService;
         this.roomService = roomService;
+        this.waitlistService = waitlistService;
+        this.bookingHoldService = bookingHoldService;
     }
 
     @GetMapping("/room/{roomId}")
     public String showBookingForm(@AuthenticationPrincipal CustomUserDetails userDetails,
                                   @PathVariable Long roomId,
                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                  @RequestParam(required = false) ClassPeriod period,
                                   Model model) {
         RoomDto room = roomService.getRoomById(roomId, userDetails.getUserId());
         List<RoomDto> similarRooms = roomService.getSimilarRooms(roomId, 5);
 
         LocalDate selectedDate = date != null ? date : LocalDate.now();
-        List<ClassPeriod> availablePeriods = roomService.getAvailablePeriods(roomId, selectedDate);
+        List<ClassPeriod> availablePeriods = availablePeriods(roomId, selectedDate, userDetails.getUserId());
 
         BookingCreateRequest bookingRequest = new BookingCreateRequest();
         bookingRequest.setRoomId(roomId);
         bookingRequest.setBookingDate(selectedDate);
+        // Preselected when following a suggested alternative
+        bookingRequest.setClassPeriod(period);
 
         model.addAttribute("room", room);
         model.addAttribute("similarRooms", similarRooms);
@@ -69,14 +85,7 @@ public class BookingController {
                                 RedirectAttributes redirectAttributes,
                                 Model model) {
         if (bindingResult.hasErrors()) {
-            RoomDto room = roomService.getRoomById(request.getRoomId(), userDetails.getUserId());
-            List<ClassPeriod> availablePeriods = roomService.getAvailablePeriods(request.getRoomId(), request.getBookingDate());
-            model.addAttribute("room", room);
-            model.addAttribute("availablePeriods", availablePeriods);
-            model.addAttribute("allPeriods", ClassPeriod.values());
-            model.addAttribute("selectedDate", request.getBookingDate());
-            model.addAttribute("user", userDetails);
-            return "pages/booking/form";
+            return redisplayForm(userDetails, request, model);
         }
 
         try {
@@ -85,11 +94,100 @@ public class BookingController {
             redirectAttributes.addFlashAttribute("bookingId", booking.getId());
             return "redirect:/booking/confirmation/" + booking.getId();
         } catch (BookingConflictException e) {
+            // Render directly so the alternatives computed with the conflict reach the page as they are
+            model.addAttribute("error", e.getMessage());
+            model.addAttribute("alternatives", e.getAlternatives());
+            model.addAttribute("canJoinWaitlist", e.isSlotBooked());
+            return redisplayForm(userDetails, request, model);
+        }
+    }
+
+    /**
+     * Queues the teacher for a taken slot with the details they entered in the booking form.
+     */
+    @PostMapping("/waitlist")
+    public String joinWaitlist(@AuthenticationPrincipal CustomUserDetails userDetails,
+                               @Valid @ModelAttribute("bookingRequest") BookingCreateRequest request,
+                               BindingResult bindingResult,
+                               RedirectAttributes redirectAttributes,
+                               Model model) {
+        if (bindingResult.hasErrors()) {
+            return redisplayForm(userDetails, request, model);
+        }
+
+        try {
+            waitlistService.join(userDetails.getUserId(), request);
+            redirectAttributes.addFlashAttribute("success",
+                    "You are on the waitlist. The room will be booked for you if the slot frees up.");
+            return "redirect:/my-bookings";
+        } catch (IllegalStateException e) {
             redirectAttributes.addFlashAttribute("error", e.getMessage());
-            return "redirect:/booking/room/" + request.getRoomId();
+            return "redirect:/booking/room/" + request.getRoomId() + "?date=" + request.getBookingDate();
         }
     }
 
+    @PostMapping("/waitlist/{id}/leave")
+    public String leaveWaitlist(@AuthenticationPrincipal CustomUserDetails userDetails,
+                                @PathVariable Long id,
+                                RedirectAttributes redirectAttributes) {
+        try {
+            waitlistService.leave(id, userDetails.getUserId());
+            redirectAttributes.addFlashAttribute("success", "You have left the waitlist");
+        } catch (IllegalStateException e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+        }
+        return "redirect:/my-bookings";
+    }
+
+    /**
+     * Holds the selected slot for the teacher while they fill in the form; called again to extend it.
+     */
+    @PostMapping("/api/holds")
+    @ResponseBody
+    public ResponseEntity<?> holdSlot(@AuthenticationPrincipal CustomUserDetails userDetails,
+                                      @RequestParam Long roomId,
+                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                      @RequestParam ClassPeriod period) {
+        try {
+            BookingHoldDto hold = bookingHoldService.hold(userDetails.getUserId(), roomId, date, period);
+            return ResponseEntity.ok(hold);
+        } catch (BookingConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/api/holds")
+    @ResponseBody
+    public ResponseEntity<Void> releaseSlot(@AuthenticationPrincipal CustomUserDetails userDetails,
+                                            @RequestParam Long roomId,
+                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                            @RequestParam ClassPeriod period) {
+        bookingHoldService.release(userDetails.getUserId(), roomId, date, period);
+        return ResponseEntity.noContent().build();
+    }
+
+    private String redisplayForm(CustomUserDetails userDetails, BookingCreateRequest request, Model model) {
+        RoomDto room = roomService.getRoomById(request.getRoomId(), userDetails.getUserId());
+        List<ClassPeriod> availablePeriods = availablePeriods(request.getRoomId(), request.getBookingDate(),
+                userDetails.getUserId());
+        model.addAttribute("room", room);
+        model.addAttribute("availablePeriods", availablePeriods);
+        model.addAttribute("allPeriods", ClassPeriod.values());
+        model.addAttribute("selectedDate", request.getBookingDate());
+        model.addAttribute("user", userDetails);
+        return "pages/booking/form";
+    }
+
+    private List<ClassPeriod> availablePeriods(Long roomId, LocalDate date, Long userId) {
+        List<ClassPeriod> periods = new ArrayList<>(roomService.getAvailablePeriods(roomId, date));
+        periods.removeAll(bookingHoldService.getHeldPeriods(roomId, date, userId));
+        return periods;
+    }
+
     @GetMapping("/confirmation/{id}")
     public String bookingConfirmation(@AuthenticationPrincipal CustomUserDetails userDetails,
                                       @PathVariable Long id,
@@ -124,6 +222,12 @@ public class BookingController {
         }
 
         try {
+            // Object storage serves the file directly; the app only signs the link
+            Optional<URI> downloadUrl = bookingService.getBookingPdfDownloadUrl(id);
+            if (downloadUrl.isPresent()) {
+                return ResponseEntity.status(HttpStatus.FOUND).location(downloadUrl.get()).build();
+            }
+
             byte[] pdfBytes = bookingService.getBookingPdf(id);
             String filename = "booking_" + id + ".pdf";
 
@@ -147,6 +251,8 @@ public class BookingController {
         try {
             bookingService.cancelBooking(id, userDetails.getUserId());
             redirectAttributes.addFlashAttribute("success", "Booking cancelled successfully");
+        } catch (ObjectOptimisticLockingFailureException e) {
+            redirectAttributes.addFlashAttribute("error", "The booking was changed by someone else, check its status and try again");
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", e.getMessage());
         }
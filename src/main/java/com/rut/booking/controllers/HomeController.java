@@ -1,22 +1,36 @@
 package com.rut.booking.controllers;
 
+import com.rut.booking.models.enums.ClassPeriod;
 import com.rut.booking.security.CustomUserDetails;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import com.rut.booking.services.CampusPlanCatalog;
+import com.rut.booking.services.FloorPlanOverlayService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.IOException;
-import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.time.LocalDate;
+import java.time.LocalTime;
 
 @Controller
 public class HomeController {
 
+    private final CampusPlanCatalog campusPlanCatalog;
+    private final FloorPlanOverlayService floorPlanOverlayService;
+
+    public HomeController(CampusPlanCatalog campusPlanCatalog, FloorPlanOverlayService floorPlanOverlayService) {
+        this.campusPlanCatalog = campusPlanCatalog;
+        this.floorPlanOverlayService = floorPlanOverlayService;
+    }
+
     @GetMapping({"/", "/home"})
     public String home(@AuthenticationPrincipal CustomUserDetails userDetails, Model model) {
         if (userDetails != null) {
@@ -71,98 +85,47 @@ public class HomeController {
             model.addAttribute("user", userDetails);
         }
 
-        // Сканируем PNG и SVG файлы из директории campus-plans
-        try {
-            PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
-
-            // Сканируем PNG файлы (для превью)
-            Resource[] pngResources = resolver.getResources("classpath:static/campus-plans/*.png");
-            // Сканируем SVG файлы (для детального просмотра)
-            Resource[] svgResources = resolver.getResources("classpath:static/campus-plans/*.svg");
-
-            Map<Integer, Set<Integer>> campusData = new TreeMap<>();
-            // Map для хранения планов по ключу "корпус-этаж"
-            Map<String, Map<String, Object>> plansByKey = new HashMap<>();
-
-            Pattern pngPattern = Pattern.compile("(\\d+)-(\\d+)\\.png");
-            Pattern svgPattern = Pattern.compile("(\\d+)-(\\d+)\\.svg");
-
-            // Сначала обрабатываем PNG файлы (для превью)
-            for (Resource resource : pngResources) {
-                String filename = resource.getFilename();
-                if (filename != null) {
-                    Matcher matcher = pngPattern.matcher(filename);
-                    if (matcher.matches()) {
-                        int building = Integer.parseInt(matcher.group(1));
-                        int floor = Integer.parseInt(matcher.group(2));
-                        String key = building + "-" + floor;
-
-                        campusData.computeIfAbsent(building, k -> new TreeSet<>()).add(floor);
-
-                        Map<String, Object> plan = new HashMap<>();
-                        plan.put("building", building);
-                        plan.put("floor", floor);
-                        plan.put("previewFilename", filename);
-                        plan.put("previewPath", "/campus-plans/" + filename);
-                        plan.put("detailPath", "/campus-plans/" + filename); // По умолчанию PNG
-                        plansByKey.put(key, plan);
-                    }
-                }
-            }
-
-            // Обрабатываем SVG файлы (для детального просмотра)
-            for (Resource resource : svgResources) {
-                String filename = resource.getFilename();
-                if (filename != null) {
-                    Matcher matcher = svgPattern.matcher(filename);
-                    if (matcher.matches()) {
-                        int building = Integer.parseInt(matcher.group(1));
-                        int floor = Integer.parseInt(matcher.group(2));
-                        String key = building + "-" + floor;
-
-                        // Если уже есть PNG для этого плана, добавляем SVG для детального просмотра
-                        if (plansByKey.containsKey(key)) {
-                            plansByKey.get(key).put("detailPath", "/campus-plans/" + filename);
-                        } else {
-                            // Если PNG нет, используем SVG и для превью и для детального просмотра
-                            campusData.computeIfAbsent(building, k -> new TreeSet<>()).add(floor);
-
-                            Map<String, Object> plan = new HashMap<>();
-                            plan.put("building", building);
-                            plan.put("floor", floor);
-                            plan.put("previewFilename", filename);
-                            plan.put("previewPath", "/campus-plans/" + filename);
-                            plan.put("detailPath", "/campus-plans/" + filename);
-                            plansByKey.put(key, plan);
-                        }
-                    }
-                }
-            }
-
-            // Преобразуем Map в List
-            List<Map<String, Object>> plans = new ArrayList<>(plansByKey.values());
-
-            // Сортируем планы по корпусу и этажу
-            plans.sort((p1, p2) -> {
-                int buildingCompare = Integer.compare((Integer) p1.get("building"), (Integer) p2.get("building"));
-                if (buildingCompare != 0) {
-                    return buildingCompare;
-                }
-                return Integer.compare((Integer) p1.get("floor"), (Integer) p2.get("floor"));
-            });
-
-            List<Integer> buildings = new ArrayList<>(campusData.keySet());
-
-            model.addAttribute("plans", plans);
-            model.addAttribute("buildings", buildings);
-            model.addAttribute("campusData", campusData);
-
-        } catch (IOException e) {
-            model.addAttribute("plans", new ArrayList<>());
-            model.addAttribute("buildings", new ArrayList<>());
-            model.addAttribute("campusData", new HashMap<>());
-        }
+        CampusPlanCatalog.Snapshot catalog = campusPlanCatalog.getSnapshot();
+        model.addAttribute("plans", catalog.getPlans());
+        model.addAttribute("buildings", catalog.getBuildings());
+        model.addAttribute("campusData", catalog.getFloorsByBuilding());
 
         return "pages/campus-plan";
     }
+
+    @GetMapping("/campus-plan/api/plans")
+    @ResponseBody
+    public ResponseEntity<CampusPlanCatalog.Snapshot> campusPlans() {
+        // Plan files are cached for a year, so hand out URLs that change with their content
+        CampusPlanCatalog.Snapshot catalog = campusPlanCatalog.getVersionedSnapshot();
+        // Clients revalidate with If-None-Match and get 304 until the plans change
+        return ResponseEntity.ok()
+                .eTag(catalog.getEtag())
+                .cacheControl(CacheControl.noCache().cachePublic())
+                .body(catalog);
+    }
+
+    /**
+     * Floor plan SVG with rooms coloured by occupancy; defaults to today and the current (or next)
+     * period, or to the first period of another day. Signed-in users only, like the room pages.
+     */
+    @GetMapping(value = "/campus-plan/api/occupancy/{building}-{floor}.svg", produces = "image/svg+xml")
+    public ResponseEntity<StreamingResponseBody> occupancyOverlay(
+            @PathVariable int building,
+            @PathVariable int floor,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) ClassPeriod period) {
+        LocalDate day = date != null ? date : LocalDate.now();
+        ClassPeriod slot = period;
+        if (slot == null) {
+            slot = day.equals(LocalDate.now()) ? ClassPeriod.currentOrNext(LocalTime.now()) : ClassPeriod.values()[0];
+        }
+
+        return floorPlanOverlayService.prepareOverlay(building, floor, day, slot)
+                .map(overlay -> ResponseEntity.ok()
+                        .contentType(MediaType.valueOf("image/svg+xml"))
+                        .cacheControl(CacheControl.noStore())
+                        .body((StreamingResponseBody) overlay::writeTo))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
 }
@@ -3,6 +3,7 @@ package com.rut.booking.controllers;
 import com.rut.booking.dto.BookingDto;
 import com.rut.booking.security.CustomUserDetails;
 import com.rut.booking.services.BookingService;
+import com.rut.booking.services.WaitlistService;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -16,15 +17,18 @@ import java.util.List;
 public class MyBookingsController {
 
     private final BookingService bookingService;
+    private final WaitlistService waitlistService;
 
-    public MyBookingsController(BookingService bookingService) {
+    public MyBookingsController(BookingService bookingService, WaitlistService waitlistService) {
         this.bookingService = bookingService;
+        this.waitlistService = waitlistService;
     }
 
     @GetMapping
     public String myBookings(@AuthenticationPrincipal CustomUserDetails userDetails, Model model) {
         List<BookingDto> bookings = bookingService.getBookingsByTeacher(userDetails.getUserId());
         model.addAttribute("bookings", bookings);
+        model.addAttribute("waitlist", waitlistService.getWaitingEntries(userDetails.getUserId()));
         model.addAttribute("user", userDetails);
         return "pages/my-bookings";
     }
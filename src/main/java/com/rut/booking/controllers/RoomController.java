@@ -2,19 +2,27 @@ package com.rut.booking.controllers;
 
 import com.rut.booking.dto.ReviewDto;
 import com.rut.booking.dto.RoomDto;
+import com.rut.booking.dto.RoomRecommendationDto;
 import com.rut.booking.models.enums.ClassPeriod;
+import com.rut.booking.models.enums.RoomType;
 import com.rut.booking.security.CustomUserDetails;
+import com.rut.booking.services.AvailabilityBroadcaster;
+import com.rut.booking.services.BookingHoldService;
 import com.rut.booking.services.FavoriteService;
+import com.rut.booking.services.RecommendationService;
 import com.rut.booking.services.ReviewService;
 import com.rut.booking.services.RoomService;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,12 +34,19 @@ public class RoomController {
     private final RoomService roomService;
     private final ReviewService reviewService;
     private final FavoriteService favoriteService;
+    private final AvailabilityBroadcaster availabilityBroadcaster;
+    private final RecommendationService recommendationService;
+    private final BookingHoldService bookingHoldService;
 
     public RoomController(RoomService roomService, ReviewService reviewService,
-                          FavoriteService favoriteService) {
+                          FavoriteService favoriteService, AvailabilityBroadcaster availabilityBroadcaster,
+                          RecommendationService recommendationService, BookingHoldService bookingHoldService) {
         this.roomService = roomService;
         this.reviewService = reviewService;
         this.favoriteService = favoriteService;
+        this.availabilityBroadcaster = availabilityBroadcaster;
+        this.recommendationService = recommendationService;
+        this.bookingHoldService = bookingHoldService;
     }
 
     @GetMapping
@@ -122,9 +137,13 @@ public class RoomController {
     @GetMapping("/api/available-periods/{roomId}")
     @ResponseBody
     public ResponseEntity<List<Map<String, Object>>> getAvailablePeriods(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
             @PathVariable Long roomId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        List<ClassPeriod> periods = roomService.getAvailablePeriods(roomId, date);
+        List<ClassPeriod> periods = new ArrayList<>(roomService.getAvailablePeriods(roomId, date));
+        // Slots someone else is in the middle of booking are not offered
+        periods.removeAll(bookingHoldService.getHeldPeriods(roomId, date,
+                userDetails != null ? userDetails.getUserId() : null));
         List<Map<String, Object>> result = periods.stream().map(p -> {
             Map<String, Object> map = new HashMap<>();
             map.put("name", p.name());
@@ -136,6 +155,15 @@ public class RoomController {
         return ResponseEntity.ok(result);
     }
 
+    @GetMapping(value = "/api/availability-stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter availabilityStream(
+            @RequestParam Long roomId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        roomService.findById(roomId);
+        return availabilityBroadcaster.subscribe(roomId, date);
+    }
+
     @GetMapping("/api/similar-rooms/{roomId}")
     @ResponseBody
     public ResponseEntity<List<RoomDto>> getSimilarRooms(
@@ -143,11 +171,37 @@ public class RoomController {
             @PathVariable Long roomId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
             @RequestParam(required = false) ClassPeriod period,
+            @RequestParam(required = false) Integer afterScore,
+            @RequestParam(required = false) Long afterId,
             @RequestParam(defaultValue = "0") int offset,
             @RequestParam(defaultValue = "10") int limit) {
         Long userId = userDetails != null ? userDetails.getUserId() : null;
-        List<RoomDto> similarRooms = roomService.getSimilarRoomsWithAvailability(
-                roomId, date, period, offset, limit, userId);
-        return ResponseEntity.ok(similarRooms);
+        try {
+            List<RoomDto> similarRooms = roomService.getSimilarRoomsWithAvailability(
+                    roomId, date, period, afterScore, afterId, offset, limit, userId);
+            return ResponseEntity.ok(similarRooms);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/api/recommendations")
+    @ResponseBody
+    public ResponseEntity<List<RoomRecommendationDto>> getRecommendations(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam ClassPeriod period,
+            @RequestParam(defaultValue = "0") int minCapacity,
+            @RequestParam(defaultValue = "false") boolean projector,
+            @RequestParam(defaultValue = "false") boolean computers,
+            @RequestParam(required = false) RoomType roomType,
+            @RequestParam(required = false) String building,
+            @RequestParam(required = false) Long nearRoomId,
+            @RequestParam(defaultValue = "5") int limit) {
+        try {
+            return ResponseEntity.ok(recommendationService.recommend(
+                    date, period, minCapacity, projector, computers, roomType, building, nearRoomId, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 }
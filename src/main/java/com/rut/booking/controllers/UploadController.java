@@ -0,0 +1,47 @@
+package com.rut.booking.controllers;
+
+import com.rut.booking.storage.BlobStore;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+
+import java.time.Duration;
+
+/**
+ * With object storage, uploaded files are downloaded straight from the bucket: the app only
+ * answers {@code /uploads/**} with a redirect to a pre-signed URL.
+ */
+@Controller
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "s3")
+public class UploadController {
+
+    private final BlobStore blobStore;
+    private final Duration downloadUrlTtl;
+
+    public UploadController(BlobStore blobStore,
+                            @Value("${app.storage.download-url-ttl:5m}") Duration downloadUrlTtl) {
+        this.blobStore = blobStore;
+        this.downloadUrlTtl = downloadUrlTtl;
+    }
+
+    @GetMapping("/uploads/**")
+    public ResponseEntity<Void> redirectToBlob(HttpServletRequest request) {
+        String key = request.getRequestURI().substring(request.getContextPath().length());
+        if (key.contains("..")) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return blobStore.presignedDownloadUrl(key, downloadUrlTtl)
+                .<ResponseEntity<Void>>map(url -> ResponseEntity.status(HttpStatus.FOUND)
+                        .location(url)
+                        // Let the browser reuse the signed link for a while, but not past its expiry
+                        .cacheControl(CacheControl.maxAge(downloadUrlTtl.dividedBy(2)).cachePrivate())
+                        .build())
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
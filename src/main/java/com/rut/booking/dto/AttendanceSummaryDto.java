@@ -0,0 +1,88 @@
+package com.rut.booking.dto;
+
+/**
+ * Attendance totals of one teacher or room, as shown on the attendance page.
+ */
+public class AttendanceSummaryDto {
+    private String label;
+    private int heldCount;
+    private int reportedEmptyCount;
+    private int cancelledCount;
+    private int lateCancelledCount;
+    private boolean flagged;
+
+    public AttendanceSummaryDto() {
+    }
+
+    public AttendanceSummaryDto(String label, int heldCount, int reportedEmptyCount,
+                                int cancelledCount, int lateCancelledCount) {
+        this.label = label;
+        this.heldCount = heldCount;
+        this.reportedEmptyCount = reportedEmptyCount;
+        this.cancelledCount = cancelledCount;
+        this.lateCancelledCount = lateCancelledCount;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public int getHeldCount() {
+        return heldCount;
+    }
+
+    public void setHeldCount(int heldCount) {
+        this.heldCount = heldCount;
+    }
+
+    public int getReportedEmptyCount() {
+        return reportedEmptyCount;
+    }
+
+    public void setReportedEmptyCount(int reportedEmptyCount) {
+        this.reportedEmptyCount = reportedEmptyCount;
+    }
+
+    public int getCancelledCount() {
+        return cancelledCount;
+    }
+
+    public void setCancelledCount(int cancelledCount) {
+        this.cancelledCount = cancelledCount;
+    }
+
+    public int getLateCancelledCount() {
+        return lateCancelledCount;
+    }
+
+    public void setLateCancelledCount(int lateCancelledCount) {
+        this.lateCancelledCount = lateCancelledCount;
+    }
+
+    public boolean isFlagged() {
+        return flagged;
+    }
+
+    public void setFlagged(boolean flagged) {
+        this.flagged = flagged;
+    }
+
+    /**
+     * Share of held bookings found empty, in whole percent.
+     */
+    public int getEmptyPercent() {
+        return heldCount > 0 ? (int) Math.round(100.0 * reportedEmptyCount / heldCount) : 0;
+    }
+
+    /**
+     * Share of all bookings, held or cancelled, that were cancelled late, in whole percent.
+     */
+    public int getLateCancelPercent() {
+        int total = heldCount + cancelledCount;
+        return total > 0 ? (int) Math.round(100.0 * lateCancelledCount / total) : 0;
+    }
+}
@@ -0,0 +1,35 @@
+package com.rut.booking.dto;
+
+import java.util.List;
+
+/**
+ * A newly created blackout together with the existing bookings it overlaps.
+ */
+public class BlackoutResultDto {
+    private RoomBlackoutDto blackout;
+    private List<BookingDto> affectedBookings;
+
+    public BlackoutResultDto() {
+    }
+
+    public BlackoutResultDto(RoomBlackoutDto blackout, List<BookingDto> affectedBookings) {
+        this.blackout = blackout;
+        this.affectedBookings = affectedBookings;
+    }
+
+    public RoomBlackoutDto getBlackout() {
+        return blackout;
+    }
+
+    public void setBlackout(RoomBlackoutDto blackout) {
+        this.blackout = blackout;
+    }
+
+    public List<BookingDto> getAffectedBookings() {
+        return affectedBookings;
+    }
+
+    public void setAffectedBookings(List<BookingDto> affectedBookings) {
+        this.affectedBookings = affectedBookings;
+    }
+}
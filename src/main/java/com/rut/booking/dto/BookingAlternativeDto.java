@@ -0,0 +1,69 @@
+package com.rut.booking.dto;
+
+import com.rut.booking.models.enums.AlternativeType;
+import com.rut.booking.models.enums.ClassPeriod;
+
+import java.time.LocalDate;
+
+/**
+ * A free slot offered instead of one that could not be booked.
+ */
+public class BookingAlternativeDto {
+    private AlternativeType type;
+    private Long roomId;
+    private String roomNumber;
+    private LocalDate bookingDate;
+    private ClassPeriod classPeriod;
+
+    public BookingAlternativeDto() {
+    }
+
+    public BookingAlternativeDto(AlternativeType type, Long roomId, String roomNumber,
+                                 LocalDate bookingDate, ClassPeriod classPeriod) {
+        this.type = type;
+        this.roomId = roomId;
+        this.roomNumber = roomNumber;
+        this.bookingDate = bookingDate;
+        this.classPeriod = classPeriod;
+    }
+
+    public AlternativeType getType() {
+        return type;
+    }
+
+    public void setType(AlternativeType type) {
+        this.type = type;
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public void setRoomId(Long roomId) {
+        this.roomId = roomId;
+    }
+
+    public String getRoomNumber() {
+        return roomNumber;
+    }
+
+    public void setRoomNumber(String roomNumber) {
+        this.roomNumber = roomNumber;
+    }
+
+    public LocalDate getBookingDate() {
+        return bookingDate;
+    }
+
+    public void setBookingDate(LocalDate bookingDate) {
+        this.bookingDate = bookingDate;
+    }
+
+    public ClassPeriod getClassPeriod() {
+        return classPeriod;
+    }
+
+    public void setClassPeriod(ClassPeriod classPeriod) {
+        this.classPeriod = classPeriod;
+    }
+}
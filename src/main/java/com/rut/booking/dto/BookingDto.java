@@ -25,6 +25,7 @@ public class BookingDto {
     private String pdfFilePath;
     private LocalDateTime pdfGeneratedAt;
     private LocalDateTime createdAt;
+    private LocalDateTime reportedEmptyAt;
 
     public BookingDto() {
     }
@@ -165,6 +166,14 @@ public class BookingDto {
         this.createdAt = createdAt;
     }
 
+    public LocalDateTime getReportedEmptyAt() {
+        return reportedEmptyAt;
+    }
+
+    public void setReportedEmptyAt(LocalDateTime reportedEmptyAt) {
+        this.reportedEmptyAt = reportedEmptyAt;
+    }
+
     public String getTimeRange() {
         return String.format("%s – %s", startTime.toString(), endTime.toString());
     }
@@ -173,6 +182,10 @@ public class BookingDto {
         return status == BookingStatus.APPROVED;
     }
 
+    public boolean isReportedEmpty() {
+        return reportedEmptyAt != null;
+    }
+
     public boolean isPending() {
         return status == BookingStatus.PENDING || status == BookingStatus.CREATED;
     }
@@ -0,0 +1,55 @@
+package com.rut.booking.dto;
+
+import com.rut.booking.models.enums.ClassPeriod;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class BookingHoldDto {
+    private Long roomId;
+    private LocalDate bookingDate;
+    private ClassPeriod classPeriod;
+    private LocalDateTime expiresAt;
+
+    public BookingHoldDto() {
+    }
+
+    public BookingHoldDto(Long roomId, LocalDate bookingDate, ClassPeriod classPeriod, LocalDateTime expiresAt) {
+        this.roomId = roomId;
+        this.bookingDate = bookingDate;
+        this.classPeriod = classPeriod;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public void setRoomId(Long roomId) {
+        this.roomId = roomId;
+    }
+
+    public LocalDate getBookingDate() {
+        return bookingDate;
+    }
+
+    public void setBookingDate(LocalDate bookingDate) {
+        this.bookingDate = bookingDate;
+    }
+
+    public ClassPeriod getClassPeriod() {
+        return classPeriod;
+    }
+
+    public void setClassPeriod(ClassPeriod classPeriod) {
+        this.classPeriod = classPeriod;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,103 @@
+package com.rut.booking.dto;
+
+import com.rut.booking.models.enums.BulkBookingAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a bulk reject/cancel job. Written by the job thread and read by status requests,
+ * hence the volatile fields.
+ */
+public class BulkBookingJobDto {
+
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    private final String id;
+    private final BulkBookingAction action;
+    private final LocalDateTime startedAt;
+    private volatile String state = RUNNING;
+    private volatile int matched;
+    private volatile int processed;
+    private volatile int updated;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    public BulkBookingJobDto(String id, BulkBookingAction action) {
+        this.id = id;
+        this.action = action;
+        this.startedAt = LocalDateTime.now();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public BulkBookingAction getAction() {
+        return action;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public int getMatched() {
+        return matched;
+    }
+
+    public void setMatched(int matched) {
+        this.matched = matched;
+    }
+
+    public int getProcessed() {
+        return processed;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    /**
+     * Bookings that changed since they were matched and were therefore left alone.
+     */
+    public int getSkipped() {
+        return processed - updated;
+    }
+
+    public int getPercentDone() {
+        return matched > 0 ? processed * 100 / matched : (RUNNING.equals(state) ? 0 : 100);
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void addChunk(int chunkSize, int chunkUpdated) {
+        this.updated += chunkUpdated;
+        this.processed += chunkSize;
+    }
+
+    public void complete() {
+        this.finishedAt = LocalDateTime.now();
+        this.state = COMPLETED;
+    }
+
+    public void fail(String error) {
+        this.error = error;
+        this.finishedAt = LocalDateTime.now();
+        this.state = FAILED;
+    }
+
+    public boolean isFinished() {
+        return !RUNNING.equals(state);
+    }
+}
@@ -0,0 +1,82 @@
+package com.rut.booking.dto;
+
+public class CacheRegionStatsDto {
+    private String region;
+    private String type;
+    private Long hitCount;
+    private Long missCount;
+    private Long putCount;
+    private Long elementCount;
+    private Double hitRatio;
+
+    public CacheRegionStatsDto() {
+    }
+
+    public CacheRegionStatsDto(String region, String type, long hitCount, long missCount,
+                               long putCount, long elementCount) {
+        this.region = region;
+        this.type = type;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.putCount = putCount;
+        this.elementCount = elementCount;
+        long lookups = hitCount + missCount;
+        this.hitRatio = lookups > 0 ? (double) hitCount / lookups : 0.0;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getHitCount() {
+        return hitCount;
+    }
+
+    public void setHitCount(Long hitCount) {
+        this.hitCount = hitCount;
+    }
+
+    public Long getMissCount() {
+        return missCount;
+    }
+
+    public void setMissCount(Long missCount) {
+        this.missCount = missCount;
+    }
+
+    public Long getPutCount() {
+        return putCount;
+    }
+
+    public void setPutCount(Long putCount) {
+        this.putCount = putCount;
+    }
+
+    public Long getElementCount() {
+        return elementCount;
+    }
+
+    public void setElementCount(Long elementCount) {
+        this.elementCount = elementCount;
+    }
+
+    public Double getHitRatio() {
+        return hitRatio;
+    }
+
+    public void setHitRatio(Double hitRatio) {
+        this.hitRatio = hitRatio;
+    }
+}
@@ -0,0 +1,48 @@
+package com.rut.booking.dto;
+
+/**
+ * One building floor plan: a preview image for the grid and a detail image (SVG when available).
+ */
+public final class CampusPlanDto {
+    private final int building;
+    private final int floor;
+    private final String previewFilename;
+    private final String previewPath;
+    private final String detailPath;
+    // The detail SVG marks room shapes, so an occupancy overlay can be drawn on it
+    private final boolean hasRoomMarkers;
+
+    public CampusPlanDto(int building, int floor, String previewFilename, String previewPath, String detailPath,
+                         boolean hasRoomMarkers) {
+        this.building = building;
+        this.floor = floor;
+        this.previewFilename = previewFilename;
+        this.previewPath = previewPath;
+        this.detailPath = detailPath;
+        this.hasRoomMarkers = hasRoomMarkers;
+    }
+
+    public int getBuilding() {
+        return building;
+    }
+
+    public int getFloor() {
+        return floor;
+    }
+
+    public String getPreviewFilename() {
+        return previewFilename;
+    }
+
+    public String getPreviewPath() {
+        return previewPath;
+    }
+
+    public String getDetailPath() {
+        return detailPath;
+    }
+
+    public boolean isHasRoomMarkers() {
+        return hasRoomMarkers;
+    }
+}
@@ -1,6 +1,7 @@
 package com.rut.booking.dto;
 
 import com.rut.booking.models.entities.*;
+import com.rut.booking.models.enums.ClassPeriod;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -36,6 +37,8 @@ public class DtoMapper {
         dto.setHasWhiteboard(room.getHasWhiteboard());
         dto.setDescription(room.getDescription());
         dto.setImagePath(room.getImagePath());
+        dto.setImageThumbPath(room.getImageThumbPath());
+        dto.setImageDetailPath(room.getImageDetailPath());
         dto.setAverageRating(room.getAverageRating());
         dto.setIsActive(room.getIsActive());
         // Count only non-deleted reviews
@@ -74,6 +77,7 @@ public class DtoMapper {
         dto.setPdfFilePath(booking.getPdfFilePath());
         dto.setPdfGeneratedAt(booking.getPdfGeneratedAt());
         dto.setCreatedAt(booking.getCreatedAt());
+        dto.setReportedEmptyAt(booking.getReportedEmptyAt());
         return dto;
     }
 
@@ -88,6 +92,7 @@ public class DtoMapper {
         dto.setRating(review.getRating());
         dto.setComment(review.getComment());
         dto.setImagePath(review.getImagePath());
+        dto.setImageThumbPath(review.getImageThumbPath());
         dto.setIssues(review.getIssues());
         dto.setIssuesMarkedRelevant(review.getIssuesMarkedRelevant());
         dto.setIssuesMarkedAt(review.getIssuesMarkedAt());
@@ -122,10 +127,42 @@ public class DtoMapper {
         dto.setIssues(roomIssue.getIssues());
         dto.setDescription(roomIssue.getDescription());
         dto.setImagePath(roomIssue.getImagePath());
+        dto.setImageThumbPath(roomIssue.getImageThumbPath());
         dto.setIsResolved(roomIssue.getIsResolved());
         dto.setResolvedAt(roomIssue.getResolvedAt());
         dto.setResolvedByName(roomIssue.getResolvedBy() != null ? roomIssue.getResolvedBy().getFullName() : null);
         dto.setCreatedAt(roomIssue.getCreatedAt());
         return dto;
     }
+
+    public RoomBlackoutDto toRoomBlackoutDto(RoomBlackout blackout) {
+        if (blackout == null) return null;
+        RoomBlackoutDto dto = new RoomBlackoutDto();
+        dto.setId(blackout.getId());
+        dto.setScope(blackout.getScope());
+        dto.setRoomId(blackout.getRoom() != null ? blackout.getRoom().getId() : null);
+        dto.setRoomNumber(blackout.getRoom() != null ? blackout.getRoom().getNumber() : null);
+        dto.setBuilding(blackout.getBuilding());
+        dto.setFloor(blackout.getFloor());
+        dto.setStartDate(blackout.getStartDate());
+        dto.setEndDate(blackout.getEndDate());
+        dto.setPeriods(ClassPeriod.fromMask(blackout.getPeriodMask()));
+        dto.setReason(blackout.getReason());
+        dto.setRoomIssueId(blackout.getRoomIssue() != null ? blackout.getRoomIssue().getId() : null);
+        return dto;
+    }
+
+    public WaitlistEntryDto toWaitlistEntryDto(WaitlistEntry entry) {
+        if (entry == null) return null;
+        WaitlistEntryDto dto = new WaitlistEntryDto();
+        dto.setId(entry.getId());
+        dto.setRoomId(entry.getRoom().getId());
+        dto.setRoomNumber(entry.getRoom().getNumber());
+        dto.setBookingDate(entry.getBookingDate());
+        dto.setClassPeriod(entry.getClassPeriod());
+        dto.setPurpose(entry.getPurpose());
+        dto.setPriority(entry.getPriority());
+        dto.setStatus(entry.getStatus());
+        return dto;
+    }
 }
@@ -11,6 +11,7 @@ public class ReviewDto {
     private Integer rating;
     private String comment;
     private String imagePath;
+    private String imageThumbPath;
     private String issues;
     private Boolean issuesMarkedRelevant;
     private LocalDateTime issuesMarkedAt;
@@ -84,6 +85,14 @@ public class ReviewDto {
         this.imagePath = imagePath;
     }
 
+    public String getImageThumbPath() {
+        return imageThumbPath;
+    }
+
+    public void setImageThumbPath(String imageThumbPath) {
+        this.imageThumbPath = imageThumbPath;
+    }
+
     public String getIssues() {
         return issues;
     }
@@ -0,0 +1,112 @@
+package com.rut.booking.dto;
+
+import com.rut.booking.models.enums.BlackoutScope;
+import com.rut.booking.models.enums.ClassPeriod;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class RoomBlackoutDto {
+    private Long id;
+    private BlackoutScope scope;
+    private Long roomId;
+    private String roomNumber;
+    private String building;
+    private Integer floor;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<ClassPeriod> periods;
+    private String reason;
+    private Long roomIssueId;
+
+    public RoomBlackoutDto() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public BlackoutScope getScope() {
+        return scope;
+    }
+
+    public void setScope(BlackoutScope scope) {
+        this.scope = scope;
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public void setRoomId(Long roomId) {
+        this.roomId = roomId;
+    }
+
+    public String getRoomNumber() {
+        return roomNumber;
+    }
+
+    public void setRoomNumber(String roomNumber) {
+        this.roomNumber = roomNumber;
+    }
+
+    public String getBuilding() {
+        return building;
+    }
+
+    public void setBuilding(String building) {
+        this.building = building;
+    }
+
+    public Integer getFloor() {
+        return floor;
+    }
+
+    public void setFloor(Integer floor) {
+        this.floor = floor;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public List<ClassPeriod> getPeriods() {
+        return periods;
+    }
+
+    public void setPeriods(List<ClassPeriod> periods) {
+        this.periods = periods;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public Long getRoomIssueId() {
+        return roomIssueId;
+    }
+
+    public void setRoomIssueId(Long roomIssueId) {
+        this.roomIssueId = roomIssueId;
+    }
+}
@@ -14,11 +14,14 @@ public class RoomDto {
     private Boolean hasWhiteboard;
     private String description;
     private String imagePath;
+    private String imageThumbPath;
+    private String imageDetailPath;
     private Double averageRating;
     private Integer reviewCount;
     private Boolean isFavorite;
     private Boolean isAvailable;
     private Boolean isActive;
+    private Integer similarityScore;
 
     public RoomDto() {
     }
@@ -111,6 +114,22 @@ public class RoomDto {
         this.imagePath = imagePath;
     }
 
+    public String getImageThumbPath() {
+        return imageThumbPath;
+    }
+
+    public void setImageThumbPath(String imageThumbPath) {
+        this.imageThumbPath = imageThumbPath;
+    }
+
+    public String getImageDetailPath() {
+        return imageDetailPath;
+    }
+
+    public void setImageDetailPath(String imageDetailPath) {
+        this.imageDetailPath = imageDetailPath;
+    }
+
     public Double getAverageRating() {
         return averageRating;
     }
@@ -154,4 +173,12 @@ public class RoomDto {
     public String getDisplayName() {
         return "Room " + number + " (" + (roomType != null ? roomType.getDisplayName() : "") + ")";
     }
+
+    public Integer getSimilarityScore() {
+        return similarityScore;
+    }
+
+    public void setSimilarityScore(Integer similarityScore) {
+        this.similarityScore = similarityScore;
+    }
 }
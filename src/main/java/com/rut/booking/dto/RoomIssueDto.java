@@ -11,6 +11,7 @@ public class RoomIssueDto {
     private String issues;
     private String description;
     private String imagePath;
+    private String imageThumbPath;
     private Boolean isResolved;
     private LocalDateTime resolvedAt;
     private String resolvedByName;
@@ -83,6 +84,14 @@ public class RoomIssueDto {
         this.imagePath = imagePath;
     }
 
+    public String getImageThumbPath() {
+        return imageThumbPath;
+    }
+
+    public void setImageThumbPath(String imageThumbPath) {
+        this.imageThumbPath = imageThumbPath;
+    }
+
     public Boolean getIsResolved() {
         return isResolved;
     }
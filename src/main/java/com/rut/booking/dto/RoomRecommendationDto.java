@@ -0,0 +1,111 @@
+package com.rut.booking.dto;
+
+import com.rut.booking.models.enums.RoomType;
+
+/**
+ * A room that satisfies the requested constraints, with the score it was ranked by.
+ */
+public class RoomRecommendationDto {
+    private Long roomId;
+    private String number;
+    private RoomType roomType;
+    private String building;
+    private Integer floor;
+    private Integer capacity;
+    private Boolean hasProjector;
+    private Boolean hasComputers;
+    private Boolean hasWhiteboard;
+    private Double averageRating;
+    private Integer score;
+
+    public RoomRecommendationDto() {
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public void setRoomId(Long roomId) {
+        this.roomId = roomId;
+    }
+
+    public String getNumber() {
+        return number;
+    }
+
+    public void setNumber(String number) {
+        this.number = number;
+    }
+
+    public RoomType getRoomType() {
+        return roomType;
+    }
+
+    public void setRoomType(RoomType roomType) {
+        this.roomType = roomType;
+    }
+
+    public String getBuilding() {
+        return building;
+    }
+
+    public void setBuilding(String building) {
+        this.building = building;
+    }
+
+    public Integer getFloor() {
+        return floor;
+    }
+
+    public void setFloor(Integer floor) {
+        this.floor = floor;
+    }
+
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+
+    public Boolean getHasProjector() {
+        return hasProjector;
+    }
+
+    public void setHasProjector(Boolean hasProjector) {
+        this.hasProjector = hasProjector;
+    }
+
+    public Boolean getHasComputers() {
+        return hasComputers;
+    }
+
+    public void setHasComputers(Boolean hasComputers) {
+        this.hasComputers = hasComputers;
+    }
+
+    public Boolean getHasWhiteboard() {
+        return hasWhiteboard;
+    }
+
+    public void setHasWhiteboard(Boolean hasWhiteboard) {
+        this.hasWhiteboard = hasWhiteboard;
+    }
+
+    public Double getAverageRating() {
+        return averageRating;
+    }
+
+    public void setAverageRating(Double averageRating) {
+        this.averageRating = averageRating;
+    }
+
+    public Integer getScore() {
+        return score;
+    }
+
+    public void setScore(Integer score) {
+        this.score = score;
+    }
+}
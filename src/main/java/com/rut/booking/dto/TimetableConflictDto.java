@@ -0,0 +1,86 @@
+package com.rut.booking.dto;
+
+import com.rut.booking.models.enums.TimetableConflictType;
+
+/**
+ * A timetable row that was not imported, with the reason.
+ */
+public class TimetableConflictDto {
+    private int line;
+    private TimetableConflictType type;
+    private String room;
+    private String teacher;
+    private String date;
+    private String period;
+    private String detail;
+
+    public TimetableConflictDto() {
+    }
+
+    public TimetableConflictDto(int line, TimetableConflictType type, String room, String teacher,
+                                String date, String period, String detail) {
+        this.line = line;
+        this.type = type;
+        this.room = room;
+        this.teacher = teacher;
+        this.date = date;
+        this.period = period;
+        this.detail = detail;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public void setLine(int line) {
+        this.line = line;
+    }
+
+    public TimetableConflictType getType() {
+        return type;
+    }
+
+    public void setType(TimetableConflictType type) {
+        this.type = type;
+    }
+
+    public String getRoom() {
+        return room;
+    }
+
+    public void setRoom(String room) {
+        this.room = room;
+    }
+
+    public String getTeacher() {
+        return teacher;
+    }
+
+    public void setTeacher(String teacher) {
+        this.teacher = teacher;
+    }
+
+    public String getDate() {
+        return date;
+    }
+
+    public void setDate(String date) {
+        this.date = date;
+    }
+
+    public String getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(String period) {
+        this.period = period;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    public void setDetail(String detail) {
+        this.detail = detail;
+    }
+}
@@ -0,0 +1,98 @@
+package com.rut.booking.dto;
+
+import com.rut.booking.models.enums.TimetableConflictType;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a timetable import. Every rejected row is counted by type; only the first
+ * {@code MAX_LISTED_CONFLICTS} are listed so a badly mismatched file does not produce a huge page.
+ */
+public class TimetableImportResultDto {
+
+    public static final int MAX_LISTED_CONFLICTS = 1000;
+
+    private String fileName;
+    private boolean dryRun;
+    private int totalRows;
+    private int importedCount;
+    private int conflictCount;
+    private long durationMillis;
+    private final Map<TimetableConflictType, Integer> conflictsByType = new EnumMap<>(TimetableConflictType.class);
+    private final List<TimetableConflictDto> conflicts = new ArrayList<>();
+
+    public TimetableImportResultDto() {
+    }
+
+    public TimetableImportResultDto(String fileName, boolean dryRun) {
+        this.fileName = fileName;
+        this.dryRun = dryRun;
+    }
+
+    public void addConflict(TimetableConflictDto conflict) {
+        conflictCount++;
+        conflictsByType.merge(conflict.getType(), 1, Integer::sum);
+        if (conflicts.size() < MAX_LISTED_CONFLICTS) {
+            conflicts.add(conflict);
+        }
+    }
+
+    public boolean isConflictListTruncated() {
+        return conflictCount > conflicts.size();
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    public void setDryRun(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
+    public int getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(int totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public int getImportedCount() {
+        return importedCount;
+    }
+
+    public void setImportedCount(int importedCount) {
+        this.importedCount = importedCount;
+    }
+
+    public int getConflictCount() {
+        return conflictCount;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public Map<TimetableConflictType, Integer> getConflictsByType() {
+        return conflictsByType;
+    }
+
+    public List<TimetableConflictDto> getConflicts() {
+        return conflicts;
+    }
+}
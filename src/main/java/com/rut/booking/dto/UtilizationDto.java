@@ -0,0 +1,50 @@
+package com.rut.booking.dto;
+
+/**
+ * Booked share of the available class periods for one room, building, floor, period or weekday.
+ */
+public class UtilizationDto {
+    private String label;
+    private long bookedPeriods;
+    private long availablePeriods;
+
+    public UtilizationDto() {
+    }
+
+    public UtilizationDto(String label, long bookedPeriods, long availablePeriods) {
+        this.label = label;
+        this.bookedPeriods = bookedPeriods;
+        this.availablePeriods = availablePeriods;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public long getBookedPeriods() {
+        return bookedPeriods;
+    }
+
+    public void setBookedPeriods(long bookedPeriods) {
+        this.bookedPeriods = bookedPeriods;
+    }
+
+    public long getAvailablePeriods() {
+        return availablePeriods;
+    }
+
+    public void setAvailablePeriods(long availablePeriods) {
+        this.availablePeriods = availablePeriods;
+    }
+
+    /**
+     * Whole percent, 0 when nothing was available.
+     */
+    public int getPercent() {
+        return availablePeriods > 0 ? (int) Math.round(100.0 * bookedPeriods / availablePeriods) : 0;
+    }
+}
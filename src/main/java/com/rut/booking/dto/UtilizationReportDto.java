@@ -0,0 +1,121 @@
+package com.rut.booking.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Room utilization over a date range, broken down several ways, plus a weekday × period heatmap.
+ */
+public class UtilizationReportDto {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private UtilizationDto total;
+    private List<UtilizationDto> rooms = new ArrayList<>();
+    private List<UtilizationDto> buildings = new ArrayList<>();
+    private List<UtilizationDto> floors = new ArrayList<>();
+    private List<UtilizationDto> periods = new ArrayList<>();
+    private List<UtilizationDto> weekdays = new ArrayList<>();
+    private List<HeatmapRow> heatmap = new ArrayList<>();
+
+    public UtilizationReportDto() {
+    }
+
+    public UtilizationReportDto(LocalDate startDate, LocalDate endDate) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public UtilizationDto getTotal() {
+        return total;
+    }
+
+    public void setTotal(UtilizationDto total) {
+        this.total = total;
+    }
+
+    public List<UtilizationDto> getRooms() {
+        return rooms;
+    }
+
+    public void setRooms(List<UtilizationDto> rooms) {
+        this.rooms = rooms;
+    }
+
+    public List<UtilizationDto> getBuildings() {
+        return buildings;
+    }
+
+    public void setBuildings(List<UtilizationDto> buildings) {
+        this.buildings = buildings;
+    }
+
+    public List<UtilizationDto> getFloors() {
+        return floors;
+    }
+
+    public void setFloors(List<UtilizationDto> floors) {
+        this.floors = floors;
+    }
+
+    public List<UtilizationDto> getPeriods() {
+        return periods;
+    }
+
+    public void setPeriods(List<UtilizationDto> periods) {
+        this.periods = periods;
+    }
+
+    public List<UtilizationDto> getWeekdays() {
+        return weekdays;
+    }
+
+    public void setWeekdays(List<UtilizationDto> weekdays) {
+        this.weekdays = weekdays;
+    }
+
+    public List<HeatmapRow> getHeatmap() {
+        return heatmap;
+    }
+
+    public void setHeatmap(List<HeatmapRow> heatmap) {
+        this.heatmap = heatmap;
+    }
+
+    /**
+     * One weekday of the heatmap: a cell per class period.
+     */
+    public static class HeatmapRow {
+        private final String weekday;
+        private final List<UtilizationDto> cells;
+
+        public HeatmapRow(String weekday, List<UtilizationDto> cells) {
+            this.weekday = weekday;
+            this.cells = cells;
+        }
+
+        public String getWeekday() {
+            return weekday;
+        }
+
+        public List<UtilizationDto> getCells() {
+            return cells;
+        }
+    }
+}
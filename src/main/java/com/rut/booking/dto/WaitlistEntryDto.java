@@ -0,0 +1,94 @@
+package com.rut.booking.dto;
+
+import com.rut.booking.models.enums.ClassPeriod;
+import com.rut.booking.models.enums.WaitlistStatus;
+
+import java.time.LocalDate;
+
+public class WaitlistEntryDto {
+    private Long id;
+    private Long roomId;
+    private String roomNumber;
+    private LocalDate bookingDate;
+    private ClassPeriod classPeriod;
+    private String purpose;
+    private Integer priority;
+    private WaitlistStatus status;
+    // 1 for the head of the queue; only set for waiting entries
+    private Long position;
+
+    public WaitlistEntryDto() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public void setRoomId(Long roomId) {
+        this.roomId = roomId;
+    }
+
+    public String getRoomNumber() {
+        return roomNumber;
+    }
+
+    public void setRoomNumber(String roomNumber) {
+        this.roomNumber = roomNumber;
+    }
+
+    public LocalDate getBookingDate() {
+        return bookingDate;
+    }
+
+    public void setBookingDate(LocalDate bookingDate) {
+        this.bookingDate = bookingDate;
+    }
+
+    public ClassPeriod getClassPeriod() {
+        return classPeriod;
+    }
+
+    public void setClassPeriod(ClassPeriod classPeriod) {
+        this.classPeriod = classPeriod;
+    }
+
+    public String getPurpose() {
+        return purpose;
+    }
+
+    public void setPurpose(String purpose) {
+        this.purpose = purpose;
+    }
+
+    public Integer getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Integer priority) {
+        this.priority = priority;
+    }
+
+    public WaitlistStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(WaitlistStatus status) {
+        this.status = status;
+    }
+
+    public Long getPosition() {
+        return position;
+    }
+
+    public void setPosition(Long position) {
+        this.position = position;
+    }
+}
@@ -0,0 +1,26 @@
+package com.rut.booking.events;
+
+import java.time.LocalDate;
+
+/**
+ * Published for each room and day a maintenance blackout opens or closes, so live availability
+ * can refresh.
+ */
+public class BlackoutChangedEvent {
+
+    private final Long roomId;
+    private final LocalDate bookingDate;
+
+    public BlackoutChangedEvent(Long roomId, LocalDate bookingDate) {
+        this.roomId = roomId;
+        this.bookingDate = bookingDate;
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public LocalDate getBookingDate() {
+        return bookingDate;
+    }
+}
@@ -0,0 +1,48 @@
+package com.rut.booking.events;
+
+import com.rut.booking.models.enums.BookingStatus;
+import com.rut.booking.models.enums.ClassPeriod;
+
+import java.time.LocalDate;
+
+/**
+ * Published when a booking is created or changes status. Listeners that act on other systems
+ * should use {@code @TransactionalEventListener} so they only see committed changes.
+ */
+public class BookingChangedEvent {
+
+    private final Long bookingId;
+    private final Long roomId;
+    private final LocalDate bookingDate;
+    private final ClassPeriod classPeriod;
+    private final BookingStatus status;
+
+    public BookingChangedEvent(Long bookingId, Long roomId, LocalDate bookingDate,
+                               ClassPeriod classPeriod, BookingStatus status) {
+        this.bookingId = bookingId;
+        this.roomId = roomId;
+        this.bookingDate = bookingDate;
+        this.classPeriod = classPeriod;
+        this.status = status;
+    }
+
+    public Long getBookingId() {
+        return bookingId;
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public LocalDate getBookingDate() {
+        return bookingDate;
+    }
+
+    public ClassPeriod getClassPeriod() {
+        return classPeriod;
+    }
+
+    public BookingStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,25 @@
+package com.rut.booking.events;
+
+import java.time.LocalDate;
+
+/**
+ * Published when a slot hold is taken, released or expires, so live availability can refresh.
+ */
+public class HoldChangedEvent {
+
+    private final Long roomId;
+    private final LocalDate bookingDate;
+
+    public HoldChangedEvent(Long roomId, LocalDate bookingDate) {
+        this.roomId = roomId;
+        this.bookingDate = bookingDate;
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public LocalDate getBookingDate() {
+        return bookingDate;
+    }
+}
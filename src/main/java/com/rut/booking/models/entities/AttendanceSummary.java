@@ -0,0 +1,111 @@
+package com.rut.booking.models.entities;
+
+import com.rut.booking.models.enums.AttendanceSubject;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Running attendance totals of one teacher or room over its past bookings: how many were held,
+ * how many of those a dispatcher found empty, and how many were cancelled, late or not.
+ * Rows only ever grow; the attendance job adds each booking once when its date has passed.
+ */
+@Entity
+@Table(name = "attendance_summaries", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_attendance_summaries_subject", columnNames = {"subject_type", "subject_id"})
+})
+public class AttendanceSummary extends BaseEntity {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "subject_type", nullable = false, length = 20)
+    private AttendanceSubject subjectType;
+
+    @Column(name = "subject_id", nullable = false)
+    private Long subjectId;
+
+    @Column(name = "held_count", nullable = false)
+    private int heldCount;
+
+    @Column(name = "reported_empty_count", nullable = false)
+    private int reportedEmptyCount;
+
+    @Column(name = "cancelled_count", nullable = false)
+    private int cancelledCount;
+
+    @Column(name = "late_cancelled_count", nullable = false)
+    private int lateCancelledCount;
+
+    @Column(name = "last_booking_date", nullable = false)
+    private LocalDate lastBookingDate;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public AttendanceSummary() {
+    }
+
+    public AttendanceSubject getSubjectType() {
+        return subjectType;
+    }
+
+    public void setSubjectType(AttendanceSubject subjectType) {
+        this.subjectType = subjectType;
+    }
+
+    public Long getSubjectId() {
+        return subjectId;
+    }
+
+    public void setSubjectId(Long subjectId) {
+        this.subjectId = subjectId;
+    }
+
+    public int getHeldCount() {
+        return heldCount;
+    }
+
+    public void setHeldCount(int heldCount) {
+        this.heldCount = heldCount;
+    }
+
+    public int getReportedEmptyCount() {
+        return reportedEmptyCount;
+    }
+
+    public void setReportedEmptyCount(int reportedEmptyCount) {
+        this.reportedEmptyCount = reportedEmptyCount;
+    }
+
+    public int getCancelledCount() {
+        return cancelledCount;
+    }
+
+    public void setCancelledCount(int cancelledCount) {
+        this.cancelledCount = cancelledCount;
+    }
+
+    public int getLateCancelledCount() {
+        return lateCancelledCount;
+    }
+
+    public void setLateCancelledCount(int lateCancelledCount) {
+        this.lateCancelledCount = lateCancelledCount;
+    }
+
+    public LocalDate getLastBookingDate() {
+        return lastBookingDate;
+    }
+
+    public void setLastBookingDate(LocalDate lastBookingDate) {
+        this.lastBookingDate = lastBookingDate;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
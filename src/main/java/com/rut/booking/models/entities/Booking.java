@@ -10,7 +10,13 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+    @Index(name = "idx_bookings_room_date_period_status", columnList = "room_id, booking_date, class_period, status"),
+    @Index(name = "idx_bookings_teacher_date", columnList = "teacher_id, booking_date"),
+    @Index(name = "idx_bookings_date_start", columnList = "booking_date, start_time"),
+    @Index(name = "idx_bookings_status", columnList = "status"),
+    @Index(name = "idx_bookings_created_at", columnList = "created_at")
+})
 public class Booking extends BaseEntity {
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -60,10 +66,23 @@ public class Booking extends BaseEntity {
     @Column(name = "processed_at")
     private LocalDateTime processedAt;
 
+    // Set when a dispatcher finds the room empty during the booked period
+    @Column(name = "reported_empty_at")
+    private LocalDateTime reportedEmptyAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "reported_empty_by")
+    private User reportedEmptyBy;
+
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Also bumped by the set-based bulk updates, so a concurrent stale write fails instead of overwriting
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
     public Booking() {
     }
 
@@ -183,6 +202,22 @@ public class Booking extends BaseEntity {
         this.processedAt = processedAt;
     }
 
+    public LocalDateTime getReportedEmptyAt() {
+        return reportedEmptyAt;
+    }
+
+    public void setReportedEmptyAt(LocalDateTime reportedEmptyAt) {
+        this.reportedEmptyAt = reportedEmptyAt;
+    }
+
+    public User getReportedEmptyBy() {
+        return reportedEmptyBy;
+    }
+
+    public void setReportedEmptyBy(User reportedEmptyBy) {
+        this.reportedEmptyBy = reportedEmptyBy;
+    }
+
     public LocalDateTime getUpdatedAt() {
         return updatedAt;
     }
@@ -191,6 +226,14 @@ public class Booking extends BaseEntity {
         this.updatedAt = updatedAt;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public boolean isApproved() {
         return status == BookingStatus.APPROVED;
     }
@@ -0,0 +1,81 @@
+package com.rut.booking.models.entities;
+
+import com.rut.booking.models.enums.ClassPeriod;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A short lease on a slot while a teacher fills in the booking form. At most one row exists
+ * per slot; a row whose lease has run out no longer holds anything and may be taken over.
+ */
+@Entity
+@Table(name = "booking_holds", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_booking_holds_slot", columnNames = {"room_id", "booking_date", "class_period"})
+}, indexes = {
+    @Index(name = "idx_booking_holds_expires_at", columnList = "expires_at")
+})
+public class BookingHold extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "room_id", nullable = false)
+    private Room room;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "teacher_id", nullable = false)
+    private User teacher;
+
+    @Column(name = "booking_date", nullable = false)
+    private LocalDate bookingDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "class_period", nullable = false)
+    private ClassPeriod classPeriod;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public BookingHold() {
+    }
+
+    public Room getRoom() {
+        return room;
+    }
+
+    public void setRoom(Room room) {
+        this.room = room;
+    }
+
+    public User getTeacher() {
+        return teacher;
+    }
+
+    public void setTeacher(User teacher) {
+        this.teacher = teacher;
+    }
+
+    public LocalDate getBookingDate() {
+        return bookingDate;
+    }
+
+    public void setBookingDate(LocalDate bookingDate) {
+        this.bookingDate = bookingDate;
+    }
+
+    public ClassPeriod getClassPeriod() {
+        return classPeriod;
+    }
+
+    public void setClassPeriod(ClassPeriod classPeriod) {
+        this.classPeriod = classPeriod;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
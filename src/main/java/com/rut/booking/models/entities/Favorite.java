@@ -5,6 +5,9 @@ import jakarta.persistence.*;
 @Entity
 @Table(name = "favorites", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"user_id", "room_id"})
+}, indexes = {
+    @Index(name = "idx_favorites_user_created", columnList = "user_id, created_at"),
+    @Index(name = "idx_favorites_room", columnList = "room_id")
 })
 public class Favorite extends BaseEntity {
 
@@ -0,0 +1,65 @@
+package com.rut.booking.models.entities;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * How far an incremental job has read the bookings table, as a {@code (booking_date, id)} key.
+ * The job moves it in the same transaction as the results of each chunk, so a restart resumes
+ * right after the last committed chunk and no booking is counted twice.
+ */
+@Entity
+@Table(name = "job_watermarks", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_job_watermarks_job_name", columnNames = "job_name")
+})
+public class JobWatermark extends BaseEntity {
+
+    @Column(name = "job_name", nullable = false, length = 100)
+    private String jobName;
+
+    @Column(name = "last_booking_date", nullable = false)
+    private LocalDate lastBookingDate;
+
+    @Column(name = "last_booking_id", nullable = false)
+    private Long lastBookingId;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public JobWatermark() {
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public LocalDate getLastBookingDate() {
+        return lastBookingDate;
+    }
+
+    public void setLastBookingDate(LocalDate lastBookingDate) {
+        this.lastBookingDate = lastBookingDate;
+    }
+
+    public Long getLastBookingId() {
+        return lastBookingId;
+    }
+
+    public void setLastBookingId(Long lastBookingId) {
+        this.lastBookingId = lastBookingId;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
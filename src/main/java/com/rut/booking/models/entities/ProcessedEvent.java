@@ -0,0 +1,44 @@
+package com.rut.booking.models.entities;
+
+import jakarta.persistence.*;
+
+/**
+ * Idempotency record: the consumer has already handled the outbox event. Written in the
+ * consumer's transaction, so a redelivered event is skipped instead of applied twice.
+ */
+@Entity
+@Table(name = "processed_events", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_processed_events_consumer_event", columnNames = {"consumer", "event_id"})
+})
+public class ProcessedEvent extends BaseEntity {
+
+    @Column(name = "consumer", nullable = false, length = 100)
+    private String consumer;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    public ProcessedEvent() {
+    }
+
+    public ProcessedEvent(String consumer, Long eventId) {
+        this.consumer = consumer;
+        this.eventId = eventId;
+    }
+
+    public String getConsumer() {
+        return consumer;
+    }
+
+    public void setConsumer(String consumer) {
+        this.consumer = consumer;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+}
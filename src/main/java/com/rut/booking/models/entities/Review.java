@@ -6,7 +6,10 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+    @Index(name = "idx_reviews_room_deleted", columnList = "room_id, is_deleted"),
+    @Index(name = "idx_reviews_user_deleted", columnList = "user_id, is_deleted")
+})
 public class Review extends BaseEntity {
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -26,6 +29,9 @@ public class Review extends BaseEntity {
     @Column(name = "image_path", length = 500)
     private String imagePath;
 
+    @Column(name = "image_thumb_path", length = 500)
+    private String imageThumbPath;
+
     @Column(name = "issues", length = 1000)
     private String issues;
 
@@ -92,6 +98,14 @@ public class Review extends BaseEntity {
         this.imagePath = imagePath;
     }
 
+    public String getImageThumbPath() {
+        return imageThumbPath;
+    }
+
+    public void setImageThumbPath(String imageThumbPath) {
+        this.imageThumbPath = imageThumbPath;
+    }
+
     public String getIssues() {
         return issues;
     }
@@ -2,8 +2,12 @@ package com.rut.booking.models.entities;
 
 import com.rut.booking.models.enums.RoleType;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "roles")
 @Table(name = "roles")
 public class Role extends BaseEntity {
 
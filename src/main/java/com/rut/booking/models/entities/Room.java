@@ -2,6 +2,8 @@ package com.rut.booking.models.entities;
 
 import com.rut.booking.models.enums.RoomType;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -9,6 +11,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "rooms")
 @Table(name = "rooms")
 public class Room extends BaseEntity {
 
@@ -43,6 +47,12 @@ public class Room extends BaseEntity {
     @Column(name = "image_path", length = 255)
     private String imagePath;
 
+    @Column(name = "image_thumb_path", length = 255)
+    private String imageThumbPath;
+
+    @Column(name = "image_detail_path", length = 255)
+    private String imageDetailPath;
+
     @Column(name = "is_active")
     private Boolean isActive = true;
 
@@ -150,6 +160,22 @@ public class Room extends BaseEntity {
         this.imagePath = imagePath;
     }
 
+    public String getImageThumbPath() {
+        return imageThumbPath;
+    }
+
+    public void setImageThumbPath(String imageThumbPath) {
+        this.imageThumbPath = imageThumbPath;
+    }
+
+    public String getImageDetailPath() {
+        return imageDetailPath;
+    }
+
+    public void setImageDetailPath(String imageDetailPath) {
+        this.imageDetailPath = imageDetailPath;
+    }
+
     public Boolean getIsActive() {
         return isActive;
     }
@@ -0,0 +1,144 @@
+package com.rut.booking.models.entities;
+
+import com.rut.booking.models.enums.BlackoutScope;
+import com.rut.booking.models.enums.ClassPeriod;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * A maintenance window during which a room, a floor or a whole building cannot be booked.
+ * The window covers the periods in {@code periodMask} on every day from start to end date inclusive.
+ */
+@Entity
+@Table(name = "room_blackouts", indexes = {
+    @Index(name = "idx_room_blackouts_dates", columnList = "start_date, end_date"),
+    @Index(name = "idx_room_blackouts_room_issue", columnList = "room_issue_id")
+})
+public class RoomBlackout extends BaseEntity {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope", nullable = false, length = 20)
+    private BlackoutScope scope;
+
+    // Set for ROOM scope only
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "room_id")
+    private Room room;
+
+    // Set for FLOOR and BUILDING scope
+    @Column(name = "building", length = 10)
+    private String building;
+
+    // Set for FLOOR scope only
+    @Column(name = "floor")
+    private Integer floor;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @Column(name = "period_mask", nullable = false)
+    private Integer periodMask = ClassPeriod.ALL_DAY_MASK;
+
+    @Column(name = "reason", length = 500)
+    private String reason;
+
+    // The reported issue this blackout was opened for; resolving the issue ends the blackout
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "room_issue_id")
+    private RoomIssue roomIssue;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "created_by")
+    private User createdBy;
+
+    public RoomBlackout() {
+    }
+
+    public BlackoutScope getScope() {
+        return scope;
+    }
+
+    public void setScope(BlackoutScope scope) {
+        this.scope = scope;
+    }
+
+    public Room getRoom() {
+        return room;
+    }
+
+    public void setRoom(Room room) {
+        this.room = room;
+    }
+
+    public String getBuilding() {
+        return building;
+    }
+
+    public void setBuilding(String building) {
+        this.building = building;
+    }
+
+    public Integer getFloor() {
+        return floor;
+    }
+
+    public void setFloor(Integer floor) {
+        this.floor = floor;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public Integer getPeriodMask() {
+        return periodMask;
+    }
+
+    public void setPeriodMask(Integer periodMask) {
+        this.periodMask = periodMask;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public RoomIssue getRoomIssue() {
+        return roomIssue;
+    }
+
+    public void setRoomIssue(RoomIssue roomIssue) {
+        this.roomIssue = roomIssue;
+    }
+
+    public User getCreatedBy() {
+        return createdBy;
+    }
+
+    public void setCreatedBy(User createdBy) {
+        this.createdBy = createdBy;
+    }
+
+    public boolean covers(LocalDate date) {
+        return !date.isBefore(startDate) && !date.isAfter(endDate);
+    }
+}
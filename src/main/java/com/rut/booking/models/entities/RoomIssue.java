@@ -5,7 +5,11 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "room_issues")
+@Table(name = "room_issues", indexes = {
+    @Index(name = "idx_room_issues_resolved_created", columnList = "is_resolved, created_at"),
+    @Index(name = "idx_room_issues_room_created", columnList = "room_id, created_at"),
+    @Index(name = "idx_room_issues_user_created", columnList = "user_id, created_at")
+})
 public class RoomIssue extends BaseEntity {
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -25,6 +29,9 @@ public class RoomIssue extends BaseEntity {
     @Column(name = "image_path", length = 500)
     private String imagePath;
 
+    @Column(name = "image_thumb_path", length = 500)
+    private String imageThumbPath;
+
     @Column(name = "is_resolved", nullable = false)
     private Boolean isResolved = false;
 
@@ -78,6 +85,14 @@ public class RoomIssue extends BaseEntity {
         this.imagePath = imagePath;
     }
 
+    public String getImageThumbPath() {
+        return imageThumbPath;
+    }
+
+    public void setImageThumbPath(String imageThumbPath) {
+        this.imageThumbPath = imageThumbPath;
+    }
+
     public Boolean getIsResolved() {
         return isResolved;
     }
@@ -0,0 +1,80 @@
+package com.rut.booking.models.entities;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Pre-aggregated usage of one room on one day: the booked periods as an occupancy mask (see
+ * {@link com.rut.booking.models.enums.ClassPeriod#getMask()}) and their count. Rows are
+ * recomputed from {@code bookings} whenever a booking of that room and day changes, so
+ * analytics read a few thousand small rows instead of scanning bookings.
+ */
+@Entity
+@Table(name = "room_usage_daily", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_room_usage_daily_room_date", columnNames = {"room_id", "usage_date"})
+}, indexes = {
+    @Index(name = "idx_room_usage_daily_date", columnList = "usage_date")
+})
+public class RoomUsageDaily extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "room_id", nullable = false)
+    private Room room;
+
+    @Column(name = "usage_date", nullable = false)
+    private LocalDate usageDate;
+
+    @Column(name = "period_mask", nullable = false)
+    private int periodMask;
+
+    @Column(name = "booked_periods", nullable = false)
+    private int bookedPeriods;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public RoomUsageDaily() {
+    }
+
+    public Room getRoom() {
+        return room;
+    }
+
+    public void setRoom(Room room) {
+        this.room = room;
+    }
+
+    public LocalDate getUsageDate() {
+        return usageDate;
+    }
+
+    public void setUsageDate(LocalDate usageDate) {
+        this.usageDate = usageDate;
+    }
+
+    public int getPeriodMask() {
+        return periodMask;
+    }
+
+    public void setPeriodMask(int periodMask) {
+        this.periodMask = periodMask;
+    }
+
+    public int getBookedPeriods() {
+        return bookedPeriods;
+    }
+
+    public void setBookedPeriods(int bookedPeriods) {
+        this.bookedPeriods = bookedPeriods;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
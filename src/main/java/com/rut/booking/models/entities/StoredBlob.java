@@ -0,0 +1,75 @@
+package com.rut.booking.models.entities;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Content-addressed upload. Identical files share one blob keyed by their SHA-256;
+ * {@code referenceCount} tracks how many rooms, reviews and issues point at it.
+ */
+@Entity
+@Table(name = "stored_blobs", indexes = {
+    @Index(name = "idx_stored_blobs_path", columnList = "path", unique = true),
+    @Index(name = "idx_stored_blobs_released_at", columnList = "reference_count, released_at")
+})
+public class StoredBlob extends BaseEntity {
+
+    @Column(name = "hash", nullable = false, unique = true, length = 64)
+    private String hash;
+
+    @Column(name = "path", nullable = false, length = 255)
+    private String path;
+
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+
+    @Column(name = "reference_count", nullable = false)
+    private Integer referenceCount = 0;
+
+    @Column(name = "released_at")
+    private LocalDateTime releasedAt;
+
+    public StoredBlob() {
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public void setHash(String hash) {
+        this.hash = hash;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public Long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(Long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public Integer getReferenceCount() {
+        return referenceCount;
+    }
+
+    public void setReferenceCount(Integer referenceCount) {
+        this.referenceCount = referenceCount;
+    }
+
+    public LocalDateTime getReleasedAt() {
+        return releasedAt;
+    }
+
+    public void setReleasedAt(LocalDateTime releasedAt) {
+        this.releasedAt = releasedAt;
+    }
+}
@@ -0,0 +1,140 @@
+package com.rut.booking.models.entities;
+
+import com.rut.booking.models.enums.ClassPeriod;
+import com.rut.booking.models.enums.WaitlistStatus;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A teacher waiting for a taken slot. When the booking holding the slot is cancelled or
+ * rejected, the waiting entry with the highest priority (then the oldest) becomes a booking.
+ */
+@Entity
+@Table(name = "waitlist_entries", indexes = {
+    @Index(name = "idx_waitlist_slot_status", columnList = "room_id, booking_date, class_period, status"),
+    @Index(name = "idx_waitlist_teacher_status", columnList = "teacher_id, status")
+})
+public class WaitlistEntry extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "teacher_id", nullable = false)
+    private User teacher;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "room_id", nullable = false)
+    private Room room;
+
+    @Column(name = "booking_date", nullable = false)
+    private LocalDate bookingDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "class_period", nullable = false)
+    private ClassPeriod classPeriod;
+
+    @Column(name = "purpose", nullable = false, length = 500)
+    private String purpose;
+
+    @Column(name = "notes", columnDefinition = "TEXT")
+    private String notes;
+
+    // Higher goes first; entries with equal priority are served in the order they joined
+    @Column(name = "priority", nullable = false)
+    private Integer priority = 0;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private WaitlistStatus status = WaitlistStatus.WAITING;
+
+    // The booking this entry was promoted to
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "booking_id")
+    private Booking booking;
+
+    @Column(name = "promoted_at")
+    private LocalDateTime promotedAt;
+
+    public WaitlistEntry() {
+    }
+
+    public User getTeacher() {
+        return teacher;
+    }
+
+    public void setTeacher(User teacher) {
+        this.teacher = teacher;
+    }
+
+    public Room getRoom() {
+        return room;
+    }
+
+    public void setRoom(Room room) {
+        this.room = room;
+    }
+
+    public LocalDate getBookingDate() {
+        return bookingDate;
+    }
+
+    public void setBookingDate(LocalDate bookingDate) {
+        this.bookingDate = bookingDate;
+    }
+
+    public ClassPeriod getClassPeriod() {
+        return classPeriod;
+    }
+
+    public void setClassPeriod(ClassPeriod classPeriod) {
+        this.classPeriod = classPeriod;
+    }
+
+    public String getPurpose() {
+        return purpose;
+    }
+
+    public void setPurpose(String purpose) {
+        this.purpose = purpose;
+    }
+
+    public String getNotes() {
+        return notes;
+    }
+
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+
+    public Integer getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Integer priority) {
+        this.priority = priority;
+    }
+
+    public WaitlistStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(WaitlistStatus status) {
+        this.status = status;
+    }
+
+    public Booking getBooking() {
+        return booking;
+    }
+
+    public void setBooking(Booking booking) {
+        this.booking = booking;
+    }
+
+    public LocalDateTime getPromotedAt() {
+        return promotedAt;
+    }
+
+    public void setPromotedAt(LocalDateTime promotedAt) {
+        this.promotedAt = promotedAt;
+    }
+}
@@ -0,0 +1,17 @@
+package com.rut.booking.models.enums;
+
+public enum AlternativeType {
+    SAME_ROOM_OTHER_PERIOD("Та же аудитория, другая пара"),
+    OTHER_ROOM("Похожая аудитория в том же корпусе"),
+    SAME_ROOM_OTHER_DAY("Та же аудитория, другой день");
+
+    private final String displayName;
+
+    AlternativeType(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
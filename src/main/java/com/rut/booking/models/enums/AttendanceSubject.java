@@ -0,0 +1,9 @@
+package com.rut.booking.models.enums;
+
+/**
+ * What an attendance summary row is about; its subject id points into the matching table.
+ */
+public enum AttendanceSubject {
+    TEACHER,
+    ROOM
+}
@@ -0,0 +1,17 @@
+package com.rut.booking.models.enums;
+
+public enum BlackoutScope {
+    ROOM("Аудитория"),
+    FLOOR("Этаж"),
+    BUILDING("Корпус");
+
+    private final String displayName;
+
+    BlackoutScope(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -0,0 +1,25 @@
+package com.rut.booking.models.enums;
+
+import java.util.List;
+
+public enum BulkBookingAction {
+    // Same rule as a single rejection: only requests that have not been decided yet
+    REJECT(BookingStatus.REJECTED, List.of(BookingStatus.CREATED, BookingStatus.PENDING)),
+    CANCEL(BookingStatus.CANCELLED, List.of(BookingStatus.CREATED, BookingStatus.PENDING, BookingStatus.APPROVED));
+
+    private final BookingStatus targetStatus;
+    private final List<BookingStatus> fromStatuses;
+
+    BulkBookingAction(BookingStatus targetStatus, List<BookingStatus> fromStatuses) {
+        this.targetStatus = targetStatus;
+        this.fromStatuses = fromStatuses;
+    }
+
+    public BookingStatus getTargetStatus() {
+        return targetStatus;
+    }
+
+    public List<BookingStatus> getFromStatuses() {
+        return fromStatuses;
+    }
+}
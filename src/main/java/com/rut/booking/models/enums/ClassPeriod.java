@@ -1,6 +1,9 @@
 package com.rut.booking.models.enums;
 
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 public enum ClassPeriod {
     PERIOD_1(1, LocalTime.of(8, 30), LocalTime.of(9, 50), "1-я пара"),
@@ -12,6 +15,11 @@ public enum ClassPeriod {
     PERIOD_7(7, LocalTime.of(18, 30), LocalTime.of(19, 50), "7-я пара"),
     PERIOD_8(8, LocalTime.of(20, 0), LocalTime.of(21, 20), "8-я пара");
 
+    /**
+     * Occupancy mask with every period of the day set.
+     */
+    public static final int ALL_DAY_MASK = (1 << values().length) - 1;
+
     private final int number;
     private final LocalTime startTime;
     private final LocalTime endTime;
@@ -40,6 +48,13 @@ public enum ClassPeriod {
         return displayName;
     }
 
+    /**
+     * Bit of this period in a day's occupancy mask.
+     */
+    public int getMask() {
+        return 1 << (number - 1);
+    }
+
     public String getTimeRange() {
         return String.format("%s – %s",
             startTime.toString(),
@@ -54,4 +69,34 @@ public enum ClassPeriod {
         }
         throw new IllegalArgumentException("Invalid class period number: " + number);
     }
+
+    /**
+     * The period in progress at {@code time}, or the next one to start; {@code null} after the last period.
+     */
+    public static ClassPeriod currentOrNext(LocalTime time) {
+        for (ClassPeriod period : values()) {
+            if (!time.isAfter(period.endTime)) {
+                return period;
+            }
+        }
+        return null;
+    }
+
+    public static int maskOf(Collection<ClassPeriod> periods) {
+        int mask = 0;
+        for (ClassPeriod period : periods) {
+            mask |= period.getMask();
+        }
+        return mask;
+    }
+
+    public static List<ClassPeriod> fromMask(int mask) {
+        List<ClassPeriod> periods = new ArrayList<>();
+        for (ClassPeriod period : values()) {
+            if ((mask & period.getMask()) != 0) {
+                periods.add(period);
+            }
+        }
+        return periods;
+    }
 }
@@ -0,0 +1,10 @@
+package com.rut.booking.models.enums;
+
+public enum OutboxEventType {
+    BOOKING_CHANGED,
+    ROOM_CHANGED,
+    REVIEW_CHANGED,
+    ISSUES_REPORTED,
+    BOOKINGS_BULK_CHANGED,
+    WAITLIST_PROMOTED
+}
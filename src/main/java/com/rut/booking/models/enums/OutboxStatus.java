@@ -0,0 +1,7 @@
+package com.rut.booking.models.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    PROCESSED,
+    FAILED
+}
@@ -0,0 +1,20 @@
+package com.rut.booking.models.enums;
+
+public enum TimetableConflictType {
+    INVALID_ROW("Некорректная строка"),
+    UNKNOWN_ROOM("Аудитория не найдена"),
+    UNKNOWN_TEACHER("Преподаватель не найден"),
+    PAST_DATE("Дата в прошлом"),
+    DUPLICATE_IN_FILE("Слот уже занят строкой выше в файле"),
+    SLOT_TAKEN("Аудитория уже забронирована или закрыта");
+
+    private final String displayName;
+
+    TimetableConflictType(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
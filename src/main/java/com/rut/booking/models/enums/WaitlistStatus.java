@@ -0,0 +1,18 @@
+package com.rut.booking.models.enums;
+
+public enum WaitlistStatus {
+    WAITING("В очереди"),
+    PROMOTED("Забронировано"),
+    CANCELLED("Отменено"),
+    EXPIRED("Истекло");
+
+    private final String displayName;
+
+    WaitlistStatus(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -1,12 +1,48 @@
 package com.rut.booking.models.exceptions;
 
+import com.rut.booking.dto.BookingAlternativeDto;
+
+import java.util.List;
+
 public class BookingConflictException extends RuntimeException {
 
+    private final List<BookingAlternativeDto> alternatives;
+    private final boolean slotBooked;
+
     public BookingConflictException(String message) {
+        this(message, List.of());
+    }
+
+    public BookingConflictException(String message, List<BookingAlternativeDto> alternatives) {
+        this(message, alternatives, false);
+    }
+
+    private BookingConflictException(String message, List<BookingAlternativeDto> alternatives, boolean slotBooked) {
         super(message);
+        this.alternatives = alternatives;
+        this.slotBooked = slotBooked;
     }
 
     public BookingConflictException(String roomNumber, String date, String time) {
-        super(String.format("Room %s is already booked on %s at %s", roomNumber, date, time));
+        this(roomNumber, date, time, List.of());
+    }
+
+    public BookingConflictException(String roomNumber, String date, String time,
+                                    List<BookingAlternativeDto> alternatives) {
+        this(String.format("Room %s is already booked on %s at %s", roomNumber, date, time), alternatives, true);
+    }
+
+    /**
+     * Free slots close to the requested one, best first; empty if none were computed.
+     */
+    public List<BookingAlternativeDto> getAlternatives() {
+        return alternatives;
+    }
+
+    /**
+     * True if another booking holds the slot, so it can free up and the waitlist applies.
+     */
+    public boolean isSlotBooked() {
+        return slotBooked;
     }
 }
@@ -0,0 +1,56 @@
+package com.rut.booking.notifications;
+
+import com.rut.booking.models.entities.DispatcherNotification;
+import com.rut.booking.models.entities.User;
+import com.rut.booking.models.enums.RoleType;
+import com.rut.booking.repository.DispatcherNotificationRepository;
+import com.rut.booking.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Queues reported issues for every active dispatcher. Nothing is sent here: the
+ * {@link NotificationDigestSender} batches queued items into one message per dispatcher.
+ */
+@Service
+@Transactional(readOnly = true)
+@Slf4j
+public class DispatcherNotificationService {
+
+    private final DispatcherNotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+
+    public DispatcherNotificationService(DispatcherNotificationRepository notificationRepository,
+                                         UserRepository userRepository) {
+        this.notificationRepository = notificationRepository;
+        this.userRepository = userRepository;
+    }
+
+    @Transactional
+    public int enqueueIssues(String sourceType, Long sourceId, String roomNumber, String reportedBy, String issues) {
+        List<User> dispatchers = userRepository.findByRoleType(RoleType.DISPATCHER);
+        if (dispatchers.isEmpty()) {
+            log.warn("No active dispatchers to notify about issues in room {}", roomNumber);
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (User dispatcher : dispatchers) {
+            DispatcherNotification notification = new DispatcherNotification();
+            notification.setRecipientEmail(dispatcher.getEmail());
+            notification.setRecipientName(dispatcher.getFullName());
+            notification.setSourceType(sourceType);
+            notification.setSourceId(sourceId);
+            notification.setRoomNumber(roomNumber);
+            notification.setReportedBy(reportedBy);
+            notification.setIssues(issues);
+            notification.setNextAttemptAt(now);
+            notificationRepository.save(notification);
+        }
+        return dispatchers.size();
+    }
+}
@@ -0,0 +1,16 @@
+package com.rut.booking.notifications;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes messages to the log. Default transport for development, where no SMTP server runs.
+ */
+@Slf4j
+public class LoggingNotificationTransport implements NotificationTransport {
+
+    @Override
+    public void send(NotificationMessage message) {
+        log.info("Notification to {}, subject \"{}\":\n{}",
+                message.getRecipientEmail(), message.getSubject(), message.getBody());
+    }
+}
@@ -0,0 +1,124 @@
+package com.rut.booking.notifications;
+
+import com.rut.booking.models.entities.DispatcherNotification;
+import com.rut.booking.models.enums.NotificationStatus;
+import com.rut.booking.repository.DispatcherNotificationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Sends queued dispatcher notifications as one digest per recipient, once the oldest item
+ * has waited {@code app.notifications.digest-interval} or {@code digest-max-items} have
+ * accumulated. A failed send keeps the items queued with exponential backoff.
+ * <p>
+ * Each digest is sent while its rows are locked, so two nodes never send the same items.
+ */
+@Component
+@Slf4j
+public class NotificationDigestSender {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final DispatcherNotificationRepository notificationRepository;
+    private final NotificationTransport transport;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration digestInterval;
+    private final int digestMaxItems;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration retention;
+
+    public NotificationDigestSender(DispatcherNotificationRepository notificationRepository,
+                                    NotificationTransport transport,
+                                    TransactionTemplate transactionTemplate,
+                                    @Value("${app.notifications.digest-interval:5m}") Duration digestInterval,
+                                    @Value("${app.notifications.digest-max-items:50}") int digestMaxItems,
+                                    @Value("${app.notifications.max-attempts:6}") int maxAttempts,
+                                    @Value("${app.notifications.initial-backoff:1m}") Duration initialBackoff,
+                                    @Value("${app.notifications.retention:30d}") Duration retention) {
+        this.notificationRepository = notificationRepository;
+        this.transport = transport;
+        this.transactionTemplate = transactionTemplate;
+        this.digestInterval = digestInterval;
+        this.digestMaxItems = digestMaxItems;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.poll-interval-ms:30000}")
+    public void sendDueDigests() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> recipients = notificationRepository.findRecipientsDue(now, now.minus(digestInterval), digestMaxItems);
+        for (String recipient : recipients) {
+            transactionTemplate.executeWithoutResult(status -> sendDigest(recipient, now));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.cleanup-interval-ms:3600000}",
+               initialDelayString = "${app.notifications.cleanup-interval-ms:3600000}")
+    public void cleanup() {
+        transactionTemplate.executeWithoutResult(status -> notificationRepository.deleteByStatusAndSentAtBefore(
+                NotificationStatus.SENT, LocalDateTime.now().minus(retention)));
+    }
+
+    private void sendDigest(String recipient, LocalDateTime now) {
+        List<DispatcherNotification> items = notificationRepository.lockQueued(recipient, now, digestMaxItems);
+        if (items.isEmpty()) {
+            return;
+        }
+
+        try {
+            transport.send(render(recipient, items));
+        } catch (Exception e) {
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            log.warn("Failed to send dispatcher digest to {}: {}", recipient, error);
+            for (DispatcherNotification item : items) {
+                int attempts = item.getAttempts() + 1;
+                item.setAttempts(attempts);
+                item.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+                if (attempts >= maxAttempts) {
+                    item.setStatus(NotificationStatus.FAILED);
+                } else {
+                    item.setNextAttemptAt(now.plus(initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 9))));
+                }
+            }
+            return;
+        }
+
+        LocalDateTime sentAt = LocalDateTime.now();
+        for (DispatcherNotification item : items) {
+            item.setStatus(NotificationStatus.SENT);
+            item.setSentAt(sentAt);
+            item.setAttempts(item.getAttempts() + 1);
+            item.setLastError(null);
+        }
+    }
+
+    private NotificationMessage render(String recipient, List<DispatcherNotification> items) {
+        String subject = items.size() == 1
+                ? "Проблема в аудитории " + items.get(0).getRoomNumber()
+                : "Проблемы в аудиториях: " + items.size() + " новых сообщений";
+
+        StringBuilder body = new StringBuilder();
+        String name = items.get(0).getRecipientName();
+        body.append("Здравствуйте").append(name != null ? ", " + name : "").append("!\n\n");
+        body.append("Пользователи сообщили о проблемах с оборудованием:\n\n");
+        for (DispatcherNotification item : items) {
+            body.append("Аудитория ").append(item.getRoomNumber())
+                    .append(" (").append(item.getReportedBy()).append(", ")
+                    .append("Review".equals(item.getSourceType()) ? "отзыв" : "заявка")
+                    .append(" №").append(item.getSourceId()).append(")\n");
+            body.append("  ").append(item.getIssues()).append("\n\n");
+        }
+        body.append("Подробности в панели администратора.\n");
+        return new NotificationMessage(recipient, subject, body.toString());
+    }
+}
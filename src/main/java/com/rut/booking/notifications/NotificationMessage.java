@@ -0,0 +1,29 @@
+package com.rut.booking.notifications;
+
+/**
+ * A rendered message ready to be handed to a {@link NotificationTransport}.
+ */
+public class NotificationMessage {
+
+    private final String recipientEmail;
+    private final String subject;
+    private final String body;
+
+    public NotificationMessage(String recipientEmail, String subject, String body) {
+        this.recipientEmail = recipientEmail;
+        this.subject = subject;
+        this.body = body;
+    }
+
+    public String getRecipientEmail() {
+        return recipientEmail;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getBody() {
+        return body;
+    }
+}
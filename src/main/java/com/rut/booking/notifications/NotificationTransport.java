@@ -0,0 +1,10 @@
+package com.rut.booking.notifications;
+
+/**
+ * Delivers notification messages. Implementations throw on failure; the digest sender
+ * keeps the items queued and retries them later.
+ */
+public interface NotificationTransport {
+
+    void send(NotificationMessage message);
+}
@@ -0,0 +1,28 @@
+package com.rut.booking.notifications;
+
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+/**
+ * Sends messages as plain-text mail through the configured {@code spring.mail.*} server.
+ */
+public class SmtpNotificationTransport implements NotificationTransport {
+
+    private final JavaMailSender mailSender;
+    private final String from;
+
+    public SmtpNotificationTransport(JavaMailSender mailSender, String from) {
+        this.mailSender = mailSender;
+        this.from = from;
+    }
+
+    @Override
+    public void send(NotificationMessage message) {
+        SimpleMailMessage mail = new SimpleMailMessage();
+        mail.setFrom(from);
+        mail.setTo(message.getRecipientEmail());
+        mail.setSubject(message.getSubject());
+        mail.setText(message.getBody());
+        mailSender.send(mail);
+    }
+}
@@ -0,0 +1,49 @@
+package com.rut.booking.outbox;
+
+import com.rut.booking.models.entities.Booking;
+import com.rut.booking.models.entities.OutboxEvent;
+import com.rut.booking.models.enums.BookingStatus;
+import com.rut.booking.models.enums.OutboxEventType;
+import com.rut.booking.repository.BookingRepository;
+import com.rut.booking.services.PdfGenerationService;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Renders the confirmation PDF for approved bookings off the request path.
+ * Downloading a booking before this has run still generates the PDF on demand.
+ */
+@Component
+public class BookingPdfConsumer implements OutboxConsumer {
+
+    private final BookingRepository bookingRepository;
+    private final PdfGenerationService pdfGenerationService;
+
+    public BookingPdfConsumer(BookingRepository bookingRepository, PdfGenerationService pdfGenerationService) {
+        this.bookingRepository = bookingRepository;
+        this.pdfGenerationService = pdfGenerationService;
+    }
+
+    @Override
+    public String getName() {
+        return "booking-pdf";
+    }
+
+    @Override
+    public boolean supports(OutboxEventType eventType) {
+        return eventType == OutboxEventType.BOOKING_CHANGED;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        Booking booking = bookingRepository.findById(event.getAggregateId()).orElse(null);
+        // Checked against the current row, not the payload: the booking may have changed since
+        if (booking == null || booking.getStatus() != BookingStatus.APPROVED || booking.getPdfFilePath() != null) {
+            return;
+        }
+        booking.setPdfFilePath(pdfGenerationService.generateBookingConfirmationPdf(booking));
+        booking.setPdfGeneratedAt(LocalDateTime.now());
+        bookingRepository.save(booking);
+    }
+}
@@ -0,0 +1,42 @@
+package com.rut.booking.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rut.booking.models.entities.OutboxEvent;
+import com.rut.booking.models.enums.OutboxEventType;
+import com.rut.booking.notifications.DispatcherNotificationService;
+import org.springframework.stereotype.Component;
+
+/**
+ * Queues equipment issues reported in reviews and issue reports for the dispatchers.
+ * The queue insert shares the consumer transaction, so a redelivered event is not queued twice.
+ */
+@Component
+public class DispatcherNotificationConsumer implements OutboxConsumer {
+
+    private final OutboxService outboxService;
+    private final DispatcherNotificationService dispatcherNotificationService;
+
+    public DispatcherNotificationConsumer(OutboxService outboxService,
+                                          DispatcherNotificationService dispatcherNotificationService) {
+        this.outboxService = outboxService;
+        this.dispatcherNotificationService = dispatcherNotificationService;
+    }
+
+    @Override
+    public String getName() {
+        return "dispatcher-notification";
+    }
+
+    @Override
+    public boolean supports(OutboxEventType eventType) {
+        return eventType == OutboxEventType.ISSUES_REPORTED;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        JsonNode payload = outboxService.readPayload(event);
+        dispatcherNotificationService.enqueueIssues(event.getAggregateType(), event.getAggregateId(),
+                payload.path("roomNumber").asText(), payload.path("reportedBy").asText(),
+                payload.path("issues").asText());
+    }
+}
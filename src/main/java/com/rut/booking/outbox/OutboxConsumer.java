@@ -0,0 +1,24 @@
+package com.rut.booking.outbox;
+
+import com.rut.booking.models.entities.OutboxEvent;
+import com.rut.booking.models.enums.OutboxEventType;
+
+/**
+ * In-process subscriber to outbox events.
+ * <p>
+ * Delivery is at-least-once: {@link #handle} runs in its own transaction together with the
+ * idempotency record, and an event whose delivery failed is retried for every consumer that
+ * has not recorded it yet. Side effects outside the database (search index, mail) must
+ * therefore tolerate being repeated.
+ */
+public interface OutboxConsumer {
+
+    /**
+     * Stable name used as the idempotency key together with the event id.
+     */
+    String getName();
+
+    boolean supports(OutboxEventType eventType);
+
+    void handle(OutboxEvent event);
+}
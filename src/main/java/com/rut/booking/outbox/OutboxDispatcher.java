@@ -0,0 +1,147 @@
+package com.rut.booking.outbox;
+
+import com.rut.booking.models.entities.OutboxEvent;
+import com.rut.booking.models.entities.ProcessedEvent;
+import com.rut.booking.models.enums.OutboxStatus;
+import com.rut.booking.repository.OutboxEventRepository;
+import com.rut.booking.repository.ProcessedEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Polls the outbox and delivers pending events to the registered {@link OutboxConsumer}s.
+ * <p>
+ * A batch is claimed with {@code FOR UPDATE SKIP LOCKED} and leased for a while, so several
+ * nodes can poll concurrently without delivering the same event twice in the normal case.
+ * A node that dies mid-batch only delays its events until the lease expires. Failed deliveries
+ * are retried with exponential backoff and parked as {@code FAILED} after the last attempt.
+ */
+@Component
+@Slf4j
+public class OutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ProcessedEventRepository processedEventRepository;
+    private final List<OutboxConsumer> consumers;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration leaseDuration;
+    private final Duration initialBackoff;
+    private final Duration retention;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            ProcessedEventRepository processedEventRepository,
+                            List<OutboxConsumer> consumers,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${app.outbox.batch-size:50}") int batchSize,
+                            @Value("${app.outbox.max-attempts:8}") int maxAttempts,
+                            @Value("${app.outbox.lease:2m}") Duration leaseDuration,
+                            @Value("${app.outbox.initial-backoff:5s}") Duration initialBackoff,
+                            @Value("${app.outbox.retention:7d}") Duration retention) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.processedEventRepository = processedEventRepository;
+        this.consumers = consumers;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.leaseDuration = leaseDuration;
+        this.initialBackoff = initialBackoff;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:500}")
+    public void dispatch() {
+        List<OutboxEvent> batch;
+        do {
+            batch = claimBatch();
+            for (OutboxEvent event : batch) {
+                deliver(event);
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.cleanup-interval-ms:3600000}",
+               initialDelayString = "${app.outbox.cleanup-interval-ms:3600000}")
+    public void cleanup() {
+        LocalDateTime before = LocalDateTime.now().minus(retention);
+        Integer removed = transactionTemplate.execute(status -> {
+            // Markers must outlive the events: a redelivery is only possible while the event exists
+            int events = outboxEventRepository.deleteByStatusAndProcessedAtBefore(OutboxStatus.PROCESSED, before);
+            processedEventRepository.deleteCreatedBefore(before);
+            return events;
+        });
+        if (removed != null && removed > 0) {
+            log.info("Outbox cleanup removed {} processed event(s)", removed);
+        }
+    }
+
+    private List<OutboxEvent> claimBatch() {
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = outboxEventRepository.lockNextBatch(now, batchSize);
+            if (ids.isEmpty()) {
+                return List.<OutboxEvent>of();
+            }
+            outboxEventRepository.lease(ids, now.plus(leaseDuration));
+            return outboxEventRepository.findByIdInOrderByIdAsc(ids);
+        });
+        return batch != null ? batch : List.of();
+    }
+
+    private void deliver(OutboxEvent event) {
+        String error = null;
+        for (OutboxConsumer consumer : consumers) {
+            if (!consumer.supports(event.getEventType())) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (processedEventRepository.existsByConsumerAndEventId(consumer.getName(), event.getId())) {
+                        return;
+                    }
+                    consumer.handle(event);
+                    processedEventRepository.save(new ProcessedEvent(consumer.getName(), event.getId()));
+                });
+            } catch (Exception e) {
+                // Keep going: the other consumers must not wait for this one's retries
+                error = consumer.getName() + ": " + e.getMessage();
+                log.warn("Outbox event {} ({}) failed in {}: {}",
+                        event.getId(), event.getEventType(), consumer.getName(), e.getMessage(), e);
+            }
+        }
+
+        String lastError = error;
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (lastError == null) {
+                outboxEventRepository.markProcessed(event.getId(), OutboxStatus.PROCESSED, now);
+            } else if (event.getAttempts() >= maxAttempts) {
+                outboxEventRepository.markFailedAttempt(event.getId(), OutboxStatus.FAILED, now, truncate(lastError));
+                log.error("Outbox event {} ({}) gave up after {} attempt(s): {}",
+                        event.getId(), event.getEventType(), event.getAttempts(), lastError);
+            } else {
+                outboxEventRepository.markFailedAttempt(event.getId(), OutboxStatus.PENDING,
+                        now.plus(backoff(event.getAttempts())), truncate(lastError));
+            }
+        });
+    }
+
+    private Duration backoff(int attempts) {
+        // 5s, 10s, 20s, ... with the exponent capped so a misconfigured max-attempts cannot overflow
+        return initialBackoff.multipliedBy(1L << Math.max(0, Math.min(attempts - 1, 9)));
+    }
+
+    private String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
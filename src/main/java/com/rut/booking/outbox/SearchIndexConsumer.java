@@ -0,0 +1,41 @@
+package com.rut.booking.outbox;
+
+import com.rut.booking.models.entities.OutboxEvent;
+import com.rut.booking.models.enums.OutboxEventType;
+import com.rut.booking.search.RoomSearchService;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the Elasticsearch room index in step with room and review changes.
+ */
+@Component
+public class SearchIndexConsumer implements OutboxConsumer {
+
+    private final OutboxService outboxService;
+    private final RoomSearchService roomSearchService;
+
+    public SearchIndexConsumer(OutboxService outboxService, @Lazy RoomSearchService roomSearchService) {
+        this.outboxService = outboxService;
+        this.roomSearchService = roomSearchService;
+    }
+
+    @Override
+    public String getName() {
+        return "search-index";
+    }
+
+    @Override
+    public boolean supports(OutboxEventType eventType) {
+        return eventType == OutboxEventType.ROOM_CHANGED || eventType == OutboxEventType.REVIEW_CHANGED;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        // Review events carry the room they belong to; room events are keyed by the room itself
+        Long roomId = event.getEventType() == OutboxEventType.REVIEW_CHANGED
+                ? outboxService.readPayload(event).path("roomId").asLong()
+                : event.getAggregateId();
+        roomSearchService.reindexRoom(roomId);
+    }
+}
@@ -0,0 +1,58 @@
+package com.rut.booking.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rut.booking.models.entities.OutboxEvent;
+import com.rut.booking.models.enums.OutboxEventType;
+import com.rut.booking.notifications.NotificationMessage;
+import com.rut.booking.notifications.NotificationTransport;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells a teacher which of their bookings a bulk admin operation rejected or cancelled.
+ */
+@Component
+public class TeacherNoticeConsumer implements OutboxConsumer {
+
+    private final OutboxService outboxService;
+    private final NotificationTransport notificationTransport;
+
+    public TeacherNoticeConsumer(OutboxService outboxService, NotificationTransport notificationTransport) {
+        this.outboxService = outboxService;
+        this.notificationTransport = notificationTransport;
+    }
+
+    @Override
+    public String getName() {
+        return "teacher-notice";
+    }
+
+    @Override
+    public boolean supports(OutboxEventType eventType) {
+        return eventType == OutboxEventType.BOOKINGS_BULK_CHANGED;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        JsonNode payload = outboxService.readPayload(event);
+        boolean rejected = "REJECT".equals(payload.path("action").asText());
+
+        StringBuilder body = new StringBuilder();
+        body.append("Здравствуйте, ").append(payload.path("fullName").asText()).append("!\n\n");
+        body.append(rejected ? "Следующие заявки на бронирование отклонены:\n\n"
+                             : "Следующие бронирования отменены администратором:\n\n");
+        for (JsonNode booking : payload.path("bookings")) {
+            body.append("№").append(booking.path("bookingId").asLong())
+                    .append(", аудитория ").append(booking.path("roomNumber").asText())
+                    .append(", ").append(booking.path("bookingDate").asText())
+                    .append(", ").append(booking.path("timeRange").asText())
+                    .append("\n");
+        }
+        String reason = payload.path("reason").asText("");
+        if (!reason.isEmpty()) {
+            body.append("\nПричина: ").append(reason).append("\n");
+        }
+
+        String subject = rejected ? "Заявки на бронирование отклонены" : "Бронирования отменены";
+        notificationTransport.send(new NotificationMessage(payload.path("email").asText(), subject, body.toString()));
+    }
+}
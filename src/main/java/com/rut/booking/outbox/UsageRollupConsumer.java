@@ -0,0 +1,43 @@
+package com.rut.booking.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rut.booking.models.entities.OutboxEvent;
+import com.rut.booking.models.enums.OutboxEventType;
+import com.rut.booking.services.UtilizationService;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Recomputes the usage rollup of the room and day a booking change touched. The row is rebuilt
+ * from the bookings table rather than adjusted by the change, so redelivery and reordering of
+ * events cannot skew it.
+ */
+@Component
+public class UsageRollupConsumer implements OutboxConsumer {
+
+    private final OutboxService outboxService;
+    private final UtilizationService utilizationService;
+
+    public UsageRollupConsumer(OutboxService outboxService, UtilizationService utilizationService) {
+        this.outboxService = outboxService;
+        this.utilizationService = utilizationService;
+    }
+
+    @Override
+    public String getName() {
+        return "usage-rollup";
+    }
+
+    @Override
+    public boolean supports(OutboxEventType eventType) {
+        return eventType == OutboxEventType.BOOKING_CHANGED;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        JsonNode payload = outboxService.readPayload(event);
+        utilizationService.refreshDay(payload.path("roomId").asLong(),
+                LocalDate.parse(payload.path("bookingDate").asText()));
+    }
+}
@@ -0,0 +1,50 @@
+package com.rut.booking.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rut.booking.models.entities.OutboxEvent;
+import com.rut.booking.models.enums.OutboxEventType;
+import com.rut.booking.notifications.NotificationMessage;
+import com.rut.booking.notifications.NotificationTransport;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells a teacher that a slot they were waiting for has been booked for them.
+ */
+@Component
+public class WaitlistNoticeConsumer implements OutboxConsumer {
+
+    private final OutboxService outboxService;
+    private final NotificationTransport notificationTransport;
+
+    public WaitlistNoticeConsumer(OutboxService outboxService, NotificationTransport notificationTransport) {
+        this.outboxService = outboxService;
+        this.notificationTransport = notificationTransport;
+    }
+
+    @Override
+    public String getName() {
+        return "waitlist-notice";
+    }
+
+    @Override
+    public boolean supports(OutboxEventType eventType) {
+        return eventType == OutboxEventType.WAITLIST_PROMOTED;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        JsonNode payload = outboxService.readPayload(event);
+
+        String body = "Здравствуйте, " + payload.path("fullName").asText() + "!\n\n" +
+                "Освободилось время, которого вы ждали в очереди, и оно забронировано за вами:\n\n" +
+                "№" + payload.path("bookingId").asLong() +
+                ", аудитория " + payload.path("roomNumber").asText() +
+                ", " + payload.path("bookingDate").asText() +
+                ", " + payload.path("timeRange").asText() + "\n\n" +
+                "Подтверждение в PDF доступно в разделе «Мои бронирования». " +
+                "Если аудитория больше не нужна, отмените бронирование там же.\n";
+
+        notificationTransport.send(new NotificationMessage(payload.path("email").asText(),
+                "Бронирование из очереди подтверждено", body));
+    }
+}
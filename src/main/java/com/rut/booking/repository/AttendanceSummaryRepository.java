@@ -0,0 +1,60 @@
+package com.rut.booking.repository;
+
+import com.rut.booking.models.entities.AttendanceSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AttendanceSummaryRepository extends JpaRepository<AttendanceSummary, Long> {
+
+    /**
+     * Adds one chunk's counts to a subject's totals, creating the row on its first booking.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO attendance_summaries (subject_type, subject_id, held_count, reported_empty_count, " +
+                   "cancelled_count, late_cancelled_count, last_booking_date, created_at, updated_at) " +
+                   "VALUES (:subjectType, :subjectId, :held, :reportedEmpty, :cancelled, :lateCancelled, :lastDate, :now, :now) " +
+                   "ON CONFLICT (subject_type, subject_id) DO UPDATE SET " +
+                   "held_count = attendance_summaries.held_count + EXCLUDED.held_count, " +
+                   "reported_empty_count = attendance_summaries.reported_empty_count + EXCLUDED.reported_empty_count, " +
+                   "cancelled_count = attendance_summaries.cancelled_count + EXCLUDED.cancelled_count, " +
+                   "late_cancelled_count = attendance_summaries.late_cancelled_count + EXCLUDED.late_cancelled_count, " +
+                   "last_booking_date = GREATEST(attendance_summaries.last_booking_date, EXCLUDED.last_booking_date), " +
+                   "updated_at = EXCLUDED.updated_at",
+           nativeQuery = true)
+    int addCounts(@Param("subjectType") String subjectType, @Param("subjectId") Long subjectId,
+                  @Param("held") int held, @Param("reportedEmpty") int reportedEmpty,
+                  @Param("cancelled") int cancelled, @Param("lateCancelled") int lateCancelled,
+                  @Param("lastDate") LocalDate lastDate, @Param("now") LocalDateTime now);
+
+    /**
+     * {@code [teacher name, held, reported empty, cancelled, late cancelled]} of the teachers with
+     * the most empty or late-cancelled bookings.
+     */
+    @Query(value = "SELECT CONCAT(u.last_name, ' ', u.first_name), s.held_count, s.reported_empty_count, " +
+                   "s.cancelled_count, s.late_cancelled_count FROM attendance_summaries s " +
+                   "JOIN users u ON u.id = s.subject_id WHERE s.subject_type = 'TEACHER' " +
+                   "AND s.reported_empty_count + s.late_cancelled_count > 0 " +
+                   "ORDER BY s.reported_empty_count + s.late_cancelled_count DESC, u.last_name LIMIT :limit",
+           nativeQuery = true)
+    List<Object[]> findWorstTeachers(@Param("limit") int limit);
+
+    /**
+     * {@code [room number, held, reported empty, cancelled, late cancelled]} of the rooms most
+     * often found empty.
+     */
+    @Query(value = "SELECT r.number, s.held_count, s.reported_empty_count, s.cancelled_count, s.late_cancelled_count " +
+                   "FROM attendance_summaries s JOIN rooms r ON r.id = s.subject_id WHERE s.subject_type = 'ROOM' " +
+                   "AND s.reported_empty_count > 0 " +
+                   "ORDER BY CAST(s.reported_empty_count AS double precision) / GREATEST(s.held_count, 1) DESC, r.number " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<Object[]> findEmptiestRooms(@Param("limit") int limit);
+}
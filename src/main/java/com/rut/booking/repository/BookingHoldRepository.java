@@ -0,0 +1,105 @@
+package com.rut.booking.repository;
+
+import com.rut.booking.models.entities.BookingHold;
+import com.rut.booking.models.enums.ClassPeriod;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BookingHoldRepository extends JpaRepository<BookingHold, Long> {
+
+    /**
+     * Takes or renews the hold on a slot in one statement. Succeeds (returns 1) if the slot has no
+     * hold, another teacher's hold has expired, or the hold belongs to the same teacher and is
+     * younger than {@code maxLeaseSeconds}; returns 0 otherwise. A renewal keeps the time of the
+     * first acquisition and never extends the lease past it plus {@code maxLeaseSeconds}. The unique
+     * slot constraint makes this safe across app nodes.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO booking_holds (room_id, teacher_id, booking_date, class_period, expires_at, created_at) " +
+                   "VALUES (:roomId, :teacherId, :date, :period, :expiresAt, :now) " +
+                   "ON CONFLICT (room_id, booking_date, class_period) DO UPDATE " +
+                   "SET expires_at = CASE WHEN booking_holds.teacher_id = EXCLUDED.teacher_id " +
+                   "THEN LEAST(EXCLUDED.expires_at, booking_holds.created_at + :maxLeaseSeconds * INTERVAL '1 second') " +
+                   "ELSE EXCLUDED.expires_at END, " +
+                   "created_at = CASE WHEN booking_holds.teacher_id = EXCLUDED.teacher_id " +
+                   "THEN booking_holds.created_at ELSE EXCLUDED.created_at END, " +
+                   "teacher_id = EXCLUDED.teacher_id " +
+                   "WHERE (booking_holds.teacher_id = EXCLUDED.teacher_id " +
+                   "AND booking_holds.created_at + :maxLeaseSeconds * INTERVAL '1 second' > :now) " +
+                   "OR (booking_holds.teacher_id <> EXCLUDED.teacher_id AND booking_holds.expires_at <= :now)",
+           nativeQuery = true)
+    int acquire(@Param("roomId") Long roomId, @Param("teacherId") Long teacherId,
+                @Param("date") LocalDate date, @Param("period") String period,
+                @Param("expiresAt") LocalDateTime expiresAt, @Param("now") LocalDateTime now,
+                @Param("maxLeaseSeconds") long maxLeaseSeconds);
+
+    /**
+     * Running holds of a teacher on slots other than the given one.
+     */
+    @Query("SELECT COUNT(h) FROM BookingHold h WHERE h.teacher.id = :teacherId AND h.expiresAt > :now " +
+           "AND NOT (h.room.id = :roomId AND h.bookingDate = :date AND h.classPeriod = :period)")
+    long countOtherActive(@Param("teacherId") Long teacherId, @Param("roomId") Long roomId,
+                          @Param("date") LocalDate date, @Param("period") ClassPeriod period,
+                          @Param("now") LocalDateTime now);
+
+    /**
+     * Teacher holding the slot right now, if any.
+     */
+    @Query("SELECT h.teacher.id FROM BookingHold h WHERE h.room.id = :roomId AND h.bookingDate = :date " +
+           "AND h.classPeriod = :period AND h.expiresAt > :now")
+    List<Long> findHolder(@Param("roomId") Long roomId, @Param("date") LocalDate date,
+                          @Param("period") ClassPeriod period, @Param("now") LocalDateTime now);
+
+    /**
+     * {@code [classPeriod, teacherId]} of the running holds on a room and date.
+     */
+    @Query("SELECT h.classPeriod, h.teacher.id FROM BookingHold h WHERE h.room.id = :roomId " +
+           "AND h.bookingDate = :date AND h.expiresAt > :now")
+    List<Object[]> findActiveOnDate(@Param("roomId") Long roomId, @Param("date") LocalDate date,
+                                    @Param("now") LocalDateTime now);
+
+    /**
+     * {@code [roomId, teacherId]} of the running holds on a slot across all rooms.
+     */
+    @Query("SELECT h.room.id, h.teacher.id FROM BookingHold h WHERE h.bookingDate = :date " +
+           "AND h.classPeriod = :period AND h.expiresAt > :now")
+    List<Object[]> findActiveOnSlot(@Param("date") LocalDate date, @Param("period") ClassPeriod period,
+                                    @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM BookingHold h WHERE h.room.id = :roomId AND h.bookingDate = :date " +
+           "AND h.classPeriod = :period AND h.teacher.id = :teacherId")
+    int release(@Param("roomId") Long roomId, @Param("date") LocalDate date,
+                @Param("period") ClassPeriod period, @Param("teacherId") Long teacherId);
+
+    /**
+     * Removes the given holds unless they were renewed in the meantime.
+     */
+    @Modifying
+    @Query("DELETE FROM BookingHold h WHERE h.id IN :ids AND h.expiresAt <= :now")
+    int deleteExpired(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Catches holds whose node went away before sweeping them.
+     */
+    @Modifying
+    @Query("DELETE FROM BookingHold h WHERE h.expiresAt <= :now")
+    int deleteAllExpired(@Param("now") LocalDateTime now);
+
+    /**
+     * {@code [id, teacherId, expiresAt]} of the hold row on a slot, expired or not.
+     */
+    @Query("SELECT h.id, h.teacher.id, h.expiresAt FROM BookingHold h WHERE h.room.id = :roomId " +
+           "AND h.bookingDate = :date AND h.classPeriod = :period")
+    List<Object[]> findBySlot(@Param("roomId") Long roomId, @Param("date") LocalDate date,
+                              @Param("period") ClassPeriod period);
+}
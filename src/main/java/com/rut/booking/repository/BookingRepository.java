@@ -1,15 +1,23 @@
 package com.rut.booking.repository;
 
 import com.rut.booking.models.entities.Booking;
+import com.rut.booking.models.entities.User;
 import com.rut.booking.models.enums.BookingStatus;
 import com.rut.booking.models.enums.ClassPeriod;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
@@ -57,9 +65,38 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
                                   @Param("startDate") LocalDate startDate,
                                   @Param("endDate") LocalDate endDate);
 
+    /**
+     * Same filters as {@link #findWithFilters} as flat rows for export:
+     * {@code [id, teacher last name, first name, email, room number, date, period, purpose, status, created at]}.
+     * Read through a cursor; the caller must consume it inside a transaction and close it.
+     */
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT b.id, t.lastName, t.firstName, t.email, r.number, b.bookingDate, b.classPeriod, b.purpose, " +
+           "b.status, b.createdAt FROM Booking b JOIN b.teacher t JOIN b.room r WHERE " +
+            "(:status IS NULL OR b.status = :status) AND " +
+            "(:roomId IS NULL OR r.id = :roomId) AND " +
+            "(:teacherId IS NULL OR t.id = :teacherId) AND " +
+            "(:startDate IS NULL OR b.bookingDate >= :startDate) AND " +
+            "(:endDate IS NULL OR b.bookingDate <= :endDate) " +
+            "ORDER BY b.createdAt DESC")
+    Stream<Object[]> streamForExport(@Param("status") BookingStatus status,
+                                     @Param("roomId") Long roomId,
+                                     @Param("teacherId") Long teacherId,
+                                     @Param("startDate") LocalDate startDate,
+                                     @Param("endDate") LocalDate endDate);
+
     @Query("SELECT COUNT(b) FROM Booking b WHERE b.status = :status")
     Long countByStatus(@Param("status") BookingStatus status);
 
+    /**
+     * Booking counts as {@code [status, count]} rows; statuses without bookings are absent.
+     */
+    @Query("SELECT b.status, COUNT(b) FROM Booking b GROUP BY b.status")
+    List<Object[]> countGroupedByStatus();
+
     @Query("SELECT b FROM Booking b ORDER BY b.createdAt DESC")
     List<Booking> findAllOrderByCreatedAtDesc();
 
@@ -67,4 +104,102 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     boolean isRoomBookedForPeriod(@Param("roomId") Long roomId,
                                   @Param("date") LocalDate date,
                                   @Param("period") ClassPeriod period);
+
+    /**
+     * Room numbers on one floor with the status of their booking for a slot; used by the plan overlay.
+     */
+    @Query("SELECT b.room.number, b.status FROM Booking b WHERE b.room.building = :building AND b.room.floor = :floor " +
+           "AND b.bookingDate = :date AND b.classPeriod = :period AND b.status IN ('APPROVED', 'PENDING', 'CREATED')")
+    List<Object[]> findRoomStatusesOnFloor(@Param("building") String building,
+                                           @Param("floor") Integer floor,
+                                           @Param("date") LocalDate date,
+                                           @Param("period") ClassPeriod period);
+
+    /**
+     * {@code [roomId, classPeriod]} of every active booking on a date; the input for occupancy masks.
+     */
+    @Query("SELECT b.room.id, b.classPeriod FROM Booking b WHERE b.bookingDate = :date " +
+           "AND b.status IN ('APPROVED', 'PENDING', 'CREATED')")
+    List<Object[]> findBookedPeriodsOnDate(@Param("date") LocalDate date);
+
+    /**
+     * {@code [roomId, bookingDate, classPeriod]} of every active booking in a date range.
+     */
+    @Query("SELECT b.room.id, b.bookingDate, b.classPeriod FROM Booking b " +
+           "WHERE b.bookingDate BETWEEN :startDate AND :endDate " +
+           "AND b.status IN ('APPROVED', 'PENDING', 'CREATED')")
+    List<Object[]> findBookedPeriodsBetween(@Param("startDate") LocalDate startDate,
+                                            @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT b.classPeriod FROM Booking b WHERE b.room.id = :roomId AND b.bookingDate = :date " +
+           "AND b.status IN ('APPROVED', 'PENDING', 'CREATED')")
+    List<ClassPeriod> findBookedPeriods(@Param("roomId") Long roomId, @Param("date") LocalDate date);
+
+    /**
+     * Active bookings inside an area and date range; null filters match everything.
+     */
+    @Query("SELECT b FROM Booking b JOIN FETCH b.room r JOIN FETCH b.teacher " +
+           "WHERE b.status IN ('APPROVED', 'PENDING', 'CREATED') " +
+           "AND b.bookingDate BETWEEN :startDate AND :endDate AND b.classPeriod IN :periods " +
+           "AND (:roomId IS NULL OR r.id = :roomId) " +
+           "AND (:building IS NULL OR r.building = :building) " +
+           "AND (:floor IS NULL OR r.floor = :floor) " +
+           "ORDER BY b.bookingDate, b.startTime, r.number")
+    List<Booking> findActiveInArea(@Param("startDate") LocalDate startDate,
+                                   @Param("endDate") LocalDate endDate,
+                                   @Param("periods") Collection<ClassPeriod> periods,
+                                   @Param("roomId") Long roomId,
+                                   @Param("building") String building,
+                                   @Param("floor") Integer floor);
+
+    /**
+     * Next chunk after a {@code (bookingDate, id)} watermark, up to a cutoff date, as
+     * {@code [id, teacher id, room id, booking date, start time, status, processed at, processed by id,
+     * reported empty at]} rows.
+     */
+    @Query("SELECT b.id, b.teacher.id, b.room.id, b.bookingDate, b.startTime, b.status, b.processedAt, p.id, " +
+           "b.reportedEmptyAt FROM Booking b LEFT JOIN b.processedBy p WHERE b.bookingDate <= :cutoff " +
+           "AND (b.bookingDate > :afterDate OR (b.bookingDate = :afterDate AND b.id > :afterId)) " +
+           "ORDER BY b.bookingDate, b.id")
+    List<Object[]> findAttendanceChunk(@Param("afterDate") LocalDate afterDate,
+                                       @Param("afterId") Long afterId,
+                                       @Param("cutoff") LocalDate cutoff,
+                                       Pageable pageable);
+
+    /**
+     * Bookings matched by a bulk operation as {@code [id, version, status]} rows, without loading entities.
+     */
+    @Query("SELECT b.id, b.version, b.status FROM Booking b WHERE b.status IN :statuses " +
+           "AND b.bookingDate BETWEEN :startDate AND :endDate " +
+           "AND (:roomId IS NULL OR b.room.id = :roomId) " +
+           "AND (:building IS NULL OR b.room.building = :building) " +
+           "AND (:period IS NULL OR b.classPeriod = :period) " +
+           "ORDER BY b.id")
+    List<Object[]> findBulkCandidates(@Param("statuses") Collection<BookingStatus> statuses,
+                                      @Param("startDate") LocalDate startDate,
+                                      @Param("endDate") LocalDate endDate,
+                                      @Param("roomId") Long roomId,
+                                      @Param("building") String building,
+                                      @Param("period") ClassPeriod period);
+
+    /**
+     * Set-based status change with an optimistic check: only rows still at the version and in
+     * one of the statuses seen when they were selected are updated, and their version is bumped.
+     * Returns the ids of exactly the rows this statement changed. Not {@code @Modifying}: the
+     * statement returns rows, so it runs as a query.
+     */
+    @Query(value = "UPDATE bookings SET status = :status, rejection_reason = :reason, processed_by = :processedById, " +
+                   "processed_at = :processedAt, updated_at = :processedAt, version = version + 1 " +
+                   "WHERE id IN (:ids) AND version = :version AND status IN (:fromStatuses) RETURNING id",
+           nativeQuery = true)
+    List<Long> bulkUpdateStatus(@Param("ids") Collection<Long> ids,
+                                @Param("version") long version,
+                                @Param("fromStatuses") Collection<String> fromStatuses,
+                                @Param("status") String status,
+                                @Param("reason") String reason,
+                                @Param("processedById") Long processedById,
+                                @Param("processedAt") LocalDateTime processedAt);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.room JOIN FETCH b.teacher WHERE b.id IN :ids")
+    List<Booking> findAllWithRoomAndTeacher(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,46 @@
+package com.rut.booking.repository;
+
+import com.rut.booking.models.entities.DispatcherNotification;
+import com.rut.booking.models.enums.NotificationStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DispatcherNotificationRepository extends JpaRepository<DispatcherNotification, Long> {
+
+    /**
+     * Recipients whose digest is due: the oldest queued item has waited long enough,
+     * or enough items have piled up to fill a digest.
+     */
+    @Query("SELECT n.recipientEmail FROM DispatcherNotification n " +
+           "WHERE n.status = 'QUEUED' AND n.nextAttemptAt <= :now " +
+           "GROUP BY n.recipientEmail " +
+           "HAVING MIN(n.createdAt) <= :queuedBefore OR COUNT(n) >= :digestSize")
+    List<String> findRecipientsDue(@Param("now") LocalDateTime now,
+                                   @Param("queuedBefore") LocalDateTime queuedBefore,
+                                   @Param("digestSize") long digestSize);
+
+    /**
+     * Locks the recipient's next digest; rows another node is already sending are skipped.
+     */
+    @Query(value = "SELECT * FROM dispatcher_notifications " +
+                   "WHERE status = 'QUEUED' AND recipient_email = :recipient AND next_attempt_at <= :now " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<DispatcherNotification> lockQueued(@Param("recipient") String recipient,
+                                            @Param("now") LocalDateTime now,
+                                            @Param("limit") int limit);
+
+    long countByStatus(NotificationStatus status);
+
+    @Modifying
+    @Query("DELETE FROM DispatcherNotification n WHERE n.status = :status AND n.sentAt < :before")
+    int deleteByStatusAndSentAtBefore(@Param("status") NotificationStatus status,
+                                      @Param("before") LocalDateTime before);
+}
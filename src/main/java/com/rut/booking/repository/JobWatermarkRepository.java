@@ -0,0 +1,30 @@
+package com.rut.booking.repository;
+
+import com.rut.booking.models.entities.JobWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface JobWatermarkRepository extends JpaRepository<JobWatermark, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO job_watermarks (job_name, last_booking_date, last_booking_id, created_at, updated_at) " +
+                   "VALUES (:jobName, :startDate, 0, :now, :now) ON CONFLICT (job_name) DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("jobName") String jobName, @Param("startDate") LocalDate startDate,
+                       @Param("now") LocalDateTime now);
+
+    /**
+     * Locks the job's watermark until commit; a second instance running the same job waits here
+     * and then continues from where the first one stopped.
+     */
+    @Query(value = "SELECT * FROM job_watermarks WHERE job_name = :jobName FOR UPDATE", nativeQuery = true)
+    Optional<JobWatermark> lockByJobName(@Param("jobName") String jobName);
+}
@@ -0,0 +1,54 @@
+package com.rut.booking.repository;
+
+import com.rut.booking.models.entities.OutboxEvent;
+import com.rut.booking.models.enums.OutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Locks the next due events; rows locked by another node are skipped rather than waited for.
+     */
+    @Query(value = "SELECT id FROM outbox_events " +
+                   "WHERE status = 'PENDING' AND available_at <= :now AND (locked_until IS NULL OR locked_until < :now) " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Long> lockNextBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.lockedUntil = :lockedUntil, e.attempts = e.attempts + 1 WHERE e.id IN :ids")
+    int lease(@Param("ids") Collection<Long> ids, @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    List<OutboxEvent> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = :status, e.processedAt = :processedAt, e.lockedUntil = NULL, " +
+           "e.lastError = NULL WHERE e.id = :id")
+    int markProcessed(@Param("id") Long id,
+                      @Param("status") OutboxStatus status,
+                      @Param("processedAt") LocalDateTime processedAt);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = :status, e.availableAt = :availableAt, e.lockedUntil = NULL, " +
+           "e.lastError = :error WHERE e.id = :id")
+    int markFailedAttempt(@Param("id") Long id,
+                          @Param("status") OutboxStatus status,
+                          @Param("availableAt") LocalDateTime availableAt,
+                          @Param("error") String error);
+
+    long countByStatus(OutboxStatus status);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = :status AND e.processedAt < :before")
+    int deleteByStatusAndProcessedAtBefore(@Param("status") OutboxStatus status,
+                                           @Param("before") LocalDateTime before);
+}
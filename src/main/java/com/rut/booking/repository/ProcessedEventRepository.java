@@ -0,0 +1,20 @@
+package com.rut.booking.repository;
+
+import com.rut.booking.models.entities.ProcessedEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ProcessedEventRepository extends JpaRepository<ProcessedEvent, Long> {
+
+    boolean existsByConsumerAndEventId(String consumer, Long eventId);
+
+    @Modifying
+    @Query("DELETE FROM ProcessedEvent p WHERE p.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
@@ -1,13 +1,18 @@
 package com.rut.booking.repository;
 
 import com.rut.booking.models.entities.Review;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
@@ -33,6 +38,12 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     @Query("SELECT AVG(r.rating) FROM Review r WHERE r.room.id = :roomId AND (r.isDeleted = false OR r.isDeleted IS NULL)")
     Double getAverageRatingForRoom(@Param("roomId") Long roomId);
 
+    /**
+     * {@code [roomId, averageRating]} for every room with reviews, in one query.
+     */
+    @Query("SELECT r.room.id, AVG(r.rating) FROM Review r WHERE (r.isDeleted = false OR r.isDeleted IS NULL) GROUP BY r.room.id")
+    List<Object[]> findAverageRatings();
+
     @Query("SELECT r FROM Review r WHERE r.room.id = :roomId AND (r.isDeleted = false OR r.isDeleted IS NULL) ORDER BY " +
             "CASE WHEN :sortBy = 'rating' THEN r.rating END DESC, " +
             "CASE WHEN :sortBy = 'date' THEN r.createdAt END DESC")
@@ -50,5 +61,26 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     @Query("SELECT r FROM Review r WHERE r.issues IS NOT NULL AND r.issues != '' AND (r.isDeleted = false OR r.isDeleted IS NULL) ORDER BY r.createdAt DESC")
     List<Review> findReviewsWithIssues();
 
+    /**
+     * Reviews with reported issues as flat rows for export:
+     * {@code [id, room number, building, author email, rating, issues, marked relevant, created at]}.
+     * Read through a cursor; the caller must consume it inside a transaction and close it.
+     */
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT r.id, room.number, room.building, u.email, r.rating, r.issues, r.issuesMarkedRelevant, r.createdAt " +
+           "FROM Review r JOIN r.room room JOIN r.user u " +
+           "WHERE r.issues IS NOT NULL AND r.issues != '' AND (r.isDeleted = false OR r.isDeleted IS NULL) ORDER BY r.createdAt DESC")
+    Stream<Object[]> streamIssuesForExport();
+
     List<Review> findByIsDeletedTrue();
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Review r SET r.imageThumbPath = :thumbPath WHERE r.id = :id AND r.imagePath = :imagePath")
+    int updateImageThumbPath(@Param("id") Long id,
+                             @Param("imagePath") String imagePath,
+                             @Param("thumbPath") String thumbPath);
 }
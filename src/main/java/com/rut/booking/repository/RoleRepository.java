@@ -2,7 +2,9 @@ package com.rut.booking.repository;
 
 import com.rut.booking.models.entities.Role;
 import com.rut.booking.models.enums.RoleType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -10,6 +12,10 @@ import java.util.Optional;
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
 
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "roles-by-code")
+    })
     Optional<Role> findByCode(RoleType code);
 
     boolean existsByCode(RoleType code);
@@ -0,0 +1,38 @@
+package com.rut.booking.repository;
+
+import com.rut.booking.models.entities.RoomBlackout;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface RoomBlackoutRepository extends JpaRepository<RoomBlackout, Long> {
+
+    /**
+     * Blackouts overlapping the date range; there are few of them, so callers index them in memory.
+     */
+    @Query("SELECT b FROM RoomBlackout b LEFT JOIN FETCH b.room " +
+           "WHERE b.startDate <= :endDate AND b.endDate >= :startDate")
+    List<RoomBlackout> findOverlapping(@Param("startDate") LocalDate startDate,
+                                       @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT b FROM RoomBlackout b LEFT JOIN FETCH b.room WHERE b.endDate >= :date " +
+           "ORDER BY b.startDate, b.id")
+    List<RoomBlackout> findCurrentAndUpcoming(@Param("date") LocalDate date);
+
+    /**
+     * Ends the blackouts opened for an issue: today is no longer covered.
+     */
+    @Modifying
+    @Query("UPDATE RoomBlackout b SET b.endDate = :yesterday WHERE b.roomIssue.id = :issueId AND b.endDate > :yesterday")
+    int endForIssue(@Param("issueId") Long issueId, @Param("yesterday") LocalDate yesterday);
+
+    @Modifying
+    @Query("UPDATE RoomBlackout b SET b.roomIssue = NULL WHERE b.roomIssue.id = :issueId")
+    int detachIssue(@Param("issueId") Long issueId);
+}
@@ -2,8 +2,11 @@ package com.rut.booking.repository;
 
 import com.rut.booking.models.entities.RoomIssue;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -21,4 +24,11 @@ public interface RoomIssueRepository extends JpaRepository<RoomIssue, Long> {
 
     @Query("SELECT ri FROM RoomIssue ri WHERE ri.room.id = :roomId ORDER BY ri.createdAt DESC")
     List<RoomIssue> findByRoomId(Long roomId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE RoomIssue ri SET ri.imageThumbPath = :thumbPath WHERE ri.id = :id AND ri.imagePath = :imagePath")
+    int updateImageThumbPath(@Param("id") Long id,
+                             @Param("imagePath") String imagePath,
+                             @Param("thumbPath") String thumbPath);
 }
@@ -2,10 +2,14 @@ package com.rut.booking.repository;
 
 import com.rut.booking.models.entities.Room;
 import com.rut.booking.models.enums.RoomType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,12 +17,20 @@ import java.util.Optional;
 @Repository
 public interface RoomRepository extends JpaRepository<Room, Long> {
 
+    String DIRECTORY_CACHE_REGION = "room-directory";
+
     Optional<Room> findByNumber(String number);
 
     boolean existsByNumber(String number);
 
     List<Room> findByIsActiveTrue();
 
+    /**
+     * {@code [number, id, building, floor]} of every active room, for resolving imported rows by number.
+     */
+    @Query("SELECT r.number, r.id, r.building, r.floor FROM Room r WHERE r.isActive = true")
+    List<Object[]> findActiveRoomKeys();
+
     List<Room> findByBuildingAndIsActiveTrue(String building);
 
     List<Room> findByFloorAndIsActiveTrue(Integer floor);
@@ -35,12 +47,24 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
             "LOWER(r.description) LIKE LOWER(CONCAT('%', :search, '%'))) AND r.isActive = true")
     List<Room> searchRooms(@Param("search") String search);
 
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = DIRECTORY_CACHE_REGION)
+    })
     @Query("SELECT DISTINCT r.building FROM Room r WHERE r.isActive = true ORDER BY r.building")
     List<String> findAllBuildings();
 
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = DIRECTORY_CACHE_REGION)
+    })
     @Query("SELECT DISTINCT r.floor FROM Room r WHERE r.isActive = true ORDER BY r.floor")
     List<Integer> findAllFloors();
 
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = DIRECTORY_CACHE_REGION)
+    })
     @Query("SELECT DISTINCT r.floor FROM Room r WHERE r.building = :building AND r.isActive = true ORDER BY r.floor")
     List<Integer> findFloorsByBuilding(@Param("building") String building);
 
@@ -48,4 +72,16 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
     List<Room> findSimilarRooms(@Param("roomType") RoomType roomType,
                                 @Param("capacity") Integer capacity,
                                 @Param("excludeId") Long excludeId);
+
+    /**
+     * Records generated image variants, unless the image was replaced in the meantime.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Room r SET r.imageThumbPath = :thumbPath, r.imageDetailPath = :detailPath " +
+           "WHERE r.id = :id AND r.imagePath = :imagePath")
+    int updateImageVariants(@Param("id") Long id,
+                            @Param("imagePath") String imagePath,
+                            @Param("thumbPath") String thumbPath,
+                            @Param("detailPath") String detailPath);
 }
@@ -0,0 +1,78 @@
+package com.rut.booking.repository;
+
+import com.rut.booking.models.entities.RoomUsageDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RoomUsageDailyRepository extends JpaRepository<RoomUsageDaily, Long> {
+
+    // Bit of a 'PERIOD_n' value in the occupancy mask, as in ClassPeriod.getMask()
+    String PERIOD_BIT = "(1 << (CAST(SUBSTRING(b.class_period FROM 8) AS integer) - 1))";
+    String ACTIVE = "b.status IN ('APPROVED', 'PENDING', 'CREATED')";
+    String UPSERT = "ON CONFLICT (room_id, usage_date) DO UPDATE SET period_mask = EXCLUDED.period_mask, " +
+                    "booked_periods = EXCLUDED.booked_periods, updated_at = EXCLUDED.updated_at";
+
+    /**
+     * Recomputes one room and day from its bookings. Idempotent, so a redelivered event is harmless.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO room_usage_daily (room_id, usage_date, period_mask, booked_periods, created_at, updated_at) " +
+                   "SELECT :roomId, :date, COALESCE(BIT_OR(" + PERIOD_BIT + "), 0), COUNT(DISTINCT b.class_period), :now, :now " +
+                   "FROM bookings b WHERE b.room_id = :roomId AND b.booking_date = :date AND " + ACTIVE + " " + UPSERT,
+           nativeQuery = true)
+    int refreshDay(@Param("roomId") Long roomId, @Param("date") LocalDate date, @Param("now") LocalDateTime now);
+
+    /**
+     * Recomputes every room and day of a range that has bookings; see {@link #clearNotRefreshedSince}.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO room_usage_daily (room_id, usage_date, period_mask, booked_periods, created_at, updated_at) " +
+                   "SELECT b.room_id, b.booking_date, BIT_OR(" + PERIOD_BIT + "), COUNT(DISTINCT b.class_period), :now, :now " +
+                   "FROM bookings b WHERE b.booking_date BETWEEN :startDate AND :endDate AND " + ACTIVE + " " +
+                   "GROUP BY b.room_id, b.booking_date " + UPSERT,
+           nativeQuery = true)
+    int refreshRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+                     @Param("now") LocalDateTime now);
+
+    /**
+     * Zeroes the days of a range that {@link #refreshRange} did not touch, i.e. that no longer have bookings.
+     */
+    @Modifying
+    @Query(value = "UPDATE room_usage_daily SET period_mask = 0, booked_periods = 0, updated_at = :now " +
+                   "WHERE usage_date BETWEEN :startDate AND :endDate AND updated_at < :now",
+           nativeQuery = true)
+    int clearNotRefreshedSince(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+                               @Param("now") LocalDateTime now);
+
+    @Query(value = "SELECT MIN(booking_date), MAX(booking_date) FROM bookings", nativeQuery = true)
+    List<Object[]> findBookingDateRange();
+
+    /**
+     * {@code [room id, number, building, floor, booked periods]} of every active room over a range.
+     */
+    @Query(value = "SELECT r.id, r.number, r.building, r.floor, COALESCE(SUM(u.booked_periods), 0) " +
+                   "FROM rooms r LEFT JOIN room_usage_daily u ON u.room_id = r.id " +
+                   "AND u.usage_date BETWEEN :startDate AND :endDate " +
+                   "WHERE r.is_active = true GROUP BY r.id, r.number, r.building, r.floor ORDER BY r.number",
+           nativeQuery = true)
+    List<Object[]> sumByRoom(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * {@code [ISO day of week, period mask, room-days]} over a range; a handful of rows per weekday
+     * that expand into the weekday × period heatmap.
+     */
+    @Query(value = "SELECT CAST(EXTRACT(ISODOW FROM u.usage_date) AS integer), u.period_mask, COUNT(*) " +
+                   "FROM room_usage_daily u JOIN rooms r ON r.id = u.room_id AND r.is_active = true " +
+                   "WHERE u.usage_date BETWEEN :startDate AND :endDate AND u.period_mask <> 0 " +
+                   "GROUP BY 1, 2",
+           nativeQuery = true)
+    List<Object[]> countMasksByWeekday(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
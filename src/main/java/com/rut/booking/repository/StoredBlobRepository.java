@@ -0,0 +1,46 @@
+package com.rut.booking.repository;
+
+import com.rut.booking.models.entities.StoredBlob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StoredBlobRepository extends JpaRepository<StoredBlob, Long> {
+
+    Optional<StoredBlob> findByHash(String hash);
+
+    /**
+     * Registers one more reference to a blob, creating the row on first upload. Runs as a single
+     * statement so concurrent uploads of the same file and the garbage collector serialise on the row.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO stored_blobs (hash, path, size_bytes, reference_count, released_at, created_at) " +
+                   "VALUES (:hash, :path, :sizeBytes, 1, NULL, :now) " +
+                   "ON CONFLICT (hash) DO UPDATE SET reference_count = stored_blobs.reference_count + 1, released_at = NULL",
+           nativeQuery = true)
+    int acquire(@Param("hash") String hash,
+                @Param("path") String path,
+                @Param("sizeBytes") long sizeBytes,
+                @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE StoredBlob b SET b.referenceCount = b.referenceCount - 1, " +
+           "b.releasedAt = CASE WHEN b.referenceCount <= 1 THEN :now ELSE b.releasedAt END " +
+           "WHERE b.path = :path AND b.referenceCount > 0")
+    int release(@Param("path") String path, @Param("now") LocalDateTime now);
+
+    @Query("SELECT b FROM StoredBlob b WHERE b.referenceCount = 0 AND b.releasedAt < :releasedBefore ORDER BY b.releasedAt")
+    List<StoredBlob> findUnreferenced(@Param("releasedBefore") LocalDateTime releasedBefore, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM StoredBlob b WHERE b.id = :id AND b.referenceCount = 0")
+    int deleteIfUnreferenced(@Param("id") Long id);
+}
@@ -19,6 +19,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     List<User> findByIsActiveTrue();
 
+    /**
+     * {@code [lower-case email, id]} of every active user, for resolving imported rows by email.
+     */
+    @Query("SELECT LOWER(u.email), u.id FROM User u WHERE u.isActive = true")
+    List<Object[]> findActiveEmailIds();
+
     @Query("SELECT u FROM User u WHERE u.role.code = :roleType AND u.isActive = true")
     List<User> findByRoleType(@Param("roleType") RoleType roleType);
 
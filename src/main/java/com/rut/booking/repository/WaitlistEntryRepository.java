@@ -0,0 +1,63 @@
+package com.rut.booking.repository;
+
+import com.rut.booking.models.entities.WaitlistEntry;
+import com.rut.booking.models.enums.ClassPeriod;
+import com.rut.booking.models.enums.WaitlistStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    /**
+     * Locks the head of a slot's queue. Entries already locked by a concurrent promotion are
+     * skipped, so the same teacher is never promoted twice.
+     */
+    @Query(value = "SELECT * FROM waitlist_entries WHERE room_id = :roomId AND booking_date = :date " +
+                   "AND class_period = :period AND status = 'WAITING' " +
+                   "ORDER BY priority DESC, created_at, id LIMIT 1 FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    Optional<WaitlistEntry> lockNext(@Param("roomId") Long roomId,
+                                     @Param("date") LocalDate date,
+                                     @Param("period") String period);
+
+    @Query("SELECT CASE WHEN COUNT(w) > 0 THEN true ELSE false END FROM WaitlistEntry w " +
+           "WHERE w.teacher.id = :teacherId AND w.room.id = :roomId AND w.bookingDate = :date " +
+           "AND w.classPeriod = :period AND w.status = 'WAITING'")
+    boolean isWaiting(@Param("teacherId") Long teacherId, @Param("roomId") Long roomId,
+                      @Param("date") LocalDate date, @Param("period") ClassPeriod period);
+
+    @Query("SELECT w FROM WaitlistEntry w JOIN FETCH w.room WHERE w.teacher.id = :teacherId " +
+           "AND w.status = :status ORDER BY w.bookingDate, w.classPeriod")
+    List<WaitlistEntry> findByTeacherAndStatus(@Param("teacherId") Long teacherId,
+                                               @Param("status") WaitlistStatus status);
+
+    /**
+     * Number of waiting entries served before the given one.
+     */
+    @Query("SELECT COUNT(w) FROM WaitlistEntry w WHERE w.room.id = :roomId AND w.bookingDate = :date " +
+           "AND w.classPeriod = :period AND w.status = 'WAITING' " +
+           "AND (w.priority > :priority OR (w.priority = :priority AND (w.createdAt < :createdAt " +
+           "OR (w.createdAt = :createdAt AND w.id < :id))))")
+    long countAhead(@Param("roomId") Long roomId, @Param("date") LocalDate date,
+                    @Param("period") ClassPeriod period, @Param("priority") Integer priority,
+                    @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = 'CANCELLED' WHERE w.status = 'WAITING' " +
+           "AND w.room.id = :roomId AND w.bookingDate = :date AND w.classPeriod = :period")
+    int cancelWaiting(@Param("roomId") Long roomId, @Param("date") LocalDate date,
+                      @Param("period") ClassPeriod period);
+
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = 'EXPIRED' WHERE w.status = 'WAITING' AND w.bookingDate < :date")
+    int expireBefore(@Param("date") LocalDate date);
+}
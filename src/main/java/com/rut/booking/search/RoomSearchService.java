@@ -50,61 +50,76 @@ public class RoomSearchService {
      */
     public void indexRoom(Room room) {
         try {
-            // Get all reviews for this room
-            List<Review> reviews = reviewRepository.findByRoomId(room.getId());
-            // Filter out deleted reviews
-            List<Review> activeReviews = reviews.stream()
-                    .filter(review -> !review.getIsDeleted())
-                    .collect(Collectors.toList());
-            String reviewTexts = activeReviews.stream()
-                    .map(Review::getComment)
-                    .filter(comment -> comment != null && !comment.isEmpty())
-                    .collect(Collectors.joining(" "));
-
-            Double avgRating = reviewRepository.getAverageRatingForRoom(room.getId());
-            Integer reviewCount = activeReviews.size();
-
-            // Build equipment text for searchability with synonyms and variations
-            StringBuilder equipmentText = new StringBuilder();
-            if (Boolean.TRUE.equals(room.getHasProjector())) {
-                equipmentText.append("проектор проекторы projector проэктор проэкторы ");
-                equipmentText.append("мультимедиа multimedia презентация presentation ");
-            }
-            if (Boolean.TRUE.equals(room.getHasComputers())) {
-                equipmentText.append("компьютер компьютеры computer computers компы ");
-                equipmentText.append("ПК PC пк компьютерный компьютерная техника ");
-                equipmentText.append("ноутбук ноутбуки laptop монитор мониторы monitor ");
-            }
-            if (Boolean.TRUE.equals(room.getHasWhiteboard())) {
-                equipmentText.append("доска доски whiteboard board маркер маркеры marker markers ");
-                equipmentText.append("маркерная доска белая доска флипчарт flipchart ");
-            }
-
-            RoomDocument document = RoomDocument.builder()
-                    .id(room.getId().toString())
-                    .number(room.getNumber())
-                    .building(room.getBuilding())
-                    .floor(room.getFloor())
-                    .capacity(room.getCapacity())
-                    .roomType(room.getRoomType().name())
-                    .roomTypeDisplayName(room.getRoomType().getDisplayName())
-                    .description(room.getDescription())
-                    .hasProjector(room.getHasProjector())
-                    .hasComputers(room.getHasComputers())
-                    .hasWhiteboard(room.getHasWhiteboard())
-                    .averageRating(avgRating != null ? avgRating : 0.0)
-                    .reviewCount(reviewCount)
-                    .reviews(reviewTexts)
-                    .equipmentText(equipmentText.toString())
-                    .isActive(room.getIsActive())
-                    .build();
-
-            roomSearchRepository.save(document);
+            roomSearchRepository.save(toDocument(room));
         } catch (Exception e) {
             log.warn("Could not index room {} to Elasticsearch: {}", room.getId(), e.getMessage());
         }
     }
 
+    /**
+     * Re-index a room from the database, removing it if it no longer exists.
+     * Failures propagate so that outbox delivery can retry.
+     */
+    public void reindexRoom(Long roomId) {
+        Room room = roomRepository.findById(roomId).orElse(null);
+        if (room == null) {
+            roomSearchRepository.deleteById(roomId.toString());
+            return;
+        }
+        roomSearchRepository.save(toDocument(room));
+    }
+
+    private RoomDocument toDocument(Room room) {
+        // Get all reviews for this room
+        List<Review> reviews = reviewRepository.findByRoomId(room.getId());
+        // Filter out deleted reviews
+        List<Review> activeReviews = reviews.stream()
+                .filter(review -> !review.getIsDeleted())
+                .collect(Collectors.toList());
+        String reviewTexts = activeReviews.stream()
+                .map(Review::getComment)
+                .filter(comment -> comment != null && !comment.isEmpty())
+                .collect(Collectors.joining(" "));
+
+        Double avgRating = reviewRepository.getAverageRatingForRoom(room.getId());
+        Integer reviewCount = activeReviews.size();
+
+        // Build equipment text for searchability with synonyms and variations
+        StringBuilder equipmentText = new StringBuilder();
+        if (Boolean.TRUE.equals(room.getHasProjector())) {
+            equipmentText.append("проектор проекторы projector проэктор проэкторы ");
+            equipmentText.append("мультимедиа multimedia презентация presentation ");
+        }
+        if (Boolean.TRUE.equals(room.getHasComputers())) {
+            equipmentText.append("компьютер компьютеры computer computers компы ");
+            equipmentText.append("ПК PC пк компьютерный компьютерная техника ");
+            equipmentText.append("ноутбук ноутбуки laptop монитор мониторы monitor ");
+        }
+        if (Boolean.TRUE.equals(room.getHasWhiteboard())) {
+            equipmentText.append("доска доски whiteboard board маркер маркеры marker markers ");
+            equipmentText.append("маркерная доска белая доска флипчарт flipchart ");
+        }
+
+        return RoomDocument.builder()
+                .id(room.getId().toString())
+                .number(room.getNumber())
+                .building(room.getBuilding())
+                .floor(room.getFloor())
+                .capacity(room.getCapacity())
+                .roomType(room.getRoomType().name())
+                .roomTypeDisplayName(room.getRoomType().getDisplayName())
+                .description(room.getDescription())
+                .hasProjector(room.getHasProjector())
+                .hasComputers(room.getHasComputers())
+                .hasWhiteboard(room.getHasWhiteboard())
+                .averageRating(avgRating != null ? avgRating : 0.0)
+                .reviewCount(reviewCount)
+                .reviews(reviewTexts)
+                .equipmentText(equipmentText.toString())
+                .isActive(room.getIsActive())
+                .build();
+    }
+
     /**
      * Search rooms by keyword (searches in number, building, description, and reviews)
      */
@@ -149,18 +164,4 @@ public class RoomSearchService {
             log.warn("Could not delete room {} from Elasticsearch: {}", roomId, e.getMessage());
         }
     }
-
-    /**
-     * Re-index a room when a review is added or updated
-     */
-    public void reindexRoomAfterReview(Long roomId) {
-        try {
-            Room room = roomRepository.findById(roomId).orElse(null);
-            if (room != null) {
-                indexRoom(room);
-            }
-        } catch (Exception e) {
-            log.warn("Could not reindex room {} after review: {}", roomId, e.getMessage());
-        }
-    }
 }
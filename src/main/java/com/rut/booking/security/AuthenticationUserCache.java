@@ -0,0 +1,56 @@
+package com.rut.booking.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rut.booking.services.TransactionHooks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Bounded cache of loaded {@link UserDetails} keyed by email, used by the authentication
+ * provider so repeated logins skip the user/role lookup. Entries must be evicted whenever
+ * a user's password, role or active flag changes.
+ * <p>
+ * Evictions only reach this node. The app assumes a single node; with several, a deactivated
+ * user can still log in elsewhere until {@code app.security.user-cache.ttl} expires.
+ */
+@Component
+public class AuthenticationUserCache implements UserCache {
+
+    private final Cache<String, UserDetails> cache;
+
+    public AuthenticationUserCache(@Value("${app.security.user-cache.max-size:10000}") long maxSize,
+                                   @Value("${app.security.user-cache.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        return cache.getIfPresent(username);
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        cache.put(user.getUsername(), user);
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        cache.invalidate(username);
+    }
+
+    /**
+     * Evicts the user once the current transaction commits, so a concurrent login
+     * cannot re-cache the pre-change row.
+     */
+    public void removeUserFromCacheAfterCommit(String username) {
+        TransactionHooks.afterCommit(() -> removeUserFromCache(username));
+    }
+}
@@ -0,0 +1,61 @@
+package com.rut.booking.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Authenticates requests from the signed auth cookie in stateless mode.
+ * Not a bean on purpose: it is added to the security chain only when the mode is enabled.
+ */
+public class SignedTokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private final SignedTokenService signedTokenService;
+    private final TokenRevocationService tokenRevocationService;
+
+    public SignedTokenAuthenticationFilter(SignedTokenService signedTokenService,
+                                           TokenRevocationService tokenRevocationService) {
+        this.signedTokenService = signedTokenService;
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String token = readToken(request);
+        if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            signedTokenService.verifyToken(token)
+                    .filter(claims -> !tokenRevocationService.isRevoked(claims))
+                    .ifPresent(claims -> {
+                        CustomUserDetails userDetails = new CustomUserDetails(claims.toUser());
+                        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                                userDetails, null, userDetails.getAuthorities());
+                        SecurityContext context = SecurityContextHolder.createEmptyContext();
+                        context.setAuthentication(authentication);
+                        SecurityContextHolder.setContext(context);
+                    });
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    static String readToken(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (SignedTokenCookieHandler.AUTH_COOKIE.equals(cookie.getName())) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,62 @@
+package com.rut.booking.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
+import org.springframework.security.web.authentication.logout.LogoutHandler;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Issues the signed auth cookie after form login and revokes it on logout (stateless mode).
+ */
+@Component
+public class SignedTokenCookieHandler implements AuthenticationSuccessHandler, LogoutHandler {
+
+    public static final String AUTH_COOKIE = "RUT_AUTH";
+
+    private final SignedTokenService signedTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final boolean secureCookie;
+
+    public SignedTokenCookieHandler(SignedTokenService signedTokenService,
+                                    TokenRevocationService tokenRevocationService,
+                                    @Value("${app.security.stateless.secure-cookie:false}") boolean secureCookie) {
+        this.signedTokenService = signedTokenService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.secureCookie = secureCookie;
+    }
+
+    @Override
+    public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response,
+                                        Authentication authentication) throws IOException {
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        String token = signedTokenService.issueToken(userDetails.getUser());
+        writeCookie(response, token, signedTokenService.getTokenTtl());
+        response.sendRedirect(request.getContextPath() + "/");
+    }
+
+    @Override
+    public void logout(HttpServletRequest request, HttpServletResponse response, Authentication authentication) {
+        String token = SignedTokenAuthenticationFilter.readToken(request);
+        signedTokenService.verifyToken(token).ifPresent(tokenRevocationService::revokeToken);
+        writeCookie(response, "", Duration.ZERO);
+    }
+
+    private void writeCookie(HttpServletResponse response, String value, Duration maxAge) {
+        ResponseCookie cookie = ResponseCookie.from(AUTH_COOKIE, value)
+                .httpOnly(true)
+                .secure(secureCookie)
+                .sameSite("Lax")
+                .path("/")
+                .maxAge(maxAge)
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+}
@@ -0,0 +1,191 @@
+package com.rut.booking.security;
+
+import com.rut.booking.models.entities.Role;
+import com.rut.booking.models.entities.User;
+import com.rut.booking.models.enums.RoleType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Issues and verifies HMAC-SHA256 signed authentication tokens for the stateless session mode.
+ * A token carries everything {@link CustomUserDetails} needs, so verifying a request costs one
+ * HMAC and no database or session lookup.
+ */
+@Service
+@Slf4j
+public class SignedTokenService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String FIELD_SEPARATOR = "\u001F";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration tokenTtl;
+
+    public SignedTokenService(@Value("${app.security.stateless.secret:}") String secret,
+                              @Value("${app.security.stateless.token-ttl:8h}") Duration tokenTtl) {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            // Fine for a single node; every node of a fleet must share the same configured secret
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+            log.warn("app.security.stateless.secret is not set, using a random per-process signing key");
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+        this.tokenTtl = tokenTtl;
+    }
+
+    public Duration getTokenTtl() {
+        return tokenTtl;
+    }
+
+    public String issueToken(User user) {
+        Instant now = Instant.now();
+        String payload = String.join(FIELD_SEPARATOR,
+                UUID.randomUUID().toString(),
+                user.getId().toString(),
+                user.getRole().getCode().name(),
+                String.valueOf(now.getEpochSecond()),
+                String.valueOf(now.plus(tokenTtl).getEpochSecond()),
+                user.getEmail(),
+                user.getLastName(),
+                user.getFirstName(),
+                user.getMiddleName() != null ? user.getMiddleName() : "");
+        String encodedPayload = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return encodedPayload + "." + sign(encodedPayload);
+    }
+
+    /**
+     * Returns the token's claims if the signature is valid and the token has not expired.
+     * Revocation is checked separately by {@link TokenRevocationService}.
+     */
+    public Optional<TokenClaims> verifyToken(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return Optional.empty();
+        }
+        String encodedPayload = token.substring(0, dot);
+        String signature = token.substring(dot + 1);
+        if (!verifySignature(encodedPayload, signature)) {
+            return Optional.empty();
+        }
+
+        try {
+            String payload = new String(DECODER.decode(encodedPayload), StandardCharsets.UTF_8);
+            String[] fields = payload.split(FIELD_SEPARATOR, -1);
+            if (fields.length != 9) {
+                return Optional.empty();
+            }
+            TokenClaims claims = new TokenClaims(
+                    fields[0],
+                    Long.parseLong(fields[1]),
+                    RoleType.valueOf(fields[2]),
+                    Long.parseLong(fields[3]),
+                    Long.parseLong(fields[4]),
+                    fields[5], fields[6], fields[7],
+                    fields[8].isEmpty() ? null : fields[8]);
+            if (claims.getExpiresAt() <= Instant.now().getEpochSecond()) {
+                return Optional.empty();
+            }
+            return Optional.of(claims);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    public String sign(String value) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return ENCODER.encodeToString(mac.doFinal(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to sign token: " + e.getMessage(), e);
+        }
+    }
+
+    public boolean verifySignature(String value, String signature) {
+        byte[] expected = sign(value).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = signature.getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+    public static class TokenClaims {
+        private final String tokenId;
+        private final Long userId;
+        private final RoleType role;
+        private final long issuedAt;
+        private final long expiresAt;
+        private final String email;
+        private final String lastName;
+        private final String firstName;
+        private final String middleName;
+
+        TokenClaims(String tokenId, Long userId, RoleType role, long issuedAt, long expiresAt,
+                    String email, String lastName, String firstName, String middleName) {
+            this.tokenId = tokenId;
+            this.userId = userId;
+            this.role = role;
+            this.issuedAt = issuedAt;
+            this.expiresAt = expiresAt;
+            this.email = email;
+            this.lastName = lastName;
+            this.firstName = firstName;
+            this.middleName = middleName;
+        }
+
+        public String getTokenId() {
+            return tokenId;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public RoleType getRole() {
+            return role;
+        }
+
+        public long getIssuedAt() {
+            return issuedAt;
+        }
+
+        public long getExpiresAt() {
+            return expiresAt;
+        }
+
+        /**
+         * Builds a detached user carrying only the token's fields, enough for controllers
+         * and templates that read the principal.
+         */
+        public User toUser() {
+            User user = new User();
+            user.setId(userId);
+            user.setEmail(email);
+            user.setLastName(lastName);
+            user.setFirstName(firstName);
+            user.setMiddleName(middleName);
+            user.setRole(new Role(role));
+            user.setIsActive(true);
+            return user;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.rut.booking.security;
+
+import com.rut.booking.models.entities.TokenRevocation;
+import com.rut.booking.repository.TokenRevocationRepository;
+import com.rut.booking.services.TransactionHooks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Small revocation list for stateless tokens. Revocations are persisted so every node sees
+ * them, and each node keeps an in-memory copy refreshed on a fixed delay, so the per-request
+ * check is two hash lookups. Rows are dropped once the tokens they cover have expired.
+ */
+@Service
+@Slf4j
+public class TokenRevocationService {
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final SignedTokenService signedTokenService;
+    private final boolean statelessEnabled;
+
+    private volatile Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private volatile Map<Long, Long> userNotBefore = new ConcurrentHashMap<>();
+
+    public TokenRevocationService(TokenRevocationRepository tokenRevocationRepository,
+                                  SignedTokenService signedTokenService,
+                                  @Value("${app.security.stateless.enabled:false}") boolean statelessEnabled) {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+        this.signedTokenService = signedTokenService;
+        this.statelessEnabled = statelessEnabled;
+    }
+
+    public boolean isRevoked(SignedTokenService.TokenClaims claims) {
+        if (revokedTokens.containsKey(claims.getTokenId())) {
+            return true;
+        }
+        Long notBefore = userNotBefore.get(claims.getUserId());
+        return notBefore != null && claims.getIssuedAt() <= notBefore;
+    }
+
+    @Transactional
+    public void revokeToken(SignedTokenService.TokenClaims claims) {
+        TokenRevocation revocation = new TokenRevocation();
+        revocation.setTokenId(claims.getTokenId());
+        revocation.setUserId(claims.getUserId());
+        revocation.setRevokedAt(LocalDateTime.now());
+        revocation.setExpiresAt(toLocalDateTime(claims.getExpiresAt()));
+        tokenRevocationRepository.save(revocation);
+
+        TransactionHooks.afterCommit(() -> revokedTokens.put(claims.getTokenId(), claims.getExpiresAt()));
+    }
+
+    /**
+     * Invalidates every token issued to the user so far, e.g. after deactivation or a role change.
+     */
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        TokenRevocation revocation = new TokenRevocation();
+        revocation.setUserId(userId);
+        revocation.setRevokedAt(now);
+        revocation.setExpiresAt(now.plus(signedTokenService.getTokenTtl()));
+        tokenRevocationRepository.save(revocation);
+
+        long revokedAt = toEpochSecond(now);
+        TransactionHooks.afterCommit(() -> userNotBefore.merge(userId, revokedAt, Math::max));
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.stateless.revocation-refresh-ms:30000}")
+    @Transactional
+    public void refresh() {
+        if (!statelessEnabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        tokenRevocationRepository.deleteExpired(now);
+        List<TokenRevocation> active = tokenRevocationRepository.findByExpiresAtAfter(now);
+
+        Map<String, Long> tokens = new ConcurrentHashMap<>();
+        Map<Long, Long> users = new ConcurrentHashMap<>();
+        for (TokenRevocation revocation : active) {
+            if (revocation.getTokenId() != null) {
+                tokens.put(revocation.getTokenId(), toEpochSecond(revocation.getExpiresAt()));
+            } else {
+                users.merge(revocation.getUserId(), toEpochSecond(revocation.getRevokedAt()), Math::max);
+            }
+        }
+        revokedTokens = tokens;
+        userNotBefore = users;
+        log.debug("Loaded {} token and {} user revocations", tokens.size(), users.size());
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochSecond) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,151 @@
+package com.rut.booking.services;
+
+import com.rut.booking.models.entities.JobWatermark;
+import com.rut.booking.models.enums.AttendanceSubject;
+import com.rut.booking.models.enums.BookingStatus;
+import com.rut.booking.repository.AttendanceSummaryRepository;
+import com.rut.booking.repository.BookingRepository;
+import com.rut.booking.repository.JobWatermarkRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Folds past bookings into the per-teacher and per-room {@code attendance_summaries}.
+ * <p>
+ * A booking is counted once its date is older than the window in which dispatchers may still
+ * report it empty, so its outcome can no longer change. The job reads bookings in
+ * {@code (booking_date, id)} order after a watermark, one chunk per transaction: the chunk's
+ * counts and the moved watermark commit together, so an interrupted run resumes with the next
+ * chunk and every booking is read exactly once. The watermark row is locked for the chunk,
+ * which keeps two instances from counting the same bookings.
+ */
+@Component
+@Slf4j
+public class AttendanceJob {
+
+    static final String JOB_NAME = "attendance";
+    private static final int CHUNK_SIZE = 1000;
+
+    private final BookingRepository bookingRepository;
+    private final JobWatermarkRepository jobWatermarkRepository;
+    private final AttendanceSummaryRepository attendanceSummaryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int reportWindowDays;
+    private final Duration lateCancelWindow;
+
+    public AttendanceJob(BookingRepository bookingRepository,
+                         JobWatermarkRepository jobWatermarkRepository,
+                         AttendanceSummaryRepository attendanceSummaryRepository,
+                         TransactionTemplate transactionTemplate,
+                         @Value("${app.attendance.report-window-days:2}") int reportWindowDays,
+                         @Value("${app.attendance.late-cancel-window:24h}") Duration lateCancelWindow) {
+        this.bookingRepository = bookingRepository;
+        this.jobWatermarkRepository = jobWatermarkRepository;
+        this.attendanceSummaryRepository = attendanceSummaryRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.reportWindowDays = reportWindowDays;
+        this.lateCancelWindow = lateCancelWindow;
+    }
+
+    @Scheduled(fixedDelayString = "${app.attendance.job-interval-ms:3600000}")
+    public void run() {
+        LocalDate cutoff = LocalDate.now().minusDays(reportWindowDays + 1L);
+        int processed = 0;
+        Integer read;
+        do {
+            read = transactionTemplate.execute(status -> processChunk(cutoff));
+            processed += read != null ? read : 0;
+        } while (read != null && read == CHUNK_SIZE);
+
+        if (processed > 0) {
+            log.info("Attendance job counted {} booking(s) up to {}", processed, cutoff);
+        }
+    }
+
+    private int processChunk(LocalDate cutoff) {
+        LocalDateTime now = LocalDateTime.now();
+        jobWatermarkRepository.insertIfAbsent(JOB_NAME, LocalDate.EPOCH, now);
+        JobWatermark watermark = jobWatermarkRepository.lockByJobName(JOB_NAME)
+                .orElseThrow(() -> new IllegalStateException("Watermark of job " + JOB_NAME + " is missing"));
+
+        List<Object[]> chunk = bookingRepository.findAttendanceChunk(watermark.getLastBookingDate(),
+                watermark.getLastBookingId(), cutoff, PageRequest.of(0, CHUNK_SIZE));
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Counts> teachers = new HashMap<>();
+        Map<Long, Counts> rooms = new HashMap<>();
+        for (Object[] row : chunk) {
+            LocalDate date = (LocalDate) row[3];
+            BookingStatus status = (BookingStatus) row[5];
+            // Cancellations by staff (bulk actions) are not the teacher's doing
+            boolean selfCancelled = status == BookingStatus.CANCELLED && row[7] == null;
+            if (status != BookingStatus.APPROVED && !selfCancelled) {
+                continue;
+            }
+            boolean reportedEmpty = row[8] != null;
+            boolean lateCancel = status == BookingStatus.CANCELLED
+                    && isLate((LocalDateTime) row[6], date, (LocalTime) row[4]);
+            teachers.computeIfAbsent((Long) row[1], id -> new Counts()).add(status, reportedEmpty, lateCancel, date);
+            rooms.computeIfAbsent((Long) row[2], id -> new Counts()).add(status, reportedEmpty, lateCancel, date);
+        }
+        teachers.forEach((id, counts) -> save(AttendanceSubject.TEACHER, id, counts, now));
+        rooms.forEach((id, counts) -> save(AttendanceSubject.ROOM, id, counts, now));
+
+        Object[] last = chunk.get(chunk.size() - 1);
+        watermark.setLastBookingDate((LocalDate) last[3]);
+        watermark.setLastBookingId((Long) last[0]);
+        watermark.setUpdatedAt(now);
+        jobWatermarkRepository.save(watermark);
+        return chunk.size();
+    }
+
+    /**
+     * Cancelled within the late-cancel window before the class started.
+     */
+    private boolean isLate(LocalDateTime cancelledAt, LocalDate date, LocalTime startTime) {
+        return cancelledAt != null && cancelledAt.isAfter(date.atTime(startTime).minus(lateCancelWindow));
+    }
+
+    private void save(AttendanceSubject subject, Long id, Counts counts, LocalDateTime now) {
+        attendanceSummaryRepository.addCounts(subject.name(), id, counts.held, counts.reportedEmpty,
+                counts.cancelled, counts.lateCancelled, counts.lastDate, now);
+    }
+
+    private static final class Counts {
+        private int held;
+        private int reportedEmpty;
+        private int cancelled;
+        private int lateCancelled;
+        private LocalDate lastDate;
+
+        private void add(BookingStatus status, boolean isReportedEmpty, boolean isLateCancel, LocalDate date) {
+            if (status == BookingStatus.APPROVED) {
+                held++;
+                if (isReportedEmpty) {
+                    reportedEmpty++;
+                }
+            } else {
+                cancelled++;
+                if (isLateCancel) {
+                    lateCancelled++;
+                }
+            }
+            // Rows arrive in date order
+            lastDate = date;
+        }
+    }
+}
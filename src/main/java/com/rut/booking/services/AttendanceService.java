@@ -0,0 +1,103 @@
+package com.rut.booking.services;
+
+import com.rut.booking.dto.AttendanceSummaryDto;
+import com.rut.booking.models.entities.Booking;
+import com.rut.booking.models.enums.BookingStatus;
+import com.rut.booking.models.exceptions.ResourceNotFoundException;
+import com.rut.booking.repository.AttendanceSummaryRepository;
+import com.rut.booking.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Empty-room reports and the attendance summaries built from them by {@link AttendanceJob}.
+ * <p>
+ * A dispatcher may report an approved booking empty from its start until the report window
+ * closes; after that the job counts the booking and its outcome is fixed. Teachers are flagged
+ * as habitual late cancellers once they have both enough late cancellations and a high enough
+ * share of them.
+ */
+@Service
+@Transactional(readOnly = true)
+public class AttendanceService {
+
+    private static final int LIST_LIMIT = 50;
+
+    private final BookingRepository bookingRepository;
+    private final AttendanceSummaryRepository attendanceSummaryRepository;
+    private final UserService userService;
+    private final int reportWindowDays;
+    private final int habitualLateCancels;
+    private final int habitualLateCancelPercent;
+
+    public AttendanceService(BookingRepository bookingRepository,
+                             AttendanceSummaryRepository attendanceSummaryRepository,
+                             UserService userService,
+                             @Value("${app.attendance.report-window-days:2}") int reportWindowDays,
+                             @Value("${app.attendance.habitual-late-cancels:3}") int habitualLateCancels,
+                             @Value("${app.attendance.habitual-late-cancel-percent:20}") int habitualLateCancelPercent) {
+        this.bookingRepository = bookingRepository;
+        this.attendanceSummaryRepository = attendanceSummaryRepository;
+        this.userService = userService;
+        this.reportWindowDays = reportWindowDays;
+        this.habitualLateCancels = habitualLateCancels;
+        this.habitualLateCancelPercent = habitualLateCancelPercent;
+    }
+
+    @Transactional
+    public void reportEmpty(Long bookingId, Long reportedByUserId) {
+        Booking booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking", bookingId));
+        if (booking.getStatus() != BookingStatus.APPROVED) {
+            throw new IllegalStateException("Only approved bookings can be reported empty");
+        }
+        if (booking.getReportedEmptyAt() != null) {
+            throw new IllegalStateException("Booking is already reported empty");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (booking.getBookingDate().atTime(booking.getStartTime()).isAfter(now)) {
+            throw new IllegalStateException("The class has not started yet");
+        }
+        if (booking.getBookingDate().isBefore(LocalDate.now().minusDays(reportWindowDays))) {
+            throw new IllegalStateException("Bookings can only be reported empty within " + reportWindowDays + " day(s)");
+        }
+
+        booking.setReportedEmptyAt(now);
+        booking.setReportedEmptyBy(userService.findById(reportedByUserId));
+        bookingRepository.save(booking);
+    }
+
+    /**
+     * Teachers with the most empty or late-cancelled bookings, habitual late cancellers flagged.
+     */
+    public List<AttendanceSummaryDto> getTeacherSummaries() {
+        List<AttendanceSummaryDto> teachers = toDtos(attendanceSummaryRepository.findWorstTeachers(LIST_LIMIT));
+        for (AttendanceSummaryDto teacher : teachers) {
+            teacher.setFlagged(teacher.getLateCancelledCount() >= habitualLateCancels
+                    && teacher.getLateCancelPercent() >= habitualLateCancelPercent);
+        }
+        return teachers;
+    }
+
+    /**
+     * Rooms most often found empty, by share of held bookings.
+     */
+    public List<AttendanceSummaryDto> getRoomSummaries() {
+        return toDtos(attendanceSummaryRepository.findEmptiestRooms(LIST_LIMIT));
+    }
+
+    private static List<AttendanceSummaryDto> toDtos(List<Object[]> rows) {
+        List<AttendanceSummaryDto> dtos = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            dtos.add(new AttendanceSummaryDto((String) row[0], ((Number) row[1]).intValue(),
+                    ((Number) row[2]).intValue(), ((Number) row[3]).intValue(), ((Number) row[4]).intValue()));
+        }
+        return dtos;
+    }
+}
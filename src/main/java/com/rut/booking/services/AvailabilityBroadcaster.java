@@ -0,0 +1,205 @@
+package com.rut.booking.services;
+
+import com.rut.booking.events.BlackoutChangedEvent;
+import com.rut.booking.events.BookingChangedEvent;
+import com.rut.booking.events.HoldChangedEvent;
+import com.rut.booking.models.enums.ClassPeriod;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes room availability for a date to subscribed browsers over Server-Sent Events.
+ * <p>
+ * Idle subscriptions are async servlet requests and hold no thread. Committed booking changes
+ * only mark a room/date as dirty; a short periodic flush computes availability once per dirty
+ * room/date and fans it out, so a burst of bookings results in a single message per subscriber.
+ * <p>
+ * Sends run on virtual threads, so two flushes for the same room/date may reach a subscriber in
+ * any order. Every payload carries a sequence number taken before it is computed; sends to one
+ * subscriber are serialised and a payload older than the last one sent is dropped.
+ */
+@Service
+public class AvailabilityBroadcaster {
+
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+
+    private final RoomService roomService;
+    private final BookingHoldService bookingHoldService;
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Set<String> dirtyKeys = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    // A slow client must not hold up the others; virtual threads make a task per send cheap
+    private final ExecutorService sendExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public AvailabilityBroadcaster(RoomService roomService, BookingHoldService bookingHoldService) {
+        this.roomService = roomService;
+        this.bookingHoldService = bookingHoldService;
+    }
+
+    public SseEmitter subscribe(Long roomId, LocalDate date) {
+        String key = key(roomId, date);
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        Subscriber subscriber = new Subscriber(emitter);
+        subscribers.computeIfAbsent(key, k -> new CopyOnWriteArraySet<>()).add(subscriber);
+
+        Runnable unsubscribe = () -> unsubscribe(key, subscriber);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+
+        // Initial state, so the client does not need a separate request
+        long seq = sequence.incrementAndGet();
+        send(subscriber, key, seq, availability(roomId, date));
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        String key = key(event.getRoomId(), event.getBookingDate());
+        if (subscribers.containsKey(key)) {
+            dirtyKeys.add(key);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onHoldChanged(HoldChangedEvent event) {
+        String key = key(event.getRoomId(), event.getBookingDate());
+        if (subscribers.containsKey(key)) {
+            dirtyKeys.add(key);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBlackoutChanged(BlackoutChangedEvent event) {
+        String key = key(event.getRoomId(), event.getBookingDate());
+        if (subscribers.containsKey(key)) {
+            dirtyKeys.add(key);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.availability-stream.flush-ms:250}")
+    public void flush() {
+        Iterator<String> iterator = dirtyKeys.iterator();
+        while (iterator.hasNext()) {
+            String key = iterator.next();
+            iterator.remove();
+
+            Set<Subscriber> keySubscribers = subscribers.get(key);
+            if (keySubscribers == null || keySubscribers.isEmpty()) {
+                continue;
+            }
+            String[] parts = key.split(":");
+            long seq = sequence.incrementAndGet();
+            Map<String, Object> payload = availability(Long.valueOf(parts[0]), LocalDate.parse(parts[1]));
+            for (Subscriber subscriber : keySubscribers) {
+                sendExecutor.execute(() -> send(subscriber, key, seq, payload));
+            }
+        }
+    }
+
+    /**
+     * Comment line that keeps proxies from closing idle streams and detects gone clients.
+     */
+    @Scheduled(fixedDelayString = "${app.availability-stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribers.forEach((key, keySubscribers) -> {
+            for (Subscriber subscriber : keySubscribers) {
+                sendExecutor.execute(() -> {
+                    subscriber.lock.lock();
+                    try {
+                        subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+                    } catch (IOException | IllegalStateException e) {
+                        unsubscribe(key, subscriber);
+                    } finally {
+                        subscriber.lock.unlock();
+                    }
+                });
+            }
+        });
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private Map<String, Object> availability(Long roomId, LocalDate date) {
+        List<String> periods = roomService.getAvailablePeriods(roomId, date).stream()
+                .map(ClassPeriod::name)
+                .toList();
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("roomId", roomId);
+        payload.put("date", date.toString());
+        payload.put("availablePeriods", periods);
+        // Held by anyone; each client keeps the period it holds itself
+        payload.put("heldPeriods", bookingHoldService.getHeldPeriods(roomId, date, null).stream()
+                .map(ClassPeriod::name)
+                .toList());
+        return payload;
+    }
+
+    private void send(Subscriber subscriber, String key, long seq, Map<String, Object> payload) {
+        subscriber.lock.lock();
+        try {
+            if (seq <= subscriber.lastSequence) {
+                // A newer state already went out
+                return;
+            }
+            subscriber.emitter.send(SseEmitter.event().name("availability").data(payload, MediaType.APPLICATION_JSON));
+            subscriber.lastSequence = seq;
+        } catch (IOException | IllegalStateException e) {
+            unsubscribe(key, subscriber);
+        } finally {
+            subscriber.lock.unlock();
+        }
+    }
+
+    private void unsubscribe(String key, Subscriber subscriber) {
+        subscribers.computeIfPresent(key, (k, keySubscribers) -> {
+            keySubscribers.remove(subscriber);
+            return keySubscribers.isEmpty() ? null : keySubscribers;
+        });
+    }
+
+    private String key(Long roomId, LocalDate date) {
+        return roomId + ":" + date;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(keySubscribers -> keySubscribers.forEach(s -> s.emitter.complete()));
+        sendExecutor.shutdown();
+    }
+
+    /**
+     * One open stream. The lock (not {@code synchronized}, which would pin a virtual thread during
+     * the blocking write) keeps sends to it in order.
+     */
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final ReentrantLock lock = new ReentrantLock();
+        private long lastSequence;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
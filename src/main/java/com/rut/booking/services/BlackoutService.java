@@ -0,0 +1,171 @@
+package com.rut.booking.services;
+
+import com.rut.booking.dto.BlackoutResultDto;
+import com.rut.booking.dto.BookingDto;
+import com.rut.booking.dto.DtoMapper;
+import com.rut.booking.dto.RoomBlackoutDto;
+import com.rut.booking.events.BlackoutChangedEvent;
+import com.rut.booking.models.entities.Room;
+import com.rut.booking.models.entities.RoomBlackout;
+import com.rut.booking.models.entities.RoomIssue;
+import com.rut.booking.models.enums.BlackoutScope;
+import com.rut.booking.models.enums.ClassPeriod;
+import com.rut.booking.models.exceptions.ResourceNotFoundException;
+import com.rut.booking.repository.BookingRepository;
+import com.rut.booking.repository.RoomBlackoutRepository;
+import com.rut.booking.repository.RoomIssueRepository;
+import com.rut.booking.repository.RoomRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Maintenance blackouts for a room, a floor or a building. Existing bookings are not touched;
+ * creating a blackout reports the ones it overlaps so the admin can reject or move them.
+ * Creating or deleting one publishes a {@link BlackoutChangedEvent} per affected room and
+ * remaining day, so open availability streams refresh after the commit.
+ */
+@Service
+@Transactional(readOnly = true)
+public class BlackoutService {
+
+    private final RoomBlackoutRepository roomBlackoutRepository;
+    private final BookingRepository bookingRepository;
+    private final RoomIssueRepository roomIssueRepository;
+    private final RoomRepository roomRepository;
+    private final RoomService roomService;
+    private final UserService userService;
+    private final DtoMapper dtoMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public BlackoutService(RoomBlackoutRepository roomBlackoutRepository, BookingRepository bookingRepository,
+                           RoomIssueRepository roomIssueRepository, RoomRepository roomRepository,
+                           RoomService roomService, UserService userService, DtoMapper dtoMapper,
+                           ApplicationEventPublisher eventPublisher) {
+        this.roomBlackoutRepository = roomBlackoutRepository;
+        this.bookingRepository = bookingRepository;
+        this.roomIssueRepository = roomIssueRepository;
+        this.roomRepository = roomRepository;
+        this.roomService = roomService;
+        this.userService = userService;
+        this.dtoMapper = dtoMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public List<RoomBlackoutDto> getCurrentAndUpcoming() {
+        return roomBlackoutRepository.findCurrentAndUpcoming(LocalDate.now()).stream()
+                .map(dtoMapper::toRoomBlackoutDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @param periods periods closed on each day; empty or null closes the whole day
+     */
+    @Transactional
+    public BlackoutResultDto createBlackout(BlackoutScope scope, Long roomId, String building, Integer floor,
+                                            LocalDate startDate, LocalDate endDate, List<ClassPeriod> periods,
+                                            String reason, Long roomIssueId, Long userId) {
+        if (scope == null || startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("Scope and a valid date range are required");
+        }
+
+        RoomBlackout blackout = new RoomBlackout();
+        blackout.setScope(scope);
+        blackout.setStartDate(startDate);
+        blackout.setEndDate(endDate);
+        blackout.setReason(reason);
+        blackout.setCreatedBy(userService.findById(userId));
+
+        RoomIssue issue = null;
+        if (roomIssueId != null) {
+            issue = roomIssueRepository.findById(roomIssueId)
+                    .orElseThrow(() -> new ResourceNotFoundException("RoomIssue", roomIssueId));
+            blackout.setRoomIssue(issue);
+        }
+
+        switch (scope) {
+            case ROOM -> {
+                Long targetRoomId = roomId != null ? roomId : (issue != null ? issue.getRoom().getId() : null);
+                if (targetRoomId == null) {
+                    throw new IllegalArgumentException("A room is required for a room blackout");
+                }
+                blackout.setRoom(roomService.findById(targetRoomId));
+            }
+            case FLOOR -> {
+                if (!StringUtils.hasText(building) || floor == null) {
+                    throw new IllegalArgumentException("Building and floor are required for a floor blackout");
+                }
+                blackout.setBuilding(building.trim());
+                blackout.setFloor(floor);
+            }
+            case BUILDING -> {
+                if (!StringUtils.hasText(building)) {
+                    throw new IllegalArgumentException("A building is required for a building blackout");
+                }
+                blackout.setBuilding(building.trim());
+            }
+        }
+
+        List<ClassPeriod> closedPeriods = periods == null || periods.isEmpty()
+                ? Arrays.asList(ClassPeriod.values())
+                : periods;
+        blackout.setPeriodMask(ClassPeriod.maskOf(closedPeriods));
+        blackout = roomBlackoutRepository.save(blackout);
+        publishAvailabilityChanged(blackout);
+
+        Room room = blackout.getRoom();
+        List<BookingDto> affected = bookingRepository.findActiveInArea(startDate, endDate, closedPeriods,
+                        room != null ? room.getId() : null, blackout.getBuilding(), blackout.getFloor())
+                .stream()
+                .map(dtoMapper::toBookingDto)
+                .collect(Collectors.toList());
+
+        return new BlackoutResultDto(dtoMapper.toRoomBlackoutDto(blackout), affected);
+    }
+
+    @Transactional
+    public void deleteBlackout(Long blackoutId) {
+        RoomBlackout blackout = roomBlackoutRepository.findById(blackoutId)
+                .orElseThrow(() -> new ResourceNotFoundException("RoomBlackout", blackoutId));
+        roomBlackoutRepository.delete(blackout);
+        publishAvailabilityChanged(blackout);
+    }
+
+    private void publishAvailabilityChanged(RoomBlackout blackout) {
+        List<Room> rooms = switch (blackout.getScope()) {
+            case ROOM -> List.of(blackout.getRoom());
+            case FLOOR -> roomRepository.findByBuildingAndFloorAndIsActiveTrue(blackout.getBuilding(), blackout.getFloor());
+            case BUILDING -> roomRepository.findByBuildingAndIsActiveTrue(blackout.getBuilding());
+        };
+        // Nobody watches availability of past days
+        LocalDate today = LocalDate.now();
+        LocalDate from = blackout.getStartDate().isBefore(today) ? today : blackout.getStartDate();
+        for (LocalDate day = from; !day.isAfter(blackout.getEndDate()); day = day.plusDays(1)) {
+            for (Room room : rooms) {
+                eventPublisher.publishEvent(new BlackoutChangedEvent(room.getId(), day));
+            }
+        }
+    }
+
+    /**
+     * Reopens rooms closed for an issue from today on.
+     */
+    @Transactional
+    public int endBlackoutsForIssue(Long roomIssueId) {
+        return roomBlackoutRepository.endForIssue(roomIssueId, LocalDate.now().minusDays(1));
+    }
+
+    /**
+     * Keeps blackouts of a deleted issue in place but drops the link to it.
+     */
+    @Transactional
+    public void detachIssue(Long roomIssueId) {
+        roomBlackoutRepository.detachIssue(roomIssueId);
+    }
+}
@@ -0,0 +1,75 @@
+package com.rut.booking.services;
+
+import com.rut.booking.models.entities.StoredBlob;
+import com.rut.booking.repository.StoredBlobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Removes content-addressed uploads that nothing has referenced for a grace period.
+ * The grace period covers requests that are still rendering pages with the old path.
+ */
+@Component
+@Slf4j
+public class BlobGarbageCollector {
+
+    private static final int BATCH_SIZE = 100;
+
+    private final StoredBlobRepository storedBlobRepository;
+    private final ImageStorageService imageStorageService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration gracePeriod;
+
+    public BlobGarbageCollector(StoredBlobRepository storedBlobRepository,
+                                ImageStorageService imageStorageService,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${app.images.gc-grace-period:24h}") Duration gracePeriod) {
+        this.storedBlobRepository = storedBlobRepository;
+        this.imageStorageService = imageStorageService;
+        this.transactionTemplate = transactionTemplate;
+        this.gracePeriod = gracePeriod;
+    }
+
+    @Scheduled(fixedDelayString = "${app.images.gc-interval-ms:3600000}", initialDelayString = "${app.images.gc-interval-ms:3600000}")
+    public void collect() {
+        LocalDateTime releasedBefore = LocalDateTime.now().minus(gracePeriod);
+        int removed = 0;
+
+        List<StoredBlob> candidates;
+        do {
+            candidates = storedBlobRepository.findUnreferenced(releasedBefore, PageRequest.of(0, BATCH_SIZE));
+            for (StoredBlob blob : candidates) {
+                if (removeIfUnreferenced(blob)) {
+                    removed++;
+                }
+            }
+        } while (candidates.size() == BATCH_SIZE);
+
+        if (removed > 0) {
+            log.info("Blob GC removed {} unreferenced upload(s)", removed);
+        }
+    }
+
+    /**
+     * Deletes the row and then the files inside one transaction. A concurrent upload of the same
+     * content blocks on the row lock until this commits, so it always re-creates the file afterwards.
+     */
+    private boolean removeIfUnreferenced(StoredBlob blob) {
+        Boolean removed = transactionTemplate.execute(status -> {
+            if (storedBlobRepository.deleteIfUnreferenced(blob.getId()) == 0) {
+                return false;
+            }
+            imageStorageService.deleteFiles(blob.getPath());
+            return true;
+        });
+        return Boolean.TRUE.equals(removed);
+    }
+}
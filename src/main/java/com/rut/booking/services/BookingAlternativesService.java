@@ -0,0 +1,129 @@
+package com.rut.booking.services;
+
+import com.rut.booking.dto.BookingAlternativeDto;
+import com.rut.booking.dto.RoomRecommendationDto;
+import com.rut.booking.models.entities.Room;
+import com.rut.booking.models.enums.AlternativeType;
+import com.rut.booking.models.enums.ClassPeriod;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds free slots near one that is taken, so a conflict can offer something to book instead
+ * of a bare error. Every candidate is checked against one occupancy snapshot covering the
+ * requested day and the days around it.
+ * <p>
+ * Alternatives are listed in this order: the same room at the nearest free periods of the
+ * same day, similar free rooms in the same building at the same period, then the same room
+ * and period on the nearest free days. Periods of today that have ended and slots another
+ * teacher is holding are never offered, and other rooms must seat at least as many people as
+ * the requested one.
+ */
+@Service
+@Transactional(readOnly = true)
+public class BookingAlternativesService {
+
+    private static final int PERIOD_ALTERNATIVES = 2;
+    private static final int ROOM_ALTERNATIVES = 3;
+    private static final int DAY_ALTERNATIVES = 2;
+    private static final int DAY_RANGE = 3;
+
+    private final OccupancyService occupancyService;
+    private final RecommendationService recommendationService;
+    private final BookingHoldService bookingHoldService;
+
+    public BookingAlternativesService(OccupancyService occupancyService,
+                                      RecommendationService recommendationService,
+                                      BookingHoldService bookingHoldService) {
+        this.occupancyService = occupancyService;
+        this.recommendationService = recommendationService;
+        this.bookingHoldService = bookingHoldService;
+    }
+
+    /**
+     * @param teacherId the teacher asking; their own holds do not block a suggestion
+     */
+    public List<BookingAlternativeDto> findAlternatives(Room room, LocalDate date, ClassPeriod period, Long teacherId) {
+        LocalDate today = LocalDate.now();
+        LocalDate startDate = date.minusDays(DAY_RANGE).isBefore(today) ? today : date.minusDays(DAY_RANGE);
+        if (startDate.isAfter(date)) {
+            // Requested day is already in the past; nothing sensible to offer
+            return List.of();
+        }
+        Map<LocalDate, OccupancyService.DayOccupancy> occupancy =
+                occupancyService.getOccupancy(startDate, date.plusDays(DAY_RANGE));
+        OccupancyService.DayOccupancy sameDay = occupancy.get(date);
+
+        List<BookingAlternativeDto> alternatives = new ArrayList<>();
+
+        // Same room, nearest periods on the same day (earlier one first on a tie)
+        int roomMask = sameDay.maskFor(room)
+                | ClassPeriod.maskOf(bookingHoldService.getHeldPeriods(room.getId(), date, teacherId))
+                | elapsedMask(date);
+        ClassPeriod[] periods = ClassPeriod.values();
+        int index = period.ordinal();
+        int found = 0;
+        for (int distance = 1; distance < periods.length && found < PERIOD_ALTERNATIVES; distance++) {
+            for (int candidate : new int[]{index - distance, index + distance}) {
+                if (candidate >= 0 && candidate < periods.length && found < PERIOD_ALTERNATIVES
+                        && (roomMask & periods[candidate].getMask()) == 0) {
+                    alternatives.add(new BookingAlternativeDto(AlternativeType.SAME_ROOM_OTHER_PERIOD,
+                            room.getId(), room.getNumber(), date, periods[candidate]));
+                    found++;
+                }
+            }
+        }
+
+        // Similar rooms in the same building, same slot, big enough for the same group
+        if ((elapsedMask(date) & period.getMask()) == 0) {
+            int minCapacity = room.getCapacity() != null ? room.getCapacity() : 0;
+            for (RoomRecommendationDto similar : recommendationService.findFreeSimilar(room, sameDay, period,
+                    room.getBuilding(), minCapacity, bookingHoldService.getHeldRooms(date, period, teacherId),
+                    ROOM_ALTERNATIVES)) {
+                alternatives.add(new BookingAlternativeDto(AlternativeType.OTHER_ROOM,
+                        similar.getRoomId(), similar.getNumber(), date, period));
+            }
+        }
+
+        // Same room and period, nearest days (earlier one first on a tie, no Sundays)
+        found = 0;
+        for (int distance = 1; distance <= DAY_RANGE && found < DAY_ALTERNATIVES; distance++) {
+            for (LocalDate candidate : new LocalDate[]{date.minusDays(distance), date.plusDays(distance)}) {
+                OccupancyService.DayOccupancy day = occupancy.get(candidate);
+                if (day != null && found < DAY_ALTERNATIVES && candidate.getDayOfWeek() != DayOfWeek.SUNDAY
+                        && day.isFree(room, period) && (elapsedMask(candidate) & period.getMask()) == 0
+                        && !bookingHoldService.getHeldPeriods(room.getId(), candidate, teacherId).contains(period)) {
+                    alternatives.add(new BookingAlternativeDto(AlternativeType.SAME_ROOM_OTHER_DAY,
+                            room.getId(), room.getNumber(), candidate, period));
+                    found++;
+                }
+            }
+        }
+
+        return alternatives;
+    }
+
+    /**
+     * Periods of {@code date} that have already ended; none unless it is today.
+     */
+    private int elapsedMask(LocalDate date) {
+        if (!date.equals(LocalDate.now())) {
+            return 0;
+        }
+        LocalTime now = LocalTime.now();
+        int mask = 0;
+        for (ClassPeriod candidate : ClassPeriod.values()) {
+            if (candidate.getEndTime().isBefore(now)) {
+                mask |= candidate.getMask();
+            }
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,228 @@
+package com.rut.booking.services;
+
+import com.rut.booking.dto.BookingHoldDto;
+import com.rut.booking.events.HoldChangedEvent;
+import com.rut.booking.models.entities.Room;
+import com.rut.booking.models.enums.ClassPeriod;
+import com.rut.booking.models.exceptions.BookingConflictException;
+import com.rut.booking.repository.BookingHoldRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short leases on a slot while a teacher fills in the booking form, so the slot they picked
+ * is still there when they submit.
+ * <p>
+ * The {@code booking_holds} table is the source of truth: taking a hold is one upsert guarded
+ * by the unique slot key, and {@link BookingService#createBooking} checks it, so any node sees
+ * holds taken on any other. Each node also tracks the holds it created in a timing wheel; a
+ * sweeper advances the wheel once a second and deletes everything that came due in one batch.
+ * Holds left behind by a node that went away are removed by a slower table-wide cleanup.
+ * <p>
+ * A teacher holds at most {@code app.holds.max-per-teacher} slots at a time, and renewing a hold
+ * never keeps it past {@code app.holds.max-lease} from its first acquisition, so a client that
+ * keeps renewing cannot block slots indefinitely.
+ */
+@Service
+@Transactional(readOnly = true)
+public class BookingHoldService {
+
+    private static final int SWEEP_BATCH_SIZE = 500;
+
+    private final BookingHoldRepository bookingHoldRepository;
+    private final RoomService roomService;
+    private final OccupancyService occupancyService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration lease;
+    private final Duration maxLease;
+    private final int maxPerTeacher;
+
+    // Holds created on this node: id -> slot and deadline; the wheel only carries ids
+    private final Map<Long, LocalHold> localHolds = new ConcurrentHashMap<>();
+    private final HierarchicalTimingWheel<Long> wheel;
+
+    public BookingHoldService(BookingHoldRepository bookingHoldRepository, RoomService roomService,
+                              OccupancyService occupancyService, ApplicationEventPublisher eventPublisher,
+                              @Value("${app.holds.lease:3m}") Duration lease,
+                              @Value("${app.holds.max-lease:15m}") Duration maxLease,
+                              @Value("${app.holds.max-per-teacher:3}") int maxPerTeacher) {
+        this.bookingHoldRepository = bookingHoldRepository;
+        this.roomService = roomService;
+        this.occupancyService = occupancyService;
+        this.eventPublisher = eventPublisher;
+        this.lease = lease;
+        this.maxLease = maxLease;
+        this.maxPerTeacher = maxPerTeacher;
+        this.wheel = new HierarchicalTimingWheel<>(1000, System.currentTimeMillis());
+    }
+
+    /**
+     * Takes the slot for the teacher, or extends their existing hold.
+     *
+     * @throws BookingConflictException if the slot is booked, closed or held by another teacher
+     * @throws IllegalStateException if the teacher holds too many slots or this hold has run for the maximum lease
+     */
+    @Transactional
+    public BookingHoldDto hold(Long teacherId, Long roomId, LocalDate date, ClassPeriod period) {
+        if (date.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Cannot hold a slot in the past");
+        }
+        Room room = roomService.findById(roomId);
+        if (!occupancyService.isFree(room, date, period)) {
+            throw new BookingConflictException(room.getNumber(), date.toString(), period.getTimeRange());
+        }
+
+        // Postgres keeps microseconds; compare and store the same value everywhere
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        if (bookingHoldRepository.countOtherActive(teacherId, roomId, date, period, now) >= maxPerTeacher) {
+            throw new IllegalStateException("You can hold at most " + maxPerTeacher
+                    + " slots at a time; finish or cancel another booking first");
+        }
+        // The expiry sweep may delete the row between the upsert and the read-back; try once more then
+        Object[] acquired = null;
+        for (int attempt = 0; attempt < 2 && acquired == null; attempt++) {
+            boolean taken = bookingHoldRepository.acquire(roomId, teacherId, date, period.name(), now.plus(lease),
+                    now, maxLease.toSeconds()) > 0;
+            List<Object[]> current = bookingHoldRepository.findBySlot(roomId, date, period);
+            if (current.isEmpty()) {
+                continue;
+            }
+            if (!taken) {
+                if (teacherId.equals(current.get(0)[1])) {
+                    throw new IllegalStateException("The hold on this slot has run out, submit the booking or pick it again later");
+                }
+                throw new BookingConflictException(String.format(
+                        "Room %s on %s at %s is being booked by another teacher, try again in a few minutes",
+                        room.getNumber(), date, period.getTimeRange()));
+            }
+            // A renewal may have been capped at the maximum lease
+            acquired = current.get(0);
+        }
+        if (acquired == null) {
+            throw new BookingConflictException(String.format(
+                    "Could not hold room %s on %s at %s, please try again",
+                    room.getNumber(), date, period.getTimeRange()));
+        }
+        Long holdId = (Long) acquired[0];
+        LocalDateTime expiresAt = (LocalDateTime) acquired[2];
+        long deadline = expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        TransactionHooks.afterCommit(() -> track(holdId, new LocalHold(roomId, date, deadline)));
+        eventPublisher.publishEvent(new HoldChangedEvent(roomId, date));
+        return new BookingHoldDto(roomId, date, period, expiresAt);
+    }
+
+    @Transactional
+    public void release(Long teacherId, Long roomId, LocalDate date, ClassPeriod period) {
+        if (bookingHoldRepository.release(roomId, date, period, teacherId) > 0) {
+            eventPublisher.publishEvent(new HoldChangedEvent(roomId, date));
+        }
+    }
+
+    /**
+     * @throws BookingConflictException if another teacher's hold on the slot is still running
+     */
+    public void checkNotHeldByOther(Room room, LocalDate date, ClassPeriod period, Long teacherId) {
+        for (Long holder : bookingHoldRepository.findHolder(room.getId(), date, period, LocalDateTime.now())) {
+            if (!holder.equals(teacherId)) {
+                throw new BookingConflictException(String.format(
+                        "Room %s on %s at %s is being booked by another teacher",
+                        room.getNumber(), date, period.getTimeRange()));
+            }
+        }
+    }
+
+    /**
+     * Periods of a room and date held by someone other than {@code teacherId} (by anyone if null).
+     */
+    public List<ClassPeriod> getHeldPeriods(Long roomId, LocalDate date, Long teacherId) {
+        List<ClassPeriod> held = new ArrayList<>();
+        for (Object[] row : bookingHoldRepository.findActiveOnDate(roomId, date, LocalDateTime.now())) {
+            if (teacherId == null || !teacherId.equals(row[1])) {
+                held.add((ClassPeriod) row[0]);
+            }
+        }
+        return held;
+    }
+
+    /**
+     * Rooms whose {@code period} on {@code date} is held by someone other than {@code teacherId}
+     * (by anyone if null).
+     */
+    public Set<Long> getHeldRooms(LocalDate date, ClassPeriod period, Long teacherId) {
+        Set<Long> held = new HashSet<>();
+        for (Object[] row : bookingHoldRepository.findActiveOnSlot(date, period, LocalDateTime.now())) {
+            if (teacherId == null || !teacherId.equals(row[1])) {
+                held.add((Long) row[0]);
+            }
+        }
+        return held;
+    }
+
+    @Scheduled(fixedDelayString = "${app.holds.sweep-interval-ms:1000}")
+    @Transactional
+    public void sweepExpired() {
+        long nowMillis = System.currentTimeMillis();
+        List<Long> due;
+        synchronized (wheel) {
+            due = wheel.advance(nowMillis);
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        List<Long> expired = new ArrayList<>(due.size());
+        for (Long holdId : due) {
+            LocalHold hold = localHolds.get(holdId);
+            // A renewed hold was rescheduled with a later deadline; only the last entry removes it
+            if (hold != null && hold.deadline <= nowMillis && localHolds.remove(holdId, hold)) {
+                expired.add(holdId);
+                eventPublisher.publishEvent(new HoldChangedEvent(hold.roomId, hold.date));
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < expired.size(); from += SWEEP_BATCH_SIZE) {
+            bookingHoldRepository.deleteExpired(expired.subList(from, Math.min(from + SWEEP_BATCH_SIZE, expired.size())), now);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.holds.cleanup-interval-ms:60000}")
+    @Transactional
+    public void deleteOrphanedHolds() {
+        bookingHoldRepository.deleteAllExpired(LocalDateTime.now().minus(lease));
+    }
+
+    private void track(Long holdId, LocalHold hold) {
+        localHolds.put(holdId, hold);
+        synchronized (wheel) {
+            wheel.schedule(holdId, hold.deadline);
+        }
+    }
+
+    private static final class LocalHold {
+        private final Long roomId;
+        private final LocalDate date;
+        private final long deadline;
+
+        private LocalHold(Long roomId, LocalDate date, long deadline) {
+            this.roomId = roomId;
+            this.date = date;
+            this.deadline = deadline;
+        }
+    }
+}
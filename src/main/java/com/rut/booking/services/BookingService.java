@@ -4,20 +4,29 @@ import com.rut.booking.dto.BookingCreateRequest;
 import com.rut.booking.dto.BookingDto;
 import com.rut.booking.dto.CalendarEventDto;
 import com.rut.booking.dto.DtoMapper;
+import com.rut.booking.events.BookingChangedEvent;
 import com.rut.booking.models.entities.Booking;
 import com.rut.booking.models.entities.Room;
+import com.rut.booking.models.entities.RoomBlackout;
 import com.rut.booking.models.entities.User;
 import com.rut.booking.models.enums.BookingStatus;
 import com.rut.booking.models.enums.ClassPeriod;
+import com.rut.booking.models.enums.OutboxEventType;
 import com.rut.booking.models.exceptions.BookingConflictException;
 import com.rut.booking.models.exceptions.ResourceNotFoundException;
+import com.rut.booking.outbox.OutboxService;
 import com.rut.booking.repository.BookingRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.net.URI;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,15 +38,33 @@ public class BookingService {
     private final RoomService roomService;
     private final PdfGenerationService pdfGenerationService;
     private final DtoMapper dtoMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxService outboxService;
+    private final OccupancyService occupancyService;
+    private final BookingAlternativesService bookingAlternativesService;
+    private final WaitlistService waitlistService;
+    private final BookingHoldService bookingHoldService;
+    private final BookingStatusCounters bookingStatusCounters;
 
     public BookingService(BookingRepository bookingRepository, UserService userService,
                           RoomService roomService, PdfGenerationService pdfGenerationService,
-                          DtoMapper dtoMapper) {
+                          DtoMapper dtoMapper, ApplicationEventPublisher eventPublisher,
+                          OutboxService outboxService, OccupancyService occupancyService,
+                          BookingAlternativesService bookingAlternativesService,
+                          WaitlistService waitlistService, BookingHoldService bookingHoldService,
+                          BookingStatusCounters bookingStatusCounters) {
         this.bookingRepository = bookingRepository;
         this.userService = userService;
         this.roomService = roomService;
         this.pdfGenerationService = pdfGenerationService;
         this.dtoMapper = dtoMapper;
+        this.eventPublisher = eventPublisher;
+        this.outboxService = outboxService;
+        this.occupancyService = occupancyService;
+        this.bookingAlternativesService = bookingAlternativesService;
+        this.waitlistService = waitlistService;
+        this.bookingHoldService = bookingHoldService;
+        this.bookingStatusCounters = bookingStatusCounters;
     }
 
     public Booking findById(Long id) {
@@ -93,23 +120,37 @@ public class BookingService {
     }
 
     public boolean isRoomAvailable(Long roomId, LocalDate date, ClassPeriod period) {
-        return !bookingRepository.isRoomBookedForPeriod(roomId, date, period);
+        return occupancyService.isFree(roomService.findById(roomId), date, period);
     }
 
     @Transactional
     public BookingDto createBooking(Long teacherId, BookingCreateRequest request) {
+        Room room = roomService.findById(request.getRoomId());
+
+        // Closed for maintenance
+        Optional<RoomBlackout> blackout = occupancyService.findBlackout(room, request.getBookingDate(), request.getClassPeriod());
+        if (blackout.isPresent()) {
+            String reason = blackout.get().getReason();
+            throw new BookingConflictException(String.format("Room %s is closed on %s at %s%s",
+                    room.getNumber(), request.getBookingDate(), request.getClassPeriod().getTimeRange(),
+                    reason != null && !reason.isBlank() ? ": " + reason : ""),
+                    bookingAlternativesService.findAlternatives(room, request.getBookingDate(), request.getClassPeriod(), teacherId));
+        }
+
         // Check if room is available
-        if (!isRoomAvailable(request.getRoomId(), request.getBookingDate(), request.getClassPeriod())) {
-            Room room = roomService.findById(request.getRoomId());
+        if (bookingRepository.isRoomBookedForPeriod(room.getId(), request.getBookingDate(), request.getClassPeriod())) {
             throw new BookingConflictException(
                     room.getNumber(),
                     request.getBookingDate().toString(),
-                    request.getClassPeriod().getTimeRange()
+                    request.getClassPeriod().getTimeRange(),
+                    bookingAlternativesService.findAlternatives(room, request.getBookingDate(), request.getClassPeriod(), teacherId)
             );
         }
 
+        // Another teacher picked the slot first and is still filling in the form
+        bookingHoldService.checkNotHeldByOther(room, request.getBookingDate(), request.getClassPeriod(), teacherId);
+
         User teacher = userService.findById(teacherId);
-        Room room = roomService.findById(request.getRoomId());
 
         Booking booking = new Booking();
         booking.setTeacher(teacher);
@@ -123,7 +164,10 @@ public class BookingService {
         booking = bookingRepository.save(booking);
 
         // Auto-approve the booking since the room is available
-        return autoApproveBooking(booking);
+        BookingDto approved = autoApproveBooking(booking);
+        publishChange(booking, null);
+        bookingHoldService.release(teacherId, room.getId(), request.getBookingDate(), request.getClassPeriod());
+        return approved;
     }
 
     @Transactional
@@ -133,17 +177,7 @@ public class BookingService {
         booking.setProcessedAt(LocalDateTime.now());
         booking = bookingRepository.save(booking);
 
-        // Generate PDF
-        try {
-            String pdfPath = pdfGenerationService.generateBookingConfirmationPdf(booking);
-            booking.setPdfFilePath(pdfPath);
-            booking.setPdfGeneratedAt(LocalDateTime.now());
-            booking = bookingRepository.save(booking);
-        } catch (Exception e) {
-            // Log error but don't fail the booking
-            System.err.println("Failed to generate PDF for booking " + booking.getId() + ": " + e.getMessage());
-        }
-
+        // The confirmation PDF is rendered by the outbox consumer once the booking is committed
         return dtoMapper.toBookingDto(booking);
     }
 
@@ -155,13 +189,17 @@ public class BookingService {
         }
 
         User processedBy = processedByUserId != null ? userService.findById(processedByUserId) : null;
+        BookingStatus previousStatus = booking.getStatus();
 
         booking.setStatus(BookingStatus.REJECTED);
         booking.setRejectionReason(reason);
         booking.setProcessedBy(processedBy);
         booking.setProcessedAt(LocalDateTime.now());
 
-        return dtoMapper.toBookingDto(bookingRepository.save(booking));
+        BookingDto rejected = dtoMapper.toBookingDto(bookingRepository.save(booking));
+        publishChange(booking, previousStatus);
+        promoteFromWaitlist(booking);
+        return rejected;
     }
 
     @Transactional
@@ -177,10 +215,67 @@ public class BookingService {
             throw new IllegalStateException("Cannot cancel booking with status: " + booking.getStatus());
         }
 
+        BookingStatus previousStatus = booking.getStatus();
         booking.setStatus(BookingStatus.CANCELLED);
         booking.setProcessedAt(LocalDateTime.now());
 
-        return dtoMapper.toBookingDto(bookingRepository.save(booking));
+        BookingDto cancelled = dtoMapper.toBookingDto(bookingRepository.save(booking));
+        publishChange(booking, previousStatus);
+        promoteFromWaitlist(booking);
+        return cancelled;
+    }
+
+    /**
+     * Books the slot a just-cancelled or rejected booking held for the next teacher on its
+     * waitlist. Runs in the caller's transaction, so freeing and re-booking the slot commit
+     * together; the confirmation PDF and the notice follow through the outbox.
+     */
+    @Transactional
+    public void promoteFromWaitlist(Booking freed) {
+        Room room = freed.getRoom();
+        LocalDate date = freed.getBookingDate();
+        ClassPeriod period = freed.getClassPeriod();
+        if (date.isBefore(LocalDate.now())
+                || bookingRepository.isRoomBookedForPeriod(room.getId(), date, period)
+                || occupancyService.findBlackout(room, date, period).isPresent()) {
+            return;
+        }
+
+        waitlistService.lockNext(room.getId(), date, period).ifPresent(entry -> {
+            Booking booking = new Booking();
+            booking.setTeacher(entry.getTeacher());
+            booking.setRoom(room);
+            booking.setBookingDate(date);
+            booking.setClassPeriod(period);
+            booking.setPurpose(entry.getPurpose());
+            booking.setNotes(entry.getNotes());
+            booking.setStatus(BookingStatus.APPROVED);
+            booking.setProcessedAt(LocalDateTime.now());
+            booking = bookingRepository.save(booking);
+
+            waitlistService.markPromoted(entry, booking);
+            publishChange(booking, null);
+        });
+    }
+
+    /**
+     * Announces a booking change: live availability and dashboard counters after commit and a
+     * BOOKING_CHANGED outbox event in the current transaction.
+     *
+     * @param previousStatus the status before the change, null for a new booking
+     */
+    public void publishChange(Booking booking, BookingStatus previousStatus) {
+        bookingStatusCounters.recordTransition(previousStatus, booking.getStatus());
+        eventPublisher.publishEvent(new BookingChangedEvent(booking.getId(), booking.getRoom().getId(),
+                booking.getBookingDate(), booking.getClassPeriod(), booking.getStatus()));
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("roomId", booking.getRoom().getId());
+        payload.put("teacherId", booking.getTeacher().getId());
+        payload.put("bookingDate", booking.getBookingDate().toString());
+        payload.put("classPeriod", booking.getClassPeriod().name());
+        payload.put("status", booking.getStatus().name());
+        outboxService.publish(OutboxEventType.BOOKING_CHANGED, "Booking", booking.getId(), payload);
     }
 
     public Long countByStatus(BookingStatus status) {
@@ -188,6 +283,17 @@ public class BookingService {
     }
 
     public byte[] getBookingPdf(Long bookingId) {
+        return pdfGenerationService.readPdfFile(getOrGeneratePdfPath(bookingId));
+    }
+
+    /**
+     * Pre-signed link to the booking PDF when storage is an object store; empty for local storage.
+     */
+    public Optional<URI> getBookingPdfDownloadUrl(Long bookingId) {
+        return pdfGenerationService.getDownloadUrl(getOrGeneratePdfPath(bookingId));
+    }
+
+    private String getOrGeneratePdfPath(Long bookingId) {
         Booking booking = findById(bookingId);
         if (booking.getStatus() != BookingStatus.APPROVED) {
             throw new IllegalStateException("PDF is only available for approved bookings");
@@ -205,6 +311,6 @@ public class BookingService {
             }
         }
 
-        return pdfGenerationService.readPdfFile(booking.getPdfFilePath());
+        return booking.getPdfFilePath();
     }
 }
@@ -0,0 +1,89 @@
+package com.rut.booking.services;
+
+import com.rut.booking.models.enums.BookingStatus;
+import com.rut.booking.repository.BookingRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory booking counts per status for the admin dashboard.
+ * <p>
+ * The counts are loaded with one grouped query on first read and then moved by every status
+ * transition once its transaction commits (see {@link BookingService#publishChange}), so reading
+ * them costs nothing. A periodic reconcile reloads them to correct any drift, e.g. from a
+ * transition that committed while a reload was reading.
+ */
+@Service
+@Transactional(readOnly = true)
+public class BookingStatusCounters {
+
+    private final BookingRepository bookingRepository;
+    private final Map<BookingStatus, AtomicLong> counts = new EnumMap<>(BookingStatus.class);
+    private volatile boolean stale = true;
+
+    public BookingStatusCounters(BookingRepository bookingRepository) {
+        this.bookingRepository = bookingRepository;
+        for (BookingStatus status : BookingStatus.values()) {
+            counts.put(status, new AtomicLong());
+        }
+    }
+
+    /**
+     * Current count per status; every status is present.
+     */
+    public Map<BookingStatus, Long> snapshot() {
+        if (stale) {
+            reconcile();
+        }
+        Map<BookingStatus, Long> snapshot = new EnumMap<>(BookingStatus.class);
+        counts.forEach((status, count) -> snapshot.put(status, count.get()));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * Moves one booking between statuses once the current transaction commits.
+     *
+     * @param from the previous status, null for a new booking
+     */
+    public void recordTransition(BookingStatus from, BookingStatus to) {
+        if (from == to) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> {
+            if (from != null) {
+                counts.get(from).decrementAndGet();
+            }
+            counts.get(to).incrementAndGet();
+        });
+    }
+
+    /**
+     * Adds bookings created in bulk, once the current transaction commits.
+     */
+    public void recordCreated(BookingStatus status, long count) {
+        TransactionHooks.afterCommit(() -> counts.get(status).addAndGet(count));
+    }
+
+    @Scheduled(fixedDelayString = "${app.dashboard.counters-reconcile-ms:300000}",
+               initialDelayString = "${app.dashboard.counters-reconcile-ms:300000}")
+    public synchronized void reconcile() {
+        stale = false;
+        Map<BookingStatus, Long> loaded = new EnumMap<>(BookingStatus.class);
+        try {
+            for (Object[] row : bookingRepository.countGroupedByStatus()) {
+                loaded.put((BookingStatus) row[0], (Long) row[1]);
+            }
+        } catch (RuntimeException e) {
+            // Load again on the next read rather than serve counts that were never loaded
+            stale = true;
+            throw e;
+        }
+        counts.forEach((status, count) -> count.set(loaded.getOrDefault(status, 0L)));
+    }
+}
@@ -0,0 +1,182 @@
+package com.rut.booking.services;
+
+import com.rut.booking.dto.BulkBookingJobDto;
+import com.rut.booking.models.entities.Booking;
+import com.rut.booking.models.entities.User;
+import com.rut.booking.models.enums.BookingStatus;
+import com.rut.booking.models.enums.BulkBookingAction;
+import com.rut.booking.models.enums.ClassPeriod;
+import com.rut.booking.models.enums.OutboxEventType;
+import com.rut.booking.outbox.OutboxService;
+import com.rut.booking.repository.BookingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Rejects or cancels every booking matching a filter, e.g. when a building closes for maintenance.
+ * <p>
+ * The job runs in the background and reports progress through {@link BulkBookingJobDto}.
+ * Matching bookings are read as id/version pairs and changed with set-based UPDATEs, one
+ * transaction per chunk; a booking modified after it was matched fails the version check
+ * and is counted as skipped. Teachers get one notice per chunk through the outbox.
+ */
+@Service
+@Slf4j
+public class BulkBookingService {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final Duration FINISHED_JOB_TTL = Duration.ofHours(1);
+
+    private final BookingRepository bookingRepository;
+    private final BookingService bookingService;
+    private final UserService userService;
+    private final WaitlistService waitlistService;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor bulkOperationExecutor;
+    private final Map<String, BulkBookingJobDto> jobs = new ConcurrentHashMap<>();
+
+    public BulkBookingService(BookingRepository bookingRepository, BookingService bookingService,
+                              UserService userService, WaitlistService waitlistService,
+                              OutboxService outboxService,
+                              TransactionTemplate transactionTemplate,
+                              @Qualifier("bulkOperationExecutor") Executor bulkOperationExecutor) {
+        this.bookingRepository = bookingRepository;
+        this.bookingService = bookingService;
+        this.userService = userService;
+        this.waitlistService = waitlistService;
+        this.outboxService = outboxService;
+        this.transactionTemplate = transactionTemplate;
+        this.bulkOperationExecutor = bulkOperationExecutor;
+    }
+
+    public BulkBookingJobDto start(BulkBookingAction action, Long roomId, String building,
+                                   LocalDate startDate, LocalDate endDate, ClassPeriod period,
+                                   String reason, Long processedByUserId) {
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("A valid date range is required");
+        }
+        if (action == BulkBookingAction.REJECT && !StringUtils.hasText(reason)) {
+            throw new IllegalArgumentException("A reason is required to reject bookings");
+        }
+        String buildingFilter = StringUtils.hasText(building) ? building.trim() : null;
+
+        removeFinishedJobs();
+        BulkBookingJobDto job = new BulkBookingJobDto(UUID.randomUUID().toString(), action);
+        jobs.put(job.getId(), job);
+        try {
+            bulkOperationExecutor.execute(() ->
+                    run(job, roomId, buildingFilter, startDate, endDate, period, reason, processedByUserId));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw new IllegalStateException("Too many bulk operations are queued, try again later");
+        }
+        return job;
+    }
+
+    public Optional<BulkBookingJobDto> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    private void run(BulkBookingJobDto job, Long roomId, String building, LocalDate startDate,
+                     LocalDate endDate, ClassPeriod period, String reason, Long processedByUserId) {
+        BulkBookingAction action = job.getAction();
+        try {
+            List<Object[]> candidates = bookingRepository.findBulkCandidates(
+                    action.getFromStatuses(), startDate, endDate, roomId, building, period);
+            job.setMatched(candidates.size());
+
+            for (int from = 0; from < candidates.size(); from += CHUNK_SIZE) {
+                List<Object[]> chunk = candidates.subList(from, Math.min(from + CHUNK_SIZE, candidates.size()));
+                Integer updated = transactionTemplate.execute(status ->
+                        applyChunk(action, chunk, reason, processedByUserId));
+                job.addChunk(chunk.size(), updated != null ? updated : 0);
+            }
+            job.complete();
+            log.info("Bulk {} {}: {} of {} booking(s) updated, {} skipped",
+                    action, job.getId(), job.getUpdated(), job.getMatched(), job.getSkipped());
+        } catch (Exception e) {
+            log.error("Bulk {} {} failed", action, job.getId(), e);
+            job.fail(e.getMessage());
+        }
+    }
+
+    private int applyChunk(BulkBookingAction action, List<Object[]> chunk, String reason, Long processedByUserId) {
+        User processedBy = userService.findById(processedByUserId);
+        LocalDateTime processedAt = LocalDateTime.now();
+        List<String> fromStatuses = action.getFromStatuses().stream().map(BookingStatus::name).toList();
+
+        // One UPDATE per distinct version; bookings are rarely edited, so there are only a few
+        Map<Long, List<Long>> idsByVersion = new LinkedHashMap<>();
+        Map<Long, BookingStatus> previousStatuses = new HashMap<>();
+        for (Object[] row : chunk) {
+            Long id = (Long) row[0];
+            idsByVersion.computeIfAbsent((Long) row[1], v -> new ArrayList<>()).add(id);
+            previousStatuses.put(id, (BookingStatus) row[2]);
+        }
+
+        List<Long> updatedIds = new ArrayList<>();
+        for (Map.Entry<Long, List<Long>> group : idsByVersion.entrySet()) {
+            updatedIds.addAll(bookingRepository.bulkUpdateStatus(group.getValue(), group.getKey(), fromStatuses,
+                    action.getTargetStatus().name(), reason, processedBy.getId(), processedAt));
+        }
+        if (updatedIds.isEmpty()) {
+            return 0;
+        }
+
+        List<Booking> changed = bookingRepository.findAllWithRoomAndTeacher(updatedIds);
+        Map<Long, List<Booking>> byTeacher = new LinkedHashMap<>();
+        for (Booking booking : changed) {
+            // The version check guarantees the row still had the status it was matched with
+            bookingService.publishChange(booking, previousStatuses.get(booking.getId()));
+            // Staff freed these slots on purpose (maintenance, closures); re-booking them would undo that
+            waitlistService.cancelWaiting(booking.getRoom().getId(), booking.getBookingDate(), booking.getClassPeriod());
+            byTeacher.computeIfAbsent(booking.getTeacher().getId(), t -> new ArrayList<>()).add(booking);
+        }
+        byTeacher.values().forEach(bookings ->
+                publishTeacherNotice(action, reason, bookings.get(0).getTeacher(), bookings));
+        return updatedIds.size();
+    }
+
+    private void publishTeacherNotice(BulkBookingAction action, String reason, User teacher, List<Booking> bookings) {
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (Booking booking : bookings) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("bookingId", booking.getId());
+            item.put("roomNumber", booking.getRoom().getNumber());
+            item.put("bookingDate", booking.getBookingDate().toString());
+            item.put("timeRange", booking.getClassPeriod().getTimeRange());
+            items.add(item);
+        }
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("action", action.name());
+        payload.put("reason", reason);
+        payload.put("email", teacher.getEmail());
+        payload.put("fullName", teacher.getFullName());
+        payload.put("bookings", items);
+        outboxService.publish(OutboxEventType.BOOKINGS_BULK_CHANGED, "User", teacher.getId(), payload);
+    }
+
+    private void removeFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(FINISHED_JOB_TTL);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+}
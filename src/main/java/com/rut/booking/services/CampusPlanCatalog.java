@@ -0,0 +1,280 @@
+package com.rut.booking.services;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.rut.booking.dto.CampusPlanDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Catalog of campus floor plans found in {@code static/campus-plans}. Files are named
+ * {@code <building>-<floor>.png|svg}; the PNG is used as preview and the SVG, when present,
+ * as the detail view. The catalog is built once at startup and swapped atomically on refresh.
+ * <p>
+ * Plans are served with a one-year Cache-Control, so clients that fetch paths as data (the plans
+ * JSON) get {@link #getVersionedSnapshot() fingerprinted URLs}; templates go through {@code @{}}
+ * and are rewritten by the resource chain already.
+ */
+@Service
+@Slf4j
+public class CampusPlanCatalog {
+
+    private static final String LOCATION = "classpath:static/campus-plans/";
+    private static final String PUBLIC_PREFIX = "/campus-plans/";
+    private static final Pattern FILENAME_PATTERN = Pattern.compile("(\\d+)-(\\d+)\\.(png|svg)");
+    // Room shapes the occupancy overlay colours, see FloorPlanOverlayService
+    private static final Pattern ROOM_MARKER_PATTERN = Pattern.compile("data-room\\s*=|id\\s*=\\s*[\"']room-");
+
+    private final boolean watchForChanges;
+    private final ResourceUrlProvider resourceUrlProvider;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile Snapshot versionedSnapshot;
+    private volatile WatchService watchService;
+
+    public CampusPlanCatalog(@Value("${app.campus-plans.watch:false}") boolean watchForChanges,
+                             ResourceUrlProvider resourceUrlProvider) {
+        this.watchForChanges = watchForChanges;
+        this.resourceUrlProvider = resourceUrlProvider;
+    }
+
+    @PostConstruct
+    public void init() {
+        reload();
+        if (watchForChanges) {
+            startWatching();
+        }
+    }
+
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * The current snapshot with plan paths replaced by their content-versioned URLs. Resolved on
+     * first use rather than at startup, because the resource handlers are only known to
+     * {@link ResourceUrlProvider} once the context has refreshed.
+     */
+    public Snapshot getVersionedSnapshot() {
+        Snapshot current = snapshot;
+        Snapshot versioned = versionedSnapshot;
+        if (versioned == null || versioned.source != current) {
+            versioned = current.withPaths(path -> {
+                String url = resourceUrlProvider.getForLookupPath(path);
+                return url != null ? url : path;
+            });
+            versionedSnapshot = versioned;
+        }
+        return versioned;
+    }
+
+    public void reload() {
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver().getResources(LOCATION + "*.*");
+            snapshot = build(resources);
+        } catch (IOException e) {
+            log.warn("Failed to load campus plans", e);
+        }
+    }
+
+    private Snapshot build(Resource[] resources) throws IOException {
+        // building -> floor -> [preview, detail]
+        Map<Integer, Map<Integer, String[]>> files = new TreeMap<>();
+        Set<String> withRoomMarkers = new HashSet<>();
+        StringBuilder fingerprint = new StringBuilder();
+
+        for (Resource resource : resources) {
+            String filename = resource.getFilename();
+            if (filename == null) {
+                continue;
+            }
+            Matcher matcher = FILENAME_PATTERN.matcher(filename);
+            if (!matcher.matches()) {
+                continue;
+            }
+            int building = Integer.parseInt(matcher.group(1));
+            int floor = Integer.parseInt(matcher.group(2));
+            String[] pair = files.computeIfAbsent(building, k -> new TreeMap<>())
+                    .computeIfAbsent(floor, k -> new String[2]);
+            if ("png".equals(matcher.group(3))) {
+                pair[0] = filename;
+            } else {
+                pair[1] = filename;
+                String svg = resource.getContentAsString(StandardCharsets.UTF_8);
+                if (ROOM_MARKER_PATTERN.matcher(svg).find()) {
+                    withRoomMarkers.add(filename);
+                }
+            }
+            fingerprint.append(filename).append(':').append(resource.contentLength())
+                    .append(':').append(lastModified(resource)).append('\n');
+        }
+
+        List<CampusPlanDto> plans = new ArrayList<>();
+        Map<Integer, List<Integer>> floorsByBuilding = new LinkedHashMap<>();
+        files.forEach((building, floors) -> floors.forEach((floor, pair) -> {
+            // Prefer the PNG as preview; an SVG-only plan uses the SVG for both
+            String preview = pair[0] != null ? pair[0] : pair[1];
+            String detail = pair[1] != null ? pair[1] : pair[0];
+            plans.add(new CampusPlanDto(building, floor, preview, PUBLIC_PREFIX + preview, PUBLIC_PREFIX + detail,
+                    withRoomMarkers.contains(detail)));
+            floorsByBuilding.computeIfAbsent(building, k -> new ArrayList<>()).add(floor);
+        }));
+        plans.sort(Comparator.comparingInt(CampusPlanDto::getBuilding).thenComparingInt(CampusPlanDto::getFloor));
+        floorsByBuilding.replaceAll((building, floors) -> List.copyOf(new TreeSet<>(floors)));
+
+        return new Snapshot(List.copyOf(plans), Collections.unmodifiableMap(floorsByBuilding),
+                etagOf(fingerprint.toString()));
+    }
+
+    private long lastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private String etagOf(String fingerprint) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(fingerprint.getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 8) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Development aid: rebuilds the catalog when plans are added to an exploded classpath
+     * directory. Has no effect when running from a jar.
+     */
+    private void startWatching() {
+        try {
+            Resource directory = new PathMatchingResourcePatternResolver().getResource(LOCATION);
+            if (!directory.isFile()) {
+                log.info("Campus plan watcher disabled: plans are not on the file system");
+                return;
+            }
+            Path path = directory.getFile().toPath();
+            watchService = FileSystems.getDefault().newWatchService();
+            path.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+            Thread watcher = new Thread(this::watchLoop, "campus-plan-watcher");
+            watcher.setDaemon(true);
+            watcher.start();
+        } catch (IOException e) {
+            log.warn("Failed to watch campus plans", e);
+        }
+    }
+
+    private void watchLoop() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                key.pollEvents();
+                reload();
+                if (!key.reset()) {
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @PreDestroy
+    public void stopWatching() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    /**
+     * Immutable view of the catalog; safe to share between requests and serialise as JSON.
+     */
+    public static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(List.of(), Map.of(), "\"empty\"");
+
+        private final List<CampusPlanDto> plans;
+        private final Map<Integer, List<Integer>> floorsByBuilding;
+        private final List<Integer> buildings;
+        private final String etag;
+        // Snapshot this one was derived from by withPaths, otherwise itself
+        private final Snapshot source;
+
+        Snapshot(List<CampusPlanDto> plans, Map<Integer, List<Integer>> floorsByBuilding, String etag) {
+            this(plans, floorsByBuilding, etag, null);
+        }
+
+        private Snapshot(List<CampusPlanDto> plans, Map<Integer, List<Integer>> floorsByBuilding, String etag,
+                         Snapshot source) {
+            this.plans = plans;
+            this.floorsByBuilding = floorsByBuilding;
+            this.buildings = List.copyOf(floorsByBuilding.keySet());
+            this.etag = etag;
+            this.source = source != null ? source : this;
+        }
+
+        private Snapshot withPaths(UnaryOperator<String> mapper) {
+            List<CampusPlanDto> mapped = plans.stream()
+                    .map(plan -> new CampusPlanDto(plan.getBuilding(), plan.getFloor(), plan.getPreviewFilename(),
+                            mapper.apply(plan.getPreviewPath()), mapper.apply(plan.getDetailPath()),
+                            plan.isHasRoomMarkers()))
+                    .toList();
+            return new Snapshot(mapped, floorsByBuilding, etag, this);
+        }
+
+        public List<CampusPlanDto> getPlans() {
+            return plans;
+        }
+
+        public Map<Integer, List<Integer>> getFloorsByBuilding() {
+            return floorsByBuilding;
+        }
+
+        public List<Integer> getBuildings() {
+            return buildings;
+        }
+
+        public Optional<CampusPlanDto> find(int building, int floor) {
+            return plans.stream()
+                    .filter(plan -> plan.getBuilding() == building && plan.getFloor() == floor)
+                    .findFirst();
+        }
+
+        @JsonIgnore
+        public String getEtag() {
+            return etag;
+        }
+    }
+}
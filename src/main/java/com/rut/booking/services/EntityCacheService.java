@@ -0,0 +1,87 @@
+package com.rut.booking.services;
+
+import com.rut.booking.dto.CacheRegionStatsDto;
+import com.rut.booking.models.entities.Room;
+import com.rut.booking.models.entities.User;
+import com.rut.booking.repository.RoomRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Explicit eviction hooks and per-region statistics for the Hibernate second-level cache.
+ * Region names match the {@code @Cache} annotations on the entities and the query hints
+ * on the repositories.
+ * <p>
+ * The regions are node-local Caffeine caches, so evictions only reach this node. The app assumes
+ * a single node; with several, the others keep stale entries until the region TTL expires (see
+ * {@code application.properties}).
+ */
+@Service
+public class EntityCacheService {
+
+    private static final List<String> ENTITY_REGIONS = List.of("rooms", "roles", "users");
+    private static final List<String> QUERY_REGIONS = List.of(RoomRepository.DIRECTORY_CACHE_REGION, "roles-by-code");
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public EntityCacheService(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Drops the cached room and the building/floor directory once the current transaction commits.
+     */
+    public void evictRoom(Long roomId) {
+        TransactionHooks.afterCommit(() -> {
+            sessionFactory().getCache().evictEntityData(Room.class, roomId);
+            sessionFactory().getCache().evictQueryRegion(RoomRepository.DIRECTORY_CACHE_REGION);
+        });
+    }
+
+    public void evictUser(Long userId) {
+        TransactionHooks.afterCommit(() -> sessionFactory().getCache().evictEntityData(User.class, userId));
+    }
+
+    public List<CacheRegionStatsDto> getRegionStatistics() {
+        Statistics statistics = sessionFactory().getStatistics();
+        List<CacheRegionStatsDto> result = new ArrayList<>();
+
+        for (String region : ENTITY_REGIONS) {
+            CacheRegionStatistics stats = findDomainRegion(statistics, region);
+            if (stats != null) {
+                result.add(toDto(region, "entity", stats));
+            }
+        }
+        for (String region : QUERY_REGIONS) {
+            CacheRegionStatistics stats = statistics.getQueryRegionStatistics(region);
+            if (stats != null) {
+                result.add(toDto(region, "query", stats));
+            }
+        }
+        return result;
+    }
+
+    private CacheRegionStatistics findDomainRegion(Statistics statistics, String region) {
+        try {
+            return statistics.getDomainDataRegionStatistics(region);
+        } catch (IllegalArgumentException e) {
+            // Region not created yet (cache disabled or nothing loaded)
+            return null;
+        }
+    }
+
+    private CacheRegionStatsDto toDto(String region, String type, CacheRegionStatistics stats) {
+        return new CacheRegionStatsDto(region, type, stats.getHitCount(), stats.getMissCount(),
+                stats.getPutCount(), stats.getElementCountInMemory());
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+}
@@ -0,0 +1,73 @@
+package com.rut.booking.services;
+
+import com.rut.booking.models.enums.BookingStatus;
+import com.rut.booking.models.enums.ClassPeriod;
+import com.rut.booking.models.enums.ExportFormat;
+import com.rut.booking.repository.BookingRepository;
+import com.rut.booking.repository.ReviewRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes bookings and reported review issues to CSV or XLSX for reporting.
+ * <p>
+ * Rows are read as flat projections through a forward-only cursor (the fetch size is set on
+ * the repository queries) and written as they arrive, so no entity is loaded and memory use
+ * does not grow with the number of rows. The transaction stays open for the whole download.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ExportService {
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+
+    private final BookingRepository bookingRepository;
+    private final ReviewRepository reviewRepository;
+
+    public ExportService(BookingRepository bookingRepository, ReviewRepository reviewRepository) {
+        this.bookingRepository = bookingRepository;
+        this.reviewRepository = reviewRepository;
+    }
+
+    public void exportBookings(BookingStatus status, Long roomId, Long teacherId, LocalDate startDate,
+                               LocalDate endDate, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Object[]> rows = bookingRepository.streamForExport(status, roomId, teacherId, startDate, endDate);
+             TabularWriter writer = TabularWriter.open(format, out, "Бронирования")) {
+            writer.row("ID", "Преподаватель", "Email", "Аудитория", "Дата", "Пара", "Время", "Цель", "Статус", "Создано");
+            Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Object[] row = iterator.next();
+                ClassPeriod period = (ClassPeriod) row[6];
+                writer.row(row[0], row[1] + " " + row[2], row[3], row[4], ((LocalDate) row[5]).format(DATE),
+                        period.getDisplayName(), period.getTimeRange(), row[7],
+                        ((BookingStatus) row[8]).getDisplayName(), formatDateTime((LocalDateTime) row[9]));
+            }
+        }
+    }
+
+    public void exportReviewIssues(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Object[]> rows = reviewRepository.streamIssuesForExport();
+             TabularWriter writer = TabularWriter.open(format, out, "Проблемы")) {
+            writer.row("ID отзыва", "Аудитория", "Корпус", "Автор", "Оценка", "Проблемы", "Подтверждено", "Создано");
+            Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Object[] row = iterator.next();
+                writer.row(row[0], row[1], row[2], row[3], row[4], row[5],
+                        Boolean.TRUE.equals(row[6]) ? "Да" : "Нет", formatDateTime((LocalDateTime) row[7]));
+            }
+        }
+    }
+
+    private static String formatDateTime(LocalDateTime value) {
+        return value != null ? value.format(DATE_TIME) : null;
+    }
+}
@@ -0,0 +1,230 @@
+package com.rut.booking.services;
+
+import com.rut.booking.dto.CampusPlanDto;
+import com.rut.booking.models.entities.Room;
+import com.rut.booking.models.enums.BookingStatus;
+import com.rut.booking.models.enums.ClassPeriod;
+import com.rut.booking.repository.BookingRepository;
+import com.rut.booking.repository.RoomRepository;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Renders campus floor plan SVGs with room shapes coloured by booking status.
+ * <p>
+ * A room shape is any element with {@code data-room="1101"} or {@code id="room-1101"}.
+ * Each SVG is parsed once: the room shapes' style attributes are replaced by slots and the
+ * document is serialised into static text segments. A request then only looks up occupancy
+ * and writes the segments with a style per slot, without touching the DOM.
+ * <p>
+ * Rooms closed by a blackout are drawn as unavailable, using the same {@link OccupancyService}
+ * masks that booking and room availability check.
+ */
+@Service
+@Transactional(readOnly = true)
+public class FloorPlanOverlayService {
+
+    private static final Pattern ROOM_ID_PATTERN = Pattern.compile("room-(.+)");
+    private static final String SLOT_MARKER = "@@ROOM_SLOT_%d@@";
+    private static final Pattern SLOT_PATTERN = Pattern.compile("@@ROOM_SLOT_(\\d+)@@");
+
+    private static final String FREE_STYLE = "fill:#2e7d32;fill-opacity:0.55";
+    private static final String PENDING_STYLE = "fill:#f9a825;fill-opacity:0.6";
+    private static final String OCCUPIED_STYLE = "fill:#c62828;fill-opacity:0.65";
+    private static final String CLOSED_STYLE = "fill:#616161;fill-opacity:0.6";
+
+    private final CampusPlanCatalog campusPlanCatalog;
+    private final BookingRepository bookingRepository;
+    private final RoomRepository roomRepository;
+    private final OccupancyService occupancyService;
+    private final Map<String, SvgTemplate> templates = new ConcurrentHashMap<>();
+
+    public FloorPlanOverlayService(CampusPlanCatalog campusPlanCatalog, BookingRepository bookingRepository,
+                                   RoomRepository roomRepository, OccupancyService occupancyService) {
+        this.campusPlanCatalog = campusPlanCatalog;
+        this.bookingRepository = bookingRepository;
+        this.roomRepository = roomRepository;
+        this.occupancyService = occupancyService;
+    }
+
+    /**
+     * Prepares the overlay for a floor and slot. Occupancy is read here, so the returned
+     * overlay can be streamed without holding a database connection.
+     *
+     * @return empty if the floor has no SVG plan
+     */
+    public Optional<FloorPlanOverlay> prepareOverlay(int building, int floor, LocalDate date, ClassPeriod period) {
+        CampusPlanCatalog.Snapshot catalog = campusPlanCatalog.getSnapshot();
+        Optional<CampusPlanDto> plan = catalog.find(building, floor)
+                .filter(p -> p.getDetailPath().endsWith(".svg"));
+        if (plan.isEmpty()) {
+            return Optional.empty();
+        }
+
+        String path = plan.get().getDetailPath();
+        SvgTemplate template = templates.get(path);
+        if (template == null || !template.catalogEtag.equals(catalog.getEtag())) {
+            // Plans changed (dev refresh) or first use: parse again
+            template = parse(path, catalog.getEtag());
+            templates.put(path, template);
+        }
+
+        // Room number -> style; rooms without an entry are drawn as free
+        Map<String, String> occupancy = new HashMap<>();
+        if (period != null) {
+            Map<String, BookingStatus> statuses = new HashMap<>();
+            for (Object[] row : bookingRepository.findRoomStatusesOnFloor(String.valueOf(building), floor, date, period)) {
+                // An approved booking wins over pending requests for the same slot
+                statuses.merge((String) row[0], (BookingStatus) row[1],
+                        (a, b) -> a == BookingStatus.APPROVED ? a : b);
+            }
+            statuses.forEach((room, status) ->
+                    occupancy.put(room, status == BookingStatus.APPROVED ? OCCUPIED_STYLE : PENDING_STYLE));
+
+            // Taken in the day's mask without a booking means a blackout closes the slot
+            OccupancyService.DayOccupancy day = occupancyService.getDayOccupancy(date);
+            for (Room room : roomRepository.findByBuildingAndFloorAndIsActiveTrue(String.valueOf(building), floor)) {
+                if (!statuses.containsKey(room.getNumber()) && !day.isFree(room, period)) {
+                    occupancy.put(room.getNumber(), CLOSED_STYLE);
+                }
+            }
+        }
+
+        return Optional.of(new FloorPlanOverlay(template, occupancy));
+    }
+
+    private SvgTemplate parse(String publicPath, String catalogEtag) {
+        try (InputStream in = new ClassPathResource("static" + publicPath).getInputStream()) {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setExpandEntityReferences(false);
+            Document document = factory.newDocumentBuilder().parse(in);
+
+            List<String> rooms = new ArrayList<>();
+            List<String> baseStyles = new ArrayList<>();
+            NodeList elements = document.getElementsByTagName("*");
+            for (int i = 0; i < elements.getLength(); i++) {
+                Element element = (Element) elements.item(i);
+                String room = roomNumberOf(element);
+                if (room == null) {
+                    continue;
+                }
+                String style = element.getAttribute("style");
+                baseStyles.add(style.isEmpty() ? "" : style + ";");
+                element.setAttribute("style", String.format(SLOT_MARKER, rooms.size()));
+                rooms.add(room);
+            }
+
+            Transformer transformer = TransformerFactory.newInstance().newTransformer();
+            transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+            StringWriter serialized = new StringWriter();
+            transformer.transform(new DOMSource(document), new StreamResult(serialized));
+
+            String svg = serialized.toString();
+            List<String> segments = new ArrayList<>();
+            List<Integer> slots = new ArrayList<>();
+            Matcher matcher = SLOT_PATTERN.matcher(svg);
+            int last = 0;
+            while (matcher.find()) {
+                segments.add(svg.substring(last, matcher.start()));
+                slots.add(Integer.parseInt(matcher.group(1)));
+                last = matcher.end();
+            }
+            segments.add(svg.substring(last));
+
+            List<String> slotRooms = new ArrayList<>();
+            List<String> slotStyles = new ArrayList<>();
+            for (int slot : slots) {
+                slotRooms.add(rooms.get(slot));
+                slotStyles.add(baseStyles.get(slot));
+            }
+            return new SvgTemplate(List.copyOf(segments), List.copyOf(slotRooms), List.copyOf(slotStyles), catalogEtag);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to parse floor plan " + publicPath + ": " + e.getMessage(), e);
+        }
+    }
+
+    private String roomNumberOf(Element element) {
+        String room = element.getAttribute("data-room");
+        if (!room.isEmpty()) {
+            return room;
+        }
+        Matcher matcher = ROOM_ID_PATTERN.matcher(element.getAttribute("id"));
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    private static final class SvgTemplate {
+        // segments.size() == rooms.size() + 1; slot i sits between segment i and i + 1
+        private final List<String> segments;
+        private final List<String> rooms;
+        private final List<String> baseStyles;
+        private final String catalogEtag;
+
+        private SvgTemplate(List<String> segments, List<String> rooms, List<String> baseStyles, String catalogEtag) {
+            this.segments = segments;
+            this.rooms = rooms;
+            this.baseStyles = baseStyles;
+            this.catalogEtag = catalogEtag;
+        }
+    }
+
+    /**
+     * A floor plan ready to be written: the cached template plus the occupancy of one slot.
+     */
+    public static final class FloorPlanOverlay {
+        private final SvgTemplate template;
+        private final Map<String, String> occupancy;
+
+        private FloorPlanOverlay(SvgTemplate template, Map<String, String> occupancy) {
+            this.template = template;
+            this.occupancy = occupancy;
+        }
+
+        public void writeTo(OutputStream out) throws IOException {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+            List<String> segments = template.segments;
+            for (int i = 0; i < template.rooms.size(); i++) {
+                writer.write(segments.get(i));
+                writer.write(escapeAttribute(template.baseStyles.get(i)));
+                writer.write(occupancy.getOrDefault(template.rooms.get(i), FREE_STYLE));
+            }
+            writer.write(segments.get(segments.size() - 1));
+            writer.flush();
+        }
+
+        private static String escapeAttribute(String value) {
+            return value.replace("&", "&amp;").replace("<", "&lt;").replace("\"", "&quot;");
+        }
+    }
+}
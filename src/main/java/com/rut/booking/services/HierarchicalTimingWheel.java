@@ -0,0 +1,97 @@
+package com.rut.booking.services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Two-level hierarchical timing wheel for many short deadlines. Scheduling is O(1) and
+ * {@link #advance(long)} returns everything that became due in one batch, so a single periodic
+ * sweeper replaces one timer per deadline.
+ * <p>
+ * The inner wheel has {@value #SLOTS} buckets of one tick; the outer wheel has {@value #SLOTS}
+ * buckets of {@value #SLOTS} ticks each and is cascaded into the inner wheel as time reaches
+ * its bucket. With a one-second tick that covers about 68 minutes; later deadlines are parked
+ * in the last outer bucket and re-placed on every cascade. Not thread-safe on its own; callers
+ * synchronise.
+ */
+final class HierarchicalTimingWheel<K> {
+
+    private static final int SLOTS = 64;
+    private static final int SHIFT = 6;
+
+    private final long tickMillis;
+    private final List<List<Entry<K>>> inner = buckets();
+    private final List<List<Entry<K>>> outer = buckets();
+    private final List<Entry<K>> overdue = new ArrayList<>();
+    private long currentTick;
+
+    HierarchicalTimingWheel(long tickMillis, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    void schedule(K key, long deadlineMillis) {
+        place(new Entry<>(key, deadlineMillis / tickMillis));
+    }
+
+    /**
+     * Moves the wheel to {@code nowMillis} and returns the keys whose deadline has passed.
+     */
+    List<K> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<K> due = new ArrayList<>();
+        drain(overdue, due);
+
+        while (currentTick < targetTick) {
+            currentTick++;
+            if ((currentTick & (SLOTS - 1)) == 0) {
+                // Start of a new outer block: spread its entries over the inner wheel
+                List<Entry<K>> block = outer.get((int) ((currentTick >> SHIFT) & (SLOTS - 1)));
+                List<Entry<K>> cascading = new ArrayList<>(block);
+                block.clear();
+                cascading.forEach(this::place);
+                drain(overdue, due);
+            }
+            drain(inner.get((int) (currentTick & (SLOTS - 1))), due);
+        }
+        return due;
+    }
+
+    private void place(Entry<K> entry) {
+        long ticks = entry.tick - currentTick;
+        if (ticks <= 0) {
+            overdue.add(entry);
+        } else if (ticks < SLOTS) {
+            inner.get((int) (entry.tick & (SLOTS - 1))).add(entry);
+        } else {
+            long blocks = (entry.tick >> SHIFT) - (currentTick >> SHIFT);
+            long block = blocks < SLOTS ? entry.tick >> SHIFT : (currentTick >> SHIFT) + SLOTS - 1;
+            outer.get((int) (block & (SLOTS - 1))).add(entry);
+        }
+    }
+
+    private static <K> void drain(List<Entry<K>> bucket, List<K> due) {
+        for (Entry<K> entry : bucket) {
+            due.add(entry.key);
+        }
+        bucket.clear();
+    }
+
+    private static <K> List<List<Entry<K>>> buckets() {
+        List<List<Entry<K>>> buckets = new ArrayList<>(SLOTS);
+        for (int i = 0; i < SLOTS; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        return buckets;
+    }
+
+    private static final class Entry<K> {
+        private final K key;
+        private final long tick;
+
+        private Entry(K key, long tick) {
+            this.key = key;
+            this.tick = tick;
+        }
+    }
+}
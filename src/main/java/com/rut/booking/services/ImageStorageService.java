@@ -0,0 +1,286 @@
+package com.rut.booking.services;
+
+import com.rut.booking.models.entities.StoredBlob;
+import com.rut.booking.repository.StoredBlobRepository;
+import com.rut.booking.storage.BlobStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Stores uploaded images content-addressed under {@code uploads/blobs} in the configured
+ * {@link BlobStore} and derives resized JPEG variants in the background: a list-size thumbnail
+ * for cards and a detail-size preview for room pages.
+ */
+@Service
+@Slf4j
+public class ImageStorageService {
+
+    static final int LIST_WIDTH = 400;
+    static final int DETAIL_WIDTH = 1200;
+    private static final float LIST_QUALITY = 0.72f;
+    private static final float DETAIL_QUALITY = 0.82f;
+    static final String BLOB_PUBLIC_PREFIX = "/uploads/blobs/";
+
+    private final StoredBlobRepository storedBlobRepository;
+    private final BlobStore blobStore;
+    private final Executor imageProcessingExecutor;
+
+    public ImageStorageService(StoredBlobRepository storedBlobRepository, BlobStore blobStore,
+                               @Qualifier("imageProcessingExecutor") Executor imageProcessingExecutor) {
+        this.storedBlobRepository = storedBlobRepository;
+        this.blobStore = blobStore;
+        this.imageProcessingExecutor = imageProcessingExecutor;
+    }
+
+    /**
+     * Streams the upload into the content-addressed store, hashing it on the way, and registers
+     * a reference to the resulting blob. Re-uploading a photo that is already stored only bumps
+     * its reference count. Must run inside the caller's transaction so the reference is rolled
+     * back together with the entity that holds it.
+     *
+     * @return public path of the blob, e.g. {@code /uploads/blobs/3f/3fa9...c1.jpg}
+     */
+    @Transactional
+    public String storeImage(MultipartFile file) {
+        Path tempFile = null;
+        try {
+            // The hash is only known after the whole upload has been read, so spool it locally first
+            tempFile = Files.createTempFile("upload-", ".part");
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size;
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                size = Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+
+            String candidatePath = BLOB_PUBLIC_PREFIX + hash.substring(0, 2) + "/" + hash + extensionOf(file);
+            storedBlobRepository.acquire(hash, candidatePath, size, LocalDateTime.now());
+            // The first upload of a file decides its extension; later duplicates reuse that path
+            Optional<StoredBlob> blob = storedBlobRepository.findByHash(hash);
+            String publicPath = blob.map(StoredBlob::getPath).orElse(candidatePath);
+
+            // Only the first reference writes the content; duplicates re-put it only if it went missing
+            boolean firstReference = blob.map(b -> b.getReferenceCount() == 1).orElse(true);
+            if (firstReference || !blobStore.exists(publicPath)) {
+                try (InputStream in = Files.newInputStream(tempFile)) {
+                    blobStore.put(publicPath, in, size, file.getContentType());
+                }
+            }
+
+            return publicPath;
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new RuntimeException("Failed to save image: " + e.getMessage(), e);
+        } finally {
+            deleteQuietly(tempFile);
+        }
+    }
+
+    /**
+     * Generates the resized variants on the image pool once the current transaction commits,
+     * then hands their public paths to {@code onReady} (typically a repository update).
+     */
+    public void generateVariantsAfterCommit(String imagePath, Consumer<ImageVariants> onReady) {
+        Runnable task = () -> imageProcessingExecutor.execute(() -> {
+            try {
+                ImageVariants variants = generateVariants(imagePath);
+                if (variants != null) {
+                    onReady.accept(variants);
+                }
+            } catch (Exception e) {
+                log.warn("Could not generate variants for {}: {}", imagePath, e.getMessage());
+            }
+        });
+
+        TransactionHooks.afterCommit(task);
+    }
+
+    /**
+     * Drops one reference to an image. Blobs are removed by {@link BlobGarbageCollector} once
+     * nothing references them; files stored before content addressing are deleted directly.
+     */
+    @Transactional
+    public void releaseImage(String imagePath) {
+        if (imagePath.startsWith(BLOB_PUBLIC_PREFIX)) {
+            storedBlobRepository.release(imagePath, LocalDateTime.now());
+        } else {
+            deleteFiles(imagePath);
+        }
+    }
+
+    /**
+     * Deletes the original and any derived variants.
+     */
+    public void deleteFiles(String imagePath) {
+        blobStore.delete(imagePath);
+        blobStore.delete(variantPath(imagePath, "list"));
+        blobStore.delete(variantPath(imagePath, "detail"));
+    }
+
+    ImageVariants generateVariants(String imagePath) throws IOException {
+        String listVariant = variantPath(imagePath, "list");
+        String detailVariant = variantPath(imagePath, "detail");
+        if (blobStore.exists(listVariant) && blobStore.exists(detailVariant)) {
+            // Same content was uploaded before; its variants are already stored
+            return new ImageVariants(listVariant, detailVariant);
+        }
+
+        BufferedImage source;
+        try (InputStream in = blobStore.open(imagePath)) {
+            source = readSubsampled(in, DETAIL_WIDTH);
+        }
+        if (source == null) {
+            log.info("Skipping variants for {}: format not supported by ImageIO", imagePath);
+            return null;
+        }
+
+        BufferedImage detail = resize(source, DETAIL_WIDTH);
+        writeJpeg(detail, detailVariant, DETAIL_QUALITY);
+        writeJpeg(resize(detail, LIST_WIDTH), listVariant, LIST_QUALITY);
+
+        return new ImageVariants(listVariant, detailVariant);
+    }
+
+    /**
+     * Decodes the image with source subsampling so a 4000px photo is never fully rasterised
+     * just to produce a 1200px preview.
+     */
+    private BufferedImage readSubsampled(InputStream in, int targetWidth) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(in)) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, width / targetWidth);
+                if (step > 1) {
+                    param.setSourceSubsampling(step, step, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage resize(BufferedImage source, int maxWidth) {
+        int width = Math.min(maxWidth, source.getWidth());
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+
+        // Always re-encode into RGB so PNGs with alpha become valid JPEGs on a white background
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private void writeJpeg(BufferedImage image, String targetPath, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(encoded)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        // Variants are small (tens to a few hundred KB), so they are encoded in memory
+        blobStore.put(targetPath, new ByteArrayInputStream(encoded.toByteArray()), encoded.size(), "image/jpeg");
+    }
+
+    private String extensionOf(MultipartFile file) {
+        String originalFilename = file.getOriginalFilename();
+        if (originalFilename != null && originalFilename.contains(".")) {
+            String extension = originalFilename.substring(originalFilename.lastIndexOf(".")).toLowerCase(Locale.ROOT);
+            if (extension.matches("\\.[a-z0-9]{1,5}")) {
+                return extension;
+            }
+        }
+        return ".jpg";
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete temporary upload: {}", e.getMessage());
+        }
+    }
+
+    private String variantPath(String imagePath, String variant) {
+        int dot = imagePath.lastIndexOf('.');
+        String base = dot > imagePath.lastIndexOf('/') ? imagePath.substring(0, dot) : imagePath;
+        return base + "_" + variant + ".jpg";
+    }
+
+    public static class ImageVariants {
+        private final String listPath;
+        private final String detailPath;
+
+        public ImageVariants(String listPath, String detailPath) {
+            this.listPath = listPath;
+            this.detailPath = detailPath;
+        }
+
+        public String getListPath() {
+            return listPath;
+        }
+
+        public String getDetailPath() {
+            return detailPath;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.rut.booking.services;
+
+import com.rut.booking.models.entities.Room;
+import com.rut.booking.models.entities.RoomBlackout;
+import com.rut.booking.models.enums.ClassPeriod;
+import com.rut.booking.repository.BookingRepository;
+import com.rut.booking.repository.RoomBlackoutRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Computes which class periods of a day are taken, as an int bitmask per room
+ * (bit {@code n - 1} for period {@code n}, see {@link ClassPeriod#getMask()}).
+ * <p>
+ * A room's mask is the OR of its bookings and of the blackout windows covering the room,
+ * its floor and its building. Checking a slot is then a single AND, and a whole day's
+ * occupancy costs two queries regardless of the number of rooms.
+ */
+@Service
+@Transactional(readOnly = true)
+public class OccupancyService {
+
+    private final BookingRepository bookingRepository;
+    private final RoomBlackoutRepository roomBlackoutRepository;
+
+    public OccupancyService(BookingRepository bookingRepository, RoomBlackoutRepository roomBlackoutRepository) {
+        this.bookingRepository = bookingRepository;
+        this.roomBlackoutRepository = roomBlackoutRepository;
+    }
+
+    /**
+     * Occupancy of every room on a date.
+     */
+    public DayOccupancy getDayOccupancy(LocalDate date) {
+        Map<Long, Integer> booked = new HashMap<>();
+        for (Object[] row : bookingRepository.findBookedPeriodsOnDate(date)) {
+            booked.merge((Long) row[0], ((ClassPeriod) row[1]).getMask(), (a, b) -> a | b);
+        }
+        return new DayOccupancy(booked, BlackoutIndex.of(roomBlackoutRepository.findOverlapping(date, date), date));
+    }
+
+    /**
+     * Occupancy of every room on each day of a range, still with one booking and one blackout query.
+     */
+    public Map<LocalDate, DayOccupancy> getOccupancy(LocalDate startDate, LocalDate endDate) {
+        Map<LocalDate, Map<Long, Integer>> bookedByDate = new HashMap<>();
+        for (Object[] row : bookingRepository.findBookedPeriodsBetween(startDate, endDate)) {
+            bookedByDate.computeIfAbsent((LocalDate) row[1], d -> new HashMap<>())
+                    .merge((Long) row[0], ((ClassPeriod) row[2]).getMask(), (a, b) -> a | b);
+        }
+        List<RoomBlackout> blackouts = roomBlackoutRepository.findOverlapping(startDate, endDate);
+
+        Map<LocalDate, DayOccupancy> occupancy = new TreeMap<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            occupancy.put(date, new DayOccupancy(bookedByDate.getOrDefault(date, Map.of()),
+                    BlackoutIndex.of(blackouts, date)));
+        }
+        return occupancy;
+    }
+
+    /**
+     * Occupancy of a single room on a date.
+     */
+    public int getOccupiedMask(Room room, LocalDate date) {
+        int mask = ClassPeriod.maskOf(bookingRepository.findBookedPeriods(room.getId(), date));
+        return mask | BlackoutIndex.of(roomBlackoutRepository.findOverlapping(date, date), date)
+                .maskFor(room.getId(), room.getBuilding(), room.getFloor());
+    }
+
+    public boolean isFree(Room room, LocalDate date, ClassPeriod period) {
+        return (getOccupiedMask(room, date) & period.getMask()) == 0;
+    }
+
+    /**
+     * The blackout closing the slot for the room, if any.
+     */
+    public Optional<RoomBlackout> findBlackout(Room room, LocalDate date, ClassPeriod period) {
+        return roomBlackoutRepository.findOverlapping(date, date).stream()
+                .filter(blackout -> blackout.covers(date) && appliesTo(blackout, room)
+                        && (blackout.getPeriodMask() & period.getMask()) != 0)
+                .findFirst();
+    }
+
+    static boolean appliesTo(RoomBlackout blackout, Room room) {
+        return switch (blackout.getScope()) {
+            case ROOM -> blackout.getRoom() != null && blackout.getRoom().getId().equals(room.getId());
+            case FLOOR -> blackout.getBuilding().equals(room.getBuilding()) && blackout.getFloor().equals(room.getFloor());
+            case BUILDING -> blackout.getBuilding().equals(room.getBuilding());
+        };
+    }
+
+    /**
+     * Taken periods of all rooms on one day.
+     */
+    public static final class DayOccupancy {
+        private final Map<Long, Integer> booked;
+        private final BlackoutIndex blackouts;
+
+        private DayOccupancy(Map<Long, Integer> booked, BlackoutIndex blackouts) {
+            this.booked = booked;
+            this.blackouts = blackouts;
+        }
+
+        public int maskFor(Room room) {
+            return maskFor(room.getId(), room.getBuilding(), room.getFloor());
+        }
+
+        /**
+         * Same as {@link #maskFor(Room)} for callers that keep room attributes outside the entity.
+         */
+        public int maskFor(Long roomId, String building, Integer floor) {
+            return booked.getOrDefault(roomId, 0) | blackouts.maskFor(roomId, building, floor);
+        }
+
+        public boolean isFree(Room room, ClassPeriod period) {
+            return (maskFor(room) & period.getMask()) == 0;
+        }
+
+        public boolean hasFreePeriod(Room room) {
+            return maskFor(room) != ClassPeriod.ALL_DAY_MASK;
+        }
+    }
+
+    /**
+     * Blackout masks of one day keyed by room, floor and building, so resolving a room is three lookups.
+     */
+    private static final class BlackoutIndex {
+        private final Map<Long, Integer> byRoom = new HashMap<>();
+        private final Map<String, Integer> byFloor = new HashMap<>();
+        private final Map<String, Integer> byBuilding = new HashMap<>();
+
+        static BlackoutIndex of(List<RoomBlackout> blackouts, LocalDate date) {
+            BlackoutIndex index = new BlackoutIndex();
+            for (RoomBlackout blackout : blackouts) {
+                if (!blackout.covers(date)) {
+                    continue;
+                }
+                int mask = blackout.getPeriodMask();
+                switch (blackout.getScope()) {
+                    case ROOM -> index.byRoom.merge(blackout.getRoom().getId(), mask, (a, b) -> a | b);
+                    case FLOOR -> index.byFloor.merge(floorKey(blackout.getBuilding(), blackout.getFloor()), mask, (a, b) -> a | b);
+                    case BUILDING -> index.byBuilding.merge(blackout.getBuilding(), mask, (a, b) -> a | b);
+                }
+            }
+            return index;
+        }
+
+        int maskFor(Long roomId, String building, Integer floor) {
+            if (byRoom.isEmpty() && byFloor.isEmpty() && byBuilding.isEmpty()) {
+                return 0;
+            }
+            return byRoom.getOrDefault(roomId, 0)
+                    | byFloor.getOrDefault(floorKey(building, floor), 0)
+                    | byBuilding.getOrDefault(building, 0);
+        }
+
+        private static String floorKey(String building, Integer floor) {
+            return building + ":" + floor;
+        }
+    }
+}
@@ -16,16 +16,22 @@ import com.itextpdf.layout.properties.HorizontalAlignment;
 import com.itextpdf.layout.properties.TextAlignment;
 import com.itextpdf.layout.properties.UnitValue;
 import com.rut.booking.models.entities.Booking;
+import com.rut.booking.models.exceptions.ResourceNotFoundException;
+import com.rut.booking.storage.BlobStore;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -34,6 +40,15 @@ public class PdfGenerationService {
     @Value("${app.pdf.storage-path:./pdf-storage}")
     private String pdfStoragePath;
 
+    @Value("${app.storage.download-url-ttl:5m}")
+    private Duration downloadUrlTtl;
+
+    private final BlobStore blobStore;
+
+    public PdfGenerationService(BlobStore blobStore) {
+        this.blobStore = blobStore;
+    }
+
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
     private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
@@ -78,13 +93,8 @@ public class PdfGenerationService {
 
     public String generateBookingConfirmationPdf(Booking booking) {
         try {
-            Path storagePath = Paths.get(pdfStoragePath);
-            if (!Files.exists(storagePath)) {
-                Files.createDirectories(storagePath);
-            }
-
             String filename = "booking_" + booking.getId() + "_" + UUID.randomUUID().toString().substring(0, 8) + ".pdf";
-            Path filePath = storagePath.resolve(filename);
+            String key = BlobStore.toKey(pdfStoragePath) + "/" + filename;
 
             ByteArrayOutputStream baos = new ByteArrayOutputStream();
             PdfWriter writer = new PdfWriter(baos);
@@ -193,10 +203,9 @@ public class PdfGenerationService {
 
             document.close();
 
-            // Write to file
-            Files.write(filePath, baos.toByteArray());
+            blobStore.put(key, new ByteArrayInputStream(baos.toByteArray()), baos.size(), "application/pdf");
 
-            return filePath.toString();
+            return key;
         } catch (Exception e) {
             throw new RuntimeException("Failed to generate PDF: " + e.getMessage(), e);
         }
@@ -219,23 +228,23 @@ public class PdfGenerationService {
     }
 
     public byte[] readPdfFile(String filePath) {
-        try {
-            Path path = Paths.get(filePath);
-            if (!Files.exists(path)) {
-                throw new RuntimeException("PDF file not found: " + filePath);
-            }
-            return Files.readAllBytes(path);
+        try (InputStream in = blobStore.open(filePath)) {
+            return in.readAllBytes();
+        } catch (ResourceNotFoundException e) {
+            throw new RuntimeException("PDF file not found: " + filePath);
         } catch (IOException e) {
             throw new RuntimeException("Failed to read PDF file: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Short-lived direct download link when the storage backend supports it.
+     */
+    public Optional<URI> getDownloadUrl(String filePath) {
+        return blobStore.presignedDownloadUrl(filePath, downloadUrlTtl);
+    }
+
     public void deletePdfFile(String filePath) {
-        try {
-            Path path = Paths.get(filePath);
-            Files.deleteIfExists(path);
-        } catch (IOException e) {
-            System.err.println("Failed to delete PDF file: " + e.getMessage());
-        }
+        blobStore.delete(filePath);
     }
 }
@@ -0,0 +1,299 @@
+package com.rut.booking.services;
+
+import com.rut.booking.dto.RoomRecommendationDto;
+import com.rut.booking.models.entities.Room;
+import com.rut.booking.models.enums.ClassPeriod;
+import com.rut.booking.models.enums.RoomType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Recommends free rooms for a slot. Hard constraints (capacity, equipment, type, building and
+ * availability) filter rows of the {@link RoomFeatureMatrix}; the remaining rooms are scored and
+ * only the best {@code limit} are kept in a bounded heap, so nothing is sorted or mapped beyond
+ * the result. The only database work is the day's occupancy.
+ */
+@Service
+@Transactional(readOnly = true)
+public class RecommendationService {
+
+    public static final int MAX_LIMIT = 50;
+    // Each memo entry is an int per room; beyond this many target rooms the memo starts over
+    private static final int MAX_MEMOIZED_TARGETS = 512;
+
+    // Worst candidate at the head, so it is the one evicted when the heap is full
+    private static final Comparator<ScoredRoom> WORST_FIRST = Comparator
+            .comparingInt((ScoredRoom c) -> c.score)
+            .thenComparing(Comparator.comparingLong((ScoredRoom c) -> c.roomId).reversed());
+
+    private final RoomFeatureMatrix roomFeatureMatrix;
+    private final OccupancyService occupancyService;
+
+    public RecommendationService(RoomFeatureMatrix roomFeatureMatrix, OccupancyService occupancyService) {
+        this.roomFeatureMatrix = roomFeatureMatrix;
+        this.occupancyService = occupancyService;
+    }
+
+    /**
+     * @param nearRoomId optional room the result should resemble (type, building, floor), e.g.
+     *                   the room the user originally wanted
+     */
+    public List<RoomRecommendationDto> recommend(LocalDate date, ClassPeriod period, int minCapacity,
+                                                 boolean projector, boolean computers, RoomType roomType,
+                                                 String building, Long nearRoomId, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (minCapacity < 0) {
+            throw new IllegalArgumentException("Minimum capacity must not be negative");
+        }
+
+        RoomFeatureMatrix.Snapshot matrix = roomFeatureMatrix.getSnapshot();
+        OccupancyService.DayOccupancy occupancy = occupancyService.getDayOccupancy(date);
+
+        int required = (projector ? RoomFeatureMatrix.PROJECTOR : 0) | (computers ? RoomFeatureMatrix.COMPUTERS : 0);
+        int near = nearRoomId != null ? matrix.indexOf(nearRoomId) : -1;
+        int periodMask = period.getMask();
+
+        PriorityQueue<ScoredRoom> top = new PriorityQueue<>(limit + 1, WORST_FIRST);
+        for (int i = 0; i < matrix.size(); i++) {
+            if (i == near
+                    || matrix.capacities[i] < minCapacity
+                    || (matrix.equipment[i] & required) != required
+                    || (roomType != null && matrix.types[i] != roomType)
+                    || (building != null && !building.equals(matrix.buildings[i]))) {
+                continue;
+            }
+            if ((occupancy.maskFor(matrix.ids[i], matrix.buildings[i], matrix.floors[i]) & periodMask) != 0) {
+                continue;
+            }
+
+            offer(top, limit, new ScoredRoom(matrix.ids[i], i, score(matrix, i, near, minCapacity)));
+        }
+
+        List<RoomRecommendationDto> result = new ArrayList<>(top.size());
+        for (ScoredRoom candidate : drainBestFirst(top)) {
+            result.add(toDto(matrix, candidate));
+        }
+        return result;
+    }
+
+    /**
+     * Ranks active rooms by similarity to {@code target}, best first, ties broken by id.
+     * <p>
+     * The part of the score that depends only on the two rooms is memoised per target for the
+     * lifetime of the current matrix; only the availability bonus is added per request. Pages
+     * are either seeked from the last returned {@code (afterScore, afterId)} or skipped by
+     * {@code offset}; both keep at most {@code offset + limit} rooms in the heap.
+     *
+     * @param occupancy null when no date and period were given, which disables the availability bonus
+     */
+    public List<ScoredRoom> rankSimilar(Room target, OccupancyService.DayOccupancy occupancy, ClassPeriod period,
+                                        Integer afterScore, Long afterId, int offset, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT || offset < 0) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT + " and offset not negative");
+        }
+        if ((afterScore == null) != (afterId == null)) {
+            throw new IllegalArgumentException("afterScore and afterId must be given together");
+        }
+
+        RoomFeatureMatrix.Snapshot matrix = roomFeatureMatrix.getSnapshot();
+        int[] staticScores = staticSimilarity(matrix, target);
+        int periodMask = occupancy != null ? period.getMask() : 0;
+        long targetId = target.getId();
+        int keep = offset + limit;
+
+        PriorityQueue<ScoredRoom> top = new PriorityQueue<>(keep + 1, WORST_FIRST);
+        for (int i = 0; i < matrix.size(); i++) {
+            long id = matrix.ids[i];
+            if (id == targetId) {
+                continue;
+            }
+            int score = staticScores[i];
+            if (occupancy != null) {
+                boolean free = (occupancy.maskFor(id, matrix.buildings[i], matrix.floors[i]) & periodMask) == 0;
+                score += free ? 200 : -50;
+            }
+            if (afterScore != null && (score > afterScore || (score == afterScore && id <= afterId))) {
+                // Already returned on an earlier page
+                continue;
+            }
+            offer(top, keep, new ScoredRoom(id, i, score));
+        }
+
+        List<ScoredRoom> ranked = drainBestFirst(top);
+        return offset >= ranked.size() ? List.of() : ranked.subList(offset, ranked.size());
+    }
+
+    /**
+     * The rooms most similar to {@code target} that are free for {@code period} in {@code occupancy},
+     * optionally limited to one building, seating at least {@code minCapacity} and not in
+     * {@code excludedRoomIds}.
+     */
+    public List<RoomRecommendationDto> findFreeSimilar(Room target, OccupancyService.DayOccupancy occupancy,
+                                                       ClassPeriod period, String building, int minCapacity,
+                                                       Set<Long> excludedRoomIds, int limit) {
+        RoomFeatureMatrix.Snapshot matrix = roomFeatureMatrix.getSnapshot();
+        int[] staticScores = staticSimilarity(matrix, target);
+        int periodMask = period.getMask();
+        long targetId = target.getId();
+
+        PriorityQueue<ScoredRoom> top = new PriorityQueue<>(limit + 1, WORST_FIRST);
+        for (int i = 0; i < matrix.size(); i++) {
+            long id = matrix.ids[i];
+            if (id == targetId || (building != null && !building.equals(matrix.buildings[i]))
+                    || matrix.capacities[i] < minCapacity || excludedRoomIds.contains(id)
+                    || (occupancy.maskFor(id, matrix.buildings[i], matrix.floors[i]) & periodMask) != 0) {
+                continue;
+            }
+            offer(top, limit, new ScoredRoom(id, i, staticScores[i]));
+        }
+
+        List<RoomRecommendationDto> result = new ArrayList<>(top.size());
+        for (ScoredRoom candidate : drainBestFirst(top)) {
+            result.add(toDto(matrix, candidate));
+        }
+        return result;
+    }
+
+    private int[] staticSimilarity(RoomFeatureMatrix.Snapshot matrix, Room target) {
+        int[] memo = matrix.similarityMemo.get(target.getId());
+        if (memo != null) {
+            return memo;
+        }
+        if (matrix.similarityMemo.size() >= MAX_MEMOIZED_TARGETS) {
+            matrix.similarityMemo.clear();
+        }
+
+        int targetCapacity = target.getCapacity() != null ? target.getCapacity() : 0;
+        int targetEquipment = RoomFeatureMatrix.equipmentOf(target);
+        int[] scores = new int[matrix.size()];
+        for (int i = 0; i < scores.length; i++) {
+            int score = 0;
+
+            // Same room type: +100 points
+            if (matrix.types[i] == target.getRoomType()) score += 100;
+
+            // Capacity similarity (within 20%): +50 points, (within 50%): +25 points
+            if (targetCapacity > 0) {
+                double capacityDiff = Math.abs((double) (matrix.capacities[i] - targetCapacity) / targetCapacity);
+                if (capacityDiff <= 0.2) {
+                    score += 50;
+                } else if (capacityDiff <= 0.5) {
+                    score += 25;
+                }
+            }
+
+            // Equipment both rooms have
+            int shared = matrix.equipment[i] & targetEquipment;
+            if ((shared & RoomFeatureMatrix.PROJECTOR) != 0) score += 20;
+            if ((shared & RoomFeatureMatrix.COMPUTERS) != 0) score += 20;
+            if ((shared & RoomFeatureMatrix.WHITEBOARD) != 0) score += 10;
+
+            // Same building: +30 points, same floor: +15 points
+            if (target.getBuilding() != null && target.getBuilding().equals(matrix.buildings[i])) score += 30;
+            if (target.getFloor() != null && target.getFloor().equals(matrix.floors[i])) score += 15;
+
+            // Higher rating: up to +30 points
+            score += (int) (matrix.ratings[i] * 6);
+            scores[i] = score;
+        }
+        matrix.similarityMemo.put(target.getId(), scores);
+        return scores;
+    }
+
+    private static void offer(PriorityQueue<ScoredRoom> top, int capacity, ScoredRoom candidate) {
+        if (top.size() < capacity) {
+            top.add(candidate);
+        } else if (WORST_FIRST.compare(candidate, top.peek()) > 0) {
+            top.poll();
+            top.add(candidate);
+        }
+    }
+
+    private static List<ScoredRoom> drainBestFirst(PriorityQueue<ScoredRoom> top) {
+        List<ScoredRoom> ranked = new ArrayList<>(top);
+        ranked.sort(WORST_FIRST.reversed());
+        return ranked;
+    }
+
+    /**
+     * Same weights as the similar-rooms ranking, with capacity measured against what was asked
+     * for: a room barely larger than needed beats a half-empty hall.
+     */
+    private int score(RoomFeatureMatrix.Snapshot matrix, int i, int near, int minCapacity) {
+        int score = 0;
+
+        if (near >= 0) {
+            if (matrix.types[i] == matrix.types[near]) score += 100;
+            // Unknown location matches nothing, as in the similar-rooms ranking
+            if (matrix.buildings[near] != null && Objects.equals(matrix.buildings[i], matrix.buildings[near])) {
+                score += 30;
+                if (matrix.floors[near] != null && Objects.equals(matrix.floors[i], matrix.floors[near])) score += 15;
+            }
+        }
+
+        if (minCapacity > 0) {
+            double spare = (double) (matrix.capacities[i] - minCapacity) / minCapacity;
+            if (spare <= 0.2) {
+                score += 50;
+            } else if (spare <= 0.5) {
+                score += 25;
+            }
+        }
+
+        int equipment = matrix.equipment[i];
+        if ((equipment & RoomFeatureMatrix.PROJECTOR) != 0) score += 20;
+        if ((equipment & RoomFeatureMatrix.COMPUTERS) != 0) score += 20;
+        if ((equipment & RoomFeatureMatrix.WHITEBOARD) != 0) score += 10;
+
+        // 5.0 rating = 30 points
+        score += (int) (matrix.ratings[i] * 6);
+        return score;
+    }
+
+    private RoomRecommendationDto toDto(RoomFeatureMatrix.Snapshot matrix, ScoredRoom candidate) {
+        int i = candidate.row;
+        RoomRecommendationDto dto = new RoomRecommendationDto();
+        dto.setRoomId(candidate.roomId);
+        dto.setNumber(matrix.numbers[i]);
+        dto.setRoomType(matrix.types[i]);
+        dto.setBuilding(matrix.buildings[i]);
+        dto.setFloor(matrix.floors[i]);
+        dto.setCapacity(matrix.capacities[i]);
+        dto.setHasProjector((matrix.equipment[i] & RoomFeatureMatrix.PROJECTOR) != 0);
+        dto.setHasComputers((matrix.equipment[i] & RoomFeatureMatrix.COMPUTERS) != 0);
+        dto.setHasWhiteboard((matrix.equipment[i] & RoomFeatureMatrix.WHITEBOARD) != 0);
+        dto.setAverageRating(matrix.ratings[i]);
+        dto.setScore(candidate.score);
+        return dto;
+    }
+
+    public static final class ScoredRoom {
+        private final long roomId;
+        private final int row;
+        private final int score;
+
+        private ScoredRoom(long roomId, int row, int score) {
+            this.roomId = roomId;
+            this.row = row;
+            this.score = score;
+        }
+
+        public long getRoomId() {
+            return roomId;
+        }
+
+        public int getScore() {
+            return score;
+        }
+    }
+}
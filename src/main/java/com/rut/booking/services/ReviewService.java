@@ -6,20 +6,17 @@ import com.rut.booking.dto.ReviewDto;
 import com.rut.booking.models.entities.Review;
 import com.rut.booking.models.entities.Room;
 import com.rut.booking.models.entities.User;
+import com.rut.booking.models.enums.OutboxEventType;
 import com.rut.booking.models.exceptions.ResourceNotFoundException;
+import com.rut.booking.outbox.OutboxService;
 import com.rut.booking.repository.ReviewRepository;
-import com.rut.booking.search.RoomSearchService;
-import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,17 +27,21 @@ public class ReviewService {
     private final UserService userService;
     private final RoomService roomService;
     private final DtoMapper dtoMapper;
-    private final RoomSearchService roomSearchService;
-    private final String uploadDir = "./uploads/reviews";
+    private final ImageStorageService imageStorageService;
+    private final OutboxService outboxService;
+    private final RoomFeatureMatrix roomFeatureMatrix;
 
     public ReviewService(ReviewRepository reviewRepository, UserService userService,
                          RoomService roomService, DtoMapper dtoMapper,
-                         @Lazy RoomSearchService roomSearchService) {
+                         ImageStorageService imageStorageService, OutboxService outboxService,
+                         RoomFeatureMatrix roomFeatureMatrix) {
         this.reviewRepository = reviewRepository;
         this.userService = userService;
         this.roomService = roomService;
         this.dtoMapper = dtoMapper;
-        this.roomSearchService = roomSearchService;
+        this.imageStorageService = imageStorageService;
+        this.outboxService = outboxService;
+        this.roomFeatureMatrix = roomFeatureMatrix;
     }
 
     public Review findById(Long id) {
@@ -122,19 +123,23 @@ public class ReviewService {
 
         // Handle image upload
         if (image != null && !image.isEmpty()) {
-            String imagePath = saveImage(image);
+            String imagePath = imageStorageService.storeImage(image);
             review.setImagePath(imagePath);
         }
 
         ReviewDto saved = dtoMapper.toReviewDto(reviewRepository.save(review));
 
+        if (image != null && !image.isEmpty()) {
+            scheduleThumbnail(review);
+        }
+
         // Send notification to dispatcher if issues are reported
         if (request.getIssues() != null && !request.getIssues().trim().isEmpty()) {
             notifyDispatcherAboutIssues(review, room);
         }
 
         // Reindex room in Elasticsearch
-        roomSearchService.reindexRoomAfterReview(request.getRoomId());
+        publishReviewChanged(review);
 
         return saved;
     }
@@ -156,21 +161,26 @@ public class ReviewService {
         if (image != null && !image.isEmpty()) {
             // Delete old image if exists
             if (review.getImagePath() != null) {
-                deleteImage(review.getImagePath());
+                imageStorageService.releaseImage(review.getImagePath());
             }
-            String imagePath = saveImage(image);
+            String imagePath = imageStorageService.storeImage(image);
             review.setImagePath(imagePath);
+            review.setImageThumbPath(null);
         }
 
         ReviewDto saved = dtoMapper.toReviewDto(reviewRepository.save(review));
 
+        if (image != null && !image.isEmpty()) {
+            scheduleThumbnail(review);
+        }
+
         // Send notification to dispatcher if issues are reported
         if (request.getIssues() != null && !request.getIssues().trim().isEmpty()) {
             notifyDispatcherAboutIssues(review, review.getRoom());
         }
 
         // Reindex room in Elasticsearch
-        roomSearchService.reindexRoomAfterReview(review.getRoom().getId());
+        publishReviewChanged(review);
 
         return saved;
     }
@@ -178,7 +188,6 @@ public class ReviewService {
     @Transactional
     public void deleteReview(Long reviewId, Long userId) {
         Review review = findById(reviewId);
-        Long roomId = review.getRoom().getId();
         User currentUser = userService.findById(userId);
 
         // Check if user is the author or an admin
@@ -196,7 +205,7 @@ public class ReviewService {
         reviewRepository.save(review);
 
         // Reindex room in Elasticsearch
-        roomSearchService.reindexRoomAfterReview(roomId);
+        publishReviewChanged(review);
     }
 
     public List<ReviewDto> getDeletedReviews() {
@@ -213,51 +222,30 @@ public class ReviewService {
         reviewRepository.save(review);
     }
 
-    private String saveImage(MultipartFile file) {
-        try {
-            Path uploadPath = Paths.get(uploadDir);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
-
-            String originalFilename = file.getOriginalFilename();
-            String extension = originalFilename != null && originalFilename.contains(".")
-                    ? originalFilename.substring(originalFilename.lastIndexOf("."))
-                    : ".jpg";
-            String filename = UUID.randomUUID().toString() + extension;
-            Path filePath = uploadPath.resolve(filename);
-
-            Files.copy(file.getInputStream(), filePath);
-
-            return "/uploads/reviews/" + filename;
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to save image: " + e.getMessage(), e);
-        }
+    private void scheduleThumbnail(Review review) {
+        Long reviewId = review.getId();
+        String imagePath = review.getImagePath();
+        imageStorageService.generateVariantsAfterCommit(imagePath, variants ->
+                reviewRepository.updateImageThumbPath(reviewId, imagePath, variants.getListPath()));
     }
 
-    private void deleteImage(String imagePath) {
-        try {
-            Path filePath = Paths.get("." + imagePath);
-            Files.deleteIfExists(filePath);
-        } catch (IOException e) {
-            System.err.println("Failed to delete image: " + e.getMessage());
-        }
+    private void publishReviewChanged(Review review) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("roomId", review.getRoom().getId());
+        payload.put("rating", review.getRating());
+        payload.put("deleted", Boolean.TRUE.equals(review.getIsDeleted()));
+        outboxService.publish(OutboxEventType.REVIEW_CHANGED, "Review", review.getId(), payload);
+        // Ratings feed recommendation scores
+        roomFeatureMatrix.invalidate();
     }
 
     private void notifyDispatcherAboutIssues(Review review, Room room) {
-        // Log the issue for dispatcher notification
-        String issuesList = review.getIssues();
-        String userName = review.getUser().getFullName();
-        String roomNumber = room.getNumber();
-
-        System.out.println("=== DISPATCHER NOTIFICATION ===");
-        System.out.println("Issues reported in room " + roomNumber + " by " + userName);
-        System.out.println("Issues: " + issuesList);
-        System.out.println("Review ID: " + review.getId());
-        System.out.println("Please check the admin panel for details.");
-        System.out.println("===============================");
-
-        // TODO: In production, this should send an email or push notification to dispatcher
-        // For now, we're just logging it to the console
+        // Delivered by the dispatcher notification consumer after commit
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("roomId", room.getId());
+        payload.put("roomNumber", room.getNumber());
+        payload.put("reportedBy", review.getUser().getFullName());
+        payload.put("issues", review.getIssues());
+        outboxService.publish(OutboxEventType.ISSUES_REPORTED, "Review", review.getId(), payload);
     }
 }
@@ -0,0 +1,146 @@
+package com.rut.booking.services;
+
+import com.rut.booking.models.entities.Room;
+import com.rut.booking.models.enums.RoomType;
+import com.rut.booking.repository.ReviewRepository;
+import com.rut.booking.repository.RoomRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Column-oriented copy of the attributes of all active rooms that recommendations filter and
+ * rank on. Scoring a few hundred rooms then touches only primitive arrays instead of entities
+ * and lazy review collections.
+ * <p>
+ * The matrix is built on first use and rebuilt after {@link #invalidate()}, which room and
+ * review changes call on the node that made them, or once it is older than
+ * {@code app.recommendations.max-age}. Other nodes therefore see a change within that age.
+ */
+@Service
+public class RoomFeatureMatrix {
+
+    public static final int PROJECTOR = 1;
+    public static final int COMPUTERS = 1 << 1;
+    public static final int WHITEBOARD = 1 << 2;
+
+    private final RoomRepository roomRepository;
+    private final ReviewRepository reviewRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long maxAgeNanos;
+    private volatile Snapshot snapshot;
+
+    public RoomFeatureMatrix(RoomRepository roomRepository, ReviewRepository reviewRepository,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${app.recommendations.max-age:1m}") Duration maxAge) {
+        this.roomRepository = roomRepository;
+        this.reviewRepository = reviewRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.maxAgeNanos = maxAge.toNanos();
+    }
+
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null || System.nanoTime() - current.builtAt > maxAgeNanos) {
+            current = rebuild();
+        }
+        return current;
+    }
+
+    /**
+     * Drops the matrix once the current transaction commits, so a rebuild cannot read the old rows.
+     */
+    public void invalidate() {
+        TransactionHooks.afterCommit(() -> snapshot = null);
+    }
+
+    private synchronized Snapshot rebuild() {
+        // Another caller may have rebuilt it while this one waited
+        Snapshot current = snapshot;
+        if (current != null && System.nanoTime() - current.builtAt <= maxAgeNanos) {
+            return current;
+        }
+        current = transactionTemplate.execute(status -> build());
+        snapshot = current;
+        return current;
+    }
+
+    private Snapshot build() {
+        Map<Long, Double> ratings = new HashMap<>();
+        for (Object[] row : reviewRepository.findAverageRatings()) {
+            ratings.put((Long) row[0], ((Number) row[1]).doubleValue());
+        }
+
+        List<Room> rooms = roomRepository.findByIsActiveTrue();
+        Snapshot built = new Snapshot(rooms.size());
+        for (int i = 0; i < rooms.size(); i++) {
+            Room room = rooms.get(i);
+            built.ids[i] = room.getId();
+            built.numbers[i] = room.getNumber();
+            built.types[i] = room.getRoomType();
+            built.capacities[i] = room.getCapacity() != null ? room.getCapacity() : 0;
+            built.equipment[i] = equipmentOf(room);
+            built.buildings[i] = room.getBuilding();
+            built.floors[i] = room.getFloor();
+            built.ratings[i] = ratings.getOrDefault(room.getId(), 0.0);
+            built.index.put(room.getId(), i);
+        }
+        return built;
+    }
+
+    static int equipmentOf(Room room) {
+        int mask = 0;
+        if (Boolean.TRUE.equals(room.getHasProjector())) mask |= PROJECTOR;
+        if (Boolean.TRUE.equals(room.getHasComputers())) mask |= COMPUTERS;
+        if (Boolean.TRUE.equals(room.getHasWhiteboard())) mask |= WHITEBOARD;
+        return mask;
+    }
+
+    /**
+     * The arrays are read-only once published; row {@code i} of every array describes the same room.
+     */
+    public static final class Snapshot {
+        final long[] ids;
+        final String[] numbers;
+        final RoomType[] types;
+        final int[] capacities;
+        final int[] equipment;
+        final String[] buildings;
+        final Integer[] floors;
+        final double[] ratings;
+        final Map<Long, Integer> index;
+        // Static part of the similarity score against every row, per target room; see RecommendationService
+        final Map<Long, int[]> similarityMemo = new ConcurrentHashMap<>();
+        final long builtAt = System.nanoTime();
+
+        private Snapshot(int size) {
+            this.ids = new long[size];
+            this.numbers = new String[size];
+            this.types = new RoomType[size];
+            this.capacities = new int[size];
+            this.equipment = new int[size];
+            this.buildings = new String[size];
+            this.floors = new Integer[size];
+            this.ratings = new double[size];
+            this.index = new HashMap<>(size * 2);
+        }
+
+        public int size() {
+            return ids.length;
+        }
+
+        /**
+         * @return row of the room, or -1 if it is not an active room
+         */
+        public int indexOf(Long roomId) {
+            Integer row = index.get(roomId);
+            return row != null ? row : -1;
+        }
+    }
+}
@@ -6,19 +6,18 @@ import com.rut.booking.dto.RoomIssueDto;
 import com.rut.booking.models.entities.RoomIssue;
 import com.rut.booking.models.entities.Room;
 import com.rut.booking.models.entities.User;
+import com.rut.booking.models.enums.OutboxEventType;
 import com.rut.booking.models.exceptions.ResourceNotFoundException;
+import com.rut.booking.outbox.OutboxService;
 import com.rut.booking.repository.RoomIssueRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,14 +28,21 @@ public class RoomIssueService {
     private final UserService userService;
     private final RoomService roomService;
     private final DtoMapper dtoMapper;
-    private final String uploadDir = "./uploads/issues";
+    private final ImageStorageService imageStorageService;
+    private final OutboxService outboxService;
+    private final BlackoutService blackoutService;
 
     public RoomIssueService(RoomIssueRepository roomIssueRepository, UserService userService,
-                            RoomService roomService, DtoMapper dtoMapper) {
+                            RoomService roomService, DtoMapper dtoMapper,
+                            ImageStorageService imageStorageService, OutboxService outboxService,
+                            BlackoutService blackoutService) {
         this.roomIssueRepository = roomIssueRepository;
         this.userService = userService;
         this.roomService = roomService;
         this.dtoMapper = dtoMapper;
+        this.imageStorageService = imageStorageService;
+        this.outboxService = outboxService;
+        this.blackoutService = blackoutService;
     }
 
     public RoomIssue findById(Long id) {
@@ -79,12 +85,16 @@ public class RoomIssueService {
 
         // Handle image upload
         if (image != null && !image.isEmpty()) {
-            String imagePath = saveImage(image);
+            String imagePath = imageStorageService.storeImage(image);
             issue.setImagePath(imagePath);
         }
 
         RoomIssueDto saved = dtoMapper.toRoomIssueDto(roomIssueRepository.save(issue));
 
+        if (image != null && !image.isEmpty()) {
+            scheduleThumbnail(issue);
+        }
+
         // Notify dispatcher
         notifyDispatcherAboutIssues(issue, room);
 
@@ -100,6 +110,9 @@ public class RoomIssueService {
         issue.setResolvedAt(LocalDateTime.now());
         issue.setResolvedBy(resolvedBy);
         roomIssueRepository.save(issue);
+
+        // The room is usable again
+        blackoutService.endBlackoutsForIssue(issueId);
     }
 
     @Transactional
@@ -115,42 +128,27 @@ public class RoomIssueService {
             throw new IllegalStateException("You can only delete your own issue reports");
         }
 
+        if (issue.getImagePath() != null) {
+            imageStorageService.releaseImage(issue.getImagePath());
+        }
+        blackoutService.detachIssue(issueId);
         roomIssueRepository.delete(issue);
     }
 
-    private String saveImage(MultipartFile file) {
-        try {
-            Path uploadPath = Paths.get(uploadDir);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
-
-            String originalFilename = file.getOriginalFilename();
-            String extension = originalFilename != null && originalFilename.contains(".")
-                    ? originalFilename.substring(originalFilename.lastIndexOf("."))
-                    : ".jpg";
-            String filename = UUID.randomUUID().toString() + extension;
-            Path filePath = uploadPath.resolve(filename);
-
-            Files.copy(file.getInputStream(), filePath);
-
-            return "/uploads/issues/" + filename;
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to save image: " + e.getMessage(), e);
-        }
+    private void scheduleThumbnail(RoomIssue issue) {
+        Long issueId = issue.getId();
+        String imagePath = issue.getImagePath();
+        imageStorageService.generateVariantsAfterCommit(imagePath, variants ->
+                roomIssueRepository.updateImageThumbPath(issueId, imagePath, variants.getListPath()));
     }
 
     private void notifyDispatcherAboutIssues(RoomIssue issue, Room room) {
-        // Log the issue for dispatcher notification
-        String issuesList = issue.getIssues();
-        String userName = issue.getUser().getFullName();
-        String roomNumber = room.getNumber();
-
-        System.out.println("=== DISPATCHER NOTIFICATION ===");
-        System.out.println("Issues reported in room " + roomNumber + " by " + userName);
-        System.out.println("Issues: " + issuesList);
-        System.out.println("Issue ID: " + issue.getId());
-        System.out.println("Please check the admin panel for details.");
-        System.out.println("===============================");
+        // Delivered by the dispatcher notification consumer after commit
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("roomId", room.getId());
+        payload.put("roomNumber", room.getNumber());
+        payload.put("reportedBy", issue.getUser().getFullName());
+        payload.put("issues", issue.getIssues());
+        outboxService.publish(OutboxEventType.ISSUES_REPORTED, "RoomIssue", issue.getId(), payload);
     }
 }
@@ -4,9 +4,10 @@ import com.rut.booking.dto.DtoMapper;
 import com.rut.booking.dto.RoomDto;
 import com.rut.booking.models.entities.Room;
 import com.rut.booking.models.enums.ClassPeriod;
+import com.rut.booking.models.enums.OutboxEventType;
 import com.rut.booking.models.enums.RoomType;
 import com.rut.booking.models.exceptions.ResourceNotFoundException;
-import com.rut.booking.repository.BookingRepository;
+import com.rut.booking.outbox.OutboxService;
 import com.rut.booking.repository.FavoriteRepository;
 import com.rut.booking.repository.RoomRepository;
 import com.rut.booking.search.RoomSearchService;
@@ -15,14 +16,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,20 +27,31 @@ import java.util.stream.Collectors;
 public class RoomService {
 
     private final RoomRepository roomRepository;
-    private final BookingRepository bookingRepository;
     private final FavoriteRepository favoriteRepository;
     private final DtoMapper dtoMapper;
     private final RoomSearchService roomSearchService;
-    private final String uploadDir = "./uploads/rooms";
-
-    public RoomService(RoomRepository roomRepository, BookingRepository bookingRepository,
-                       FavoriteRepository favoriteRepository, DtoMapper dtoMapper,
-                       @Lazy RoomSearchService roomSearchService) {
+    private final EntityCacheService entityCacheService;
+    private final ImageStorageService imageStorageService;
+    private final OutboxService outboxService;
+    private final OccupancyService occupancyService;
+    private final RecommendationService recommendationService;
+    private final RoomFeatureMatrix roomFeatureMatrix;
+
+    public RoomService(RoomRepository roomRepository, FavoriteRepository favoriteRepository, DtoMapper dtoMapper,
+                       @Lazy RoomSearchService roomSearchService, EntityCacheService entityCacheService,
+                       ImageStorageService imageStorageService, OutboxService outboxService,
+                       OccupancyService occupancyService, RecommendationService recommendationService,
+                       RoomFeatureMatrix roomFeatureMatrix) {
         this.roomRepository = roomRepository;
-        this.bookingRepository = bookingRepository;
         this.favoriteRepository = favoriteRepository;
         this.dtoMapper = dtoMapper;
         this.roomSearchService = roomSearchService;
+        this.entityCacheService = entityCacheService;
+        this.imageStorageService = imageStorageService;
+        this.outboxService = outboxService;
+        this.occupancyService = occupancyService;
+        this.recommendationService = recommendationService;
+        this.roomFeatureMatrix = roomFeatureMatrix;
     }
 
     public Room findById(Long id) {
@@ -136,27 +144,19 @@ public class RoomService {
         }
 
         // Apply availability filter if date or period is specified
+        // (without a date, the period is checked for today)
+        OccupancyService.DayOccupancy occupancy = date != null || period != null
+                ? occupancyService.getDayOccupancy(date != null ? date : LocalDate.now())
+                : null;
         List<RoomDto> result = new ArrayList<>();
         for (Room room : rooms) {
             boolean isAvailable = true;
 
-            if (date != null && period != null) {
-                // Check if room is available for specific date and period
-                isAvailable = !bookingRepository.isRoomBookedForPeriod(room.getId(), date, period);
-            } else if (date != null) {
+            if (period != null) {
+                isAvailable = occupancy.isFree(room, period);
+            } else if (occupancy != null) {
                 // Check if room has any available period on this date
-                boolean hasAvailablePeriod = false;
-                for (ClassPeriod p : ClassPeriod.values()) {
-                    if (!bookingRepository.isRoomBookedForPeriod(room.getId(), date, p)) {
-                        hasAvailablePeriod = true;
-                        break;
-                    }
-                }
-                isAvailable = hasAvailablePeriod;
-            } else if (period != null) {
-                // Check if room is available for this period today or in the future
-                LocalDate today = LocalDate.now();
-                isAvailable = !bookingRepository.isRoomBookedForPeriod(room.getId(), today, period);
+                isAvailable = occupancy.hasFreePeriod(room);
             }
 
             if (isAvailable) {
@@ -171,11 +171,11 @@ public class RoomService {
 
     public List<RoomDto> getAvailableRooms(LocalDate date, ClassPeriod period, Long userId) {
         List<Room> allRooms = roomRepository.findByIsActiveTrue();
+        OccupancyService.DayOccupancy occupancy = occupancyService.getDayOccupancy(date);
         List<RoomDto> availableRooms = new ArrayList<>();
 
         for (Room room : allRooms) {
-            boolean isBooked = bookingRepository.isRoomBookedForPeriod(room.getId(), date, period);
-            if (!isBooked) {
+            if (occupancy.isFree(room, period)) {
                 boolean isFavorite = userId != null &&
                         favoriteRepository.existsByUserIdAndRoomId(userId, room.getId());
                 availableRooms.add(dtoMapper.toRoomDto(room, isFavorite));
@@ -186,14 +186,8 @@ public class RoomService {
     }
 
     public List<ClassPeriod> getAvailablePeriods(Long roomId, LocalDate date) {
-        List<ClassPeriod> availablePeriods = new ArrayList<>();
-        for (ClassPeriod period : ClassPeriod.values()) {
-            boolean isBooked = bookingRepository.isRoomBookedForPeriod(roomId, date, period);
-            if (!isBooked) {
-                availablePeriods.add(period);
-            }
-        }
-        return availablePeriods;
+        int occupied = occupancyService.getOccupiedMask(findById(roomId), date);
+        return ClassPeriod.fromMask(~occupied & ClassPeriod.ALL_DAY_MASK);
     }
 
     public List<RoomDto> getSimilarRooms(Long roomId, int limit) {
@@ -205,100 +199,44 @@ public class RoomService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Rooms ranked by similarity to {@code roomId}, best first. With a date and period, free rooms
+     * get a bonus and carry {@link RoomDto#getIsAvailable()}. The next page starts after the
+     * last returned room's {@code (similarityScore, id)}; {@code offset} is kept for old clients.
+     */
     public List<RoomDto> getSimilarRoomsWithAvailability(Long roomId, LocalDate date, ClassPeriod period,
+                                                          Integer afterScore, Long afterId,
                                                           int offset, int limit, Long userId) {
         Room targetRoom = findById(roomId);
-        List<Room> allRooms = roomRepository.findByIsActiveTrue();
-
-        // Calculate suitability score for each room
-        List<RoomWithScore> scoredRooms = new ArrayList<>();
-        for (Room room : allRooms) {
-            if (room.getId().equals(roomId)) continue; // Skip the target room itself
-
-            int score = calculateSuitabilityScore(targetRoom, room, date, period);
-            scoredRooms.add(new RoomWithScore(room, score));
-        }
-
-        // Sort by score (descending) and convert to DTOs
-        return scoredRooms.stream()
-                .sorted((a, b) -> Integer.compare(b.score, a.score))
-                .skip(offset)
-                .limit(limit)
-                .map(rws -> {
-                    boolean isFavorite = userId != null &&
-                            favoriteRepository.existsByUserIdAndRoomId(userId, rws.room.getId());
-                    RoomDto dto = dtoMapper.toRoomDto(rws.room, isFavorite);
-                    // Add availability info
-                    if (date != null && period != null) {
-                        boolean isAvailable = !bookingRepository.isRoomBookedForPeriod(rws.room.getId(), date, period);
-                        dto.setIsAvailable(isAvailable);
-                    }
-                    return dto;
-                })
-                .collect(Collectors.toList());
-    }
-
-    private int calculateSuitabilityScore(Room targetRoom, Room candidateRoom, LocalDate date, ClassPeriod period) {
-        int score = 0;
-
-        // Same room type: +100 points
-        if (candidateRoom.getRoomType() == targetRoom.getRoomType()) {
-            score += 100;
-        }
-
-        // Capacity similarity (within 20%): +50 points, (within 50%): +25 points
-        int targetCapacity = targetRoom.getCapacity();
-        int candidateCapacity = candidateRoom.getCapacity();
-        double capacityDiff = Math.abs((double)(candidateCapacity - targetCapacity) / targetCapacity);
-        if (capacityDiff <= 0.2) {
-            score += 50;
-        } else if (capacityDiff <= 0.5) {
-            score += 25;
-        }
-
-        // Equipment matching
-        if (targetRoom.getHasProjector() && candidateRoom.getHasProjector()) score += 20;
-        if (targetRoom.getHasComputers() && candidateRoom.getHasComputers()) score += 20;
-        if (targetRoom.getHasWhiteboard() && candidateRoom.getHasWhiteboard()) score += 10;
-
-        // Same building: +30 points
-        if (candidateRoom.getBuilding().equals(targetRoom.getBuilding())) {
-            score += 30;
-        }
+        OccupancyService.DayOccupancy occupancy = date != null && period != null
+                ? occupancyService.getDayOccupancy(date)
+                : null;
 
-        // Same floor: +15 points
-        if (candidateRoom.getFloor().equals(targetRoom.getFloor())) {
-            score += 15;
-        }
+        List<RecommendationService.ScoredRoom> ranked = recommendationService.rankSimilar(
+                targetRoom, occupancy, period, afterScore, afterId, offset, limit);
 
-        // Available for requested date/period: +200 points (highest priority if date/period specified)
-        if (date != null && period != null) {
-            boolean isAvailable = !bookingRepository.isRoomBookedForPeriod(candidateRoom.getId(), date, period);
-            if (isAvailable) {
-                score += 200;
-            } else {
-                score -= 50; // Penalize unavailable rooms
+        // Only the page itself is loaded and mapped; rooms come from the second-level cache
+        Map<Long, Room> rooms = roomRepository.findAllById(
+                        ranked.stream().map(RecommendationService.ScoredRoom::getRoomId).toList())
+                .stream()
+                .collect(Collectors.toMap(Room::getId, room -> room));
+
+        List<RoomDto> result = new ArrayList<>(ranked.size());
+        for (RecommendationService.ScoredRoom scored : ranked) {
+            Room room = rooms.get(scored.getRoomId());
+            if (room == null) {
+                // Deleted since the feature matrix was built
+                continue;
             }
+            boolean isFavorite = userId != null && favoriteRepository.existsByUserIdAndRoomId(userId, room.getId());
+            RoomDto dto = dtoMapper.toRoomDto(room, isFavorite);
+            dto.setSimilarityScore(scored.getScore());
+            if (occupancy != null) {
+                dto.setIsAvailable(occupancy.isFree(room, period));
+            }
+            result.add(dto);
         }
-
-        // Higher rating: up to +30 points
-        Double avgRating = candidateRoom.getAverageRating();
-        if (avgRating != null && avgRating > 0) {
-            score += (int)(avgRating * 6); // 5.0 rating = 30 points
-        }
-
-        return score;
-    }
-
-    // Helper class for scoring
-    private static class RoomWithScore {
-        Room room;
-        int score;
-
-        RoomWithScore(Room room, int score) {
-            this.room = room;
-            this.score = score;
-        }
+        return result;
     }
 
     public List<String> getAllBuildings() {
@@ -340,14 +278,21 @@ public class RoomService {
 
         // Handle image upload
         if (image != null && !image.isEmpty()) {
-            String imagePath = saveRoomImage(image);
+            String imagePath = imageStorageService.storeImage(image);
             room.setImagePath(imagePath);
         }
 
         Room saved = roomRepository.save(room);
 
+        if (image != null && !image.isEmpty()) {
+            scheduleImageVariants(saved);
+        }
+
+        // A new room may add a building or floor to the cached directory
+        entityCacheService.evictRoom(saved.getId());
+
         // Index in Elasticsearch
-        roomSearchService.indexRoom(saved);
+        publishRoomChanged(saved);
 
         return dtoMapper.toRoomDto(saved);
     }
@@ -371,48 +316,42 @@ public class RoomService {
         if (image != null && !image.isEmpty()) {
             // Delete old image if exists
             if (room.getImagePath() != null) {
-                deleteRoomImage(room.getImagePath());
+                imageStorageService.releaseImage(room.getImagePath());
             }
-            String imagePath = saveRoomImage(image);
+            String imagePath = imageStorageService.storeImage(image);
             room.setImagePath(imagePath);
+            room.setImageThumbPath(null);
+            room.setImageDetailPath(null);
         }
 
         Room saved = roomRepository.save(room);
 
+        if (image != null && !image.isEmpty()) {
+            scheduleImageVariants(saved);
+        }
+
+        // Drop this node's cached room and building/floor directory. The second-level cache is
+        // node-local Caffeine, so other nodes serve the old row until their entry expires
+        // (up to 1h for the rooms and room-directory regions, see application.conf)
+        entityCacheService.evictRoom(saved.getId());
+
         // Reindex in Elasticsearch
-        roomSearchService.indexRoom(saved);
+        publishRoomChanged(saved);
 
         return dtoMapper.toRoomDto(saved);
     }
 
-    private String saveRoomImage(MultipartFile file) {
-        try {
-            Path uploadPath = Paths.get(uploadDir);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
-
-            String originalFilename = file.getOriginalFilename();
-            String extension = originalFilename != null && originalFilename.contains(".")
-                    ? originalFilename.substring(originalFilename.lastIndexOf("."))
-                    : ".jpg";
-            String filename = UUID.randomUUID().toString() + extension;
-            Path filePath = uploadPath.resolve(filename);
-
-            Files.copy(file.getInputStream(), filePath);
-
-            return "/uploads/rooms/" + filename;
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to save room image: " + e.getMessage(), e);
-        }
+    private void publishRoomChanged(Room room) {
+        outboxService.publish(OutboxEventType.ROOM_CHANGED, "Room", room.getId(),
+                Map.of("number", room.getNumber(), "active", Boolean.TRUE.equals(room.getIsActive())));
+        roomFeatureMatrix.invalidate();
     }
 
-    private void deleteRoomImage(String imagePath) {
-        try {
-            Path filePath = Paths.get("." + imagePath);
-            Files.deleteIfExists(filePath);
-        } catch (IOException e) {
-            System.err.println("Failed to delete room image: " + e.getMessage());
-        }
+    private void scheduleImageVariants(Room room) {
+        Long roomId = room.getId();
+        String imagePath = room.getImagePath();
+        imageStorageService.generateVariantsAfterCommit(imagePath, variants ->
+                roomRepository.updateImageVariants(roomId, imagePath,
+                        variants.getListPath(), variants.getDetailPath()));
     }
 }
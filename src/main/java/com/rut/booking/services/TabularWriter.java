@@ -0,0 +1,128 @@
+package com.rut.booking.services;
+
+import com.rut.booking.models.enums.ExportFormat;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes export rows one at a time to CSV or XLSX. Neither keeps more than a small window of
+ * rows in memory: CSV goes straight to the stream, XLSX through POI's SXSSF, which flushes
+ * rows beyond {@link #XLSX_ROW_WINDOW} to a compressed temp file until {@link #close()}.
+ */
+abstract class TabularWriter implements Closeable {
+
+    static final int XLSX_ROW_WINDOW = 100;
+
+    static TabularWriter open(ExportFormat format, OutputStream out, String sheetName) throws IOException {
+        return switch (format) {
+            case CSV -> new Csv(out);
+            case XLSX -> new Xlsx(out, sheetName);
+        };
+    }
+
+    abstract void row(Object... values) throws IOException;
+
+    /**
+     * Text as a spreadsheet shows it literally when opening a CSV. Values starting with a formula
+     * trigger (teacher-entered purposes and issue descriptions) get a leading apostrophe so Excel
+     * does not evaluate them. XLSX string cells are never evaluated and are written as is.
+     */
+    static String neutralise(String text) {
+        if (!text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            return "'" + text;
+        }
+        return text;
+    }
+
+    private static final class Csv extends TabularWriter {
+        private final Writer writer;
+
+        private Csv(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            // Byte order mark, so Excel reads the Cyrillic text as UTF-8
+            writer.write('\uFEFF');
+        }
+
+        @Override
+        void row(Object... values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escape(values[i]));
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void close() throws IOException {
+            // Flush only: the response stream belongs to the container
+            writer.flush();
+        }
+
+        private static String escape(Object value) {
+            if (value == null) {
+                return "";
+            }
+            String text = value instanceof Number ? value.toString() : neutralise(value.toString());
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                return text;
+            }
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    private static final class Xlsx extends TabularWriter {
+        private final OutputStream out;
+        private final SXSSFWorkbook workbook;
+        private final SXSSFSheet sheet;
+        private int rowIndex;
+
+        private Xlsx(OutputStream out, String sheetName) {
+            this.out = out;
+            this.workbook = new SXSSFWorkbook(XLSX_ROW_WINDOW);
+            this.workbook.setCompressTempFiles(true);
+            this.sheet = workbook.createSheet(sheetName);
+        }
+
+        @Override
+        void row(Object... values) {
+            Row row = sheet.createRow(rowIndex++);
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                if (value == null) {
+                    continue;
+                }
+                Cell cell = row.createCell(i);
+                if (value instanceof Number number) {
+                    cell.setCellValue(number.doubleValue());
+                } else if (value instanceof Boolean bool) {
+                    cell.setCellValue(bool);
+                } else {
+                    cell.setCellValue(value.toString());
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                workbook.write(out);
+                out.flush();
+            } finally {
+                workbook.close();
+                workbook.dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.rut.booking.services;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Reads timetable rows one at a time from CSV or the first sheet of an XLSX workbook, so a
+ * semester file is never held in memory as a whole. XLSX is read with POI's SAX event API
+ * rather than as a {@code Workbook}, which would build every cell as an object first.
+ */
+final class TimetableFileReader {
+
+    interface RowHandler {
+        /**
+         * @param line 1-based line (CSV) or row (XLSX) number, for the conflict report
+         */
+        void row(int line, List<String> cells);
+    }
+
+    private TimetableFileReader() {
+    }
+
+    static void readCsv(InputStream in, RowHandler handler) throws IOException {
+        Reader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            // No byte order mark (Excel adds one to UTF-8 CSV)
+            reader.reset();
+        }
+
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        char delimiter = 0;
+        boolean quoted = false;
+        int line = 1;
+        int rowLine = 1;
+        int c;
+        while ((c = reader.read()) != -1) {
+            char ch = (char) c;
+            if (quoted) {
+                if (ch == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        cell.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    if (ch == '\n') line++;
+                    cell.append(ch);
+                }
+            } else if (ch == '"' && cell.isEmpty()) {
+                quoted = true;
+            } else if (ch == '\n') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+                emit(handler, rowLine, cells);
+                cells = new ArrayList<>(cells.size());
+                rowLine = ++line;
+            } else if (ch == '\r') {
+                // Part of a CRLF line end
+            } else if (ch == ',' || ch == ';') {
+                // Excel in Russian locales writes ';'; whichever comes first is the delimiter for the file
+                if (delimiter == 0) {
+                    delimiter = ch;
+                }
+                if (ch == delimiter) {
+                    cells.add(cell.toString());
+                    cell.setLength(0);
+                } else {
+                    cell.append(ch);
+                }
+            } else {
+                cell.append(ch);
+            }
+        }
+        if (!cell.isEmpty() || !cells.isEmpty()) {
+            cells.add(cell.toString());
+            emit(handler, rowLine, cells);
+        }
+    }
+
+    static void readXlsx(File file, RowHandler handler) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+
+            // Built-in date cells come out as ISO dates, which the importer parses like CSV dates
+            DataFormatter formatter = new DataFormatter();
+            formatter.addFormat("m/d/yy", new SimpleDateFormat("yyyy-MM-dd"));
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(), null, strings,
+                        new SheetRowCollector(handler), formatter, false));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Not a readable XLSX file: " + e.getMessage(), e);
+        }
+    }
+
+    private static void emit(RowHandler handler, int line, List<String> cells) {
+        for (String value : cells) {
+            if (!value.isBlank()) {
+                handler.row(line, cells);
+                return;
+            }
+        }
+        // Blank lines are skipped
+    }
+
+    private static final class SheetRowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final RowHandler handler;
+        private List<String> cells;
+        private int nextColumn;
+
+        private SheetRowCollector(RowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells = new ArrayList<>();
+            nextColumn = 0;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            emit(handler, rowNum + 1, cells);
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            // Empty cells are not in the sheet XML at all; pad up to this one's column
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : nextColumn;
+            while (cells.size() < column) {
+                cells.add("");
+            }
+            cells.add(formattedValue != null ? formattedValue : "");
+            nextColumn = column + 1;
+        }
+    }
+}
@@ -0,0 +1,439 @@
+package com.rut.booking.services;
+
+import com.rut.booking.dto.TimetableConflictDto;
+import com.rut.booking.dto.TimetableImportResultDto;
+import com.rut.booking.events.BookingChangedEvent;
+import com.rut.booking.models.enums.BookingStatus;
+import com.rut.booking.models.enums.ClassPeriod;
+import com.rut.booking.models.enums.TimetableConflictType;
+import com.rut.booking.repository.RoomRepository;
+import com.rut.booking.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Imports a term timetable (CSV or XLSX) as approved bookings.
+ * <p>
+ * Rows are parsed as they are read and resolved against in-memory maps of room numbers and
+ * teacher emails, so the file costs two lookup queries rather than two per row. Valid rows
+ * are sorted by slot and swept once: equal neighbours are duplicates within the file, and each
+ * new slot is checked against the occupancy masks of the whole date range (existing bookings
+ * and blackouts, one query each). Accepted rows go in with multi-row inserts, bypassing the
+ * entity lifecycle and the outbox, so no confirmation PDF or notice is produced per booking;
+ * PDFs are still rendered on first download.
+ * <p>
+ * The file is parsed and validated without a transaction; only the conflict sweep and the
+ * inserts run in one. A booking made between the sweep and the insert is caught by the unique
+ * active-slot index ({@code import.sql}): the insert skips that row and it is reported as taken.
+ */
+@Service
+@Slf4j
+public class TimetableImportService {
+
+    private static final int INSERT_BATCH_SIZE = 1000;
+    private static final int MAX_RANGE_DAYS = 400;
+    private static final int MAX_PURPOSE_LENGTH = 500;
+    private static final DateTimeFormatter DOTTED_DATE = DateTimeFormatter.ofPattern("d.M.uuuu");
+
+    private static final String INSERT_SQL = "INSERT INTO bookings (teacher_id, room_id, booking_date, class_period, " +
+            "start_time, end_time, purpose, notes, status, processed_by, processed_at, created_at, updated_at, version) " +
+            "VALUES ";
+    private static final String INSERT_VALUES = "(?, ?, ?, ?, ?, ?, ?, ?, 'APPROVED', ?, ?, ?, ?, 0)";
+    private static final String INSERT_CONFLICT = " ON CONFLICT (room_id, booking_date, class_period) " +
+            "WHERE status IN ('APPROVED', 'PENDING', 'CREATED') DO NOTHING " +
+            "RETURNING room_id, booking_date, class_period";
+
+    private static final Map<String, String> COLUMN_ALIASES = Map.ofEntries(
+            Map.entry("room", "room"), Map.entry("аудитория", "room"),
+            Map.entry("teacher", "teacher"), Map.entry("email", "teacher"), Map.entry("преподаватель", "teacher"),
+            Map.entry("date", "date"), Map.entry("дата", "date"),
+            Map.entry("period", "period"), Map.entry("пара", "period"),
+            Map.entry("purpose", "purpose"), Map.entry("дисциплина", "purpose"), Map.entry("цель", "purpose"),
+            Map.entry("notes", "notes"), Map.entry("примечание", "notes"));
+
+    private static final Comparator<ImportRow> BY_SLOT = Comparator
+            .comparingLong((ImportRow row) -> row.room.id)
+            .thenComparing(row -> row.date)
+            .thenComparing(row -> row.period)
+            .thenComparingInt(row -> row.line);
+
+    private final RoomRepository roomRepository;
+    private final UserRepository userRepository;
+    private final OccupancyService occupancyService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UtilizationService utilizationService;
+    private final BookingStatusCounters bookingStatusCounters;
+    private final TransactionTemplate transactionTemplate;
+
+    public TimetableImportService(RoomRepository roomRepository, UserRepository userRepository,
+                                  OccupancyService occupancyService, JdbcTemplate jdbcTemplate,
+                                  ApplicationEventPublisher eventPublisher, UtilizationService utilizationService,
+                                  BookingStatusCounters bookingStatusCounters,
+                                  TransactionTemplate transactionTemplate) {
+        this.roomRepository = roomRepository;
+        this.userRepository = userRepository;
+        this.occupancyService = occupancyService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.utilizationService = utilizationService;
+        this.bookingStatusCounters = bookingStatusCounters;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Imports every row that does not conflict and reports the rest. With {@code dryRun} the file
+     * is only checked.
+     *
+     * @throws IllegalArgumentException if the file cannot be read or lacks a required column
+     */
+    public TimetableImportResultDto importTimetable(MultipartFile file, boolean dryRun, Long importedByUserId) {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Timetable file is empty");
+        }
+        String fileName = file.getOriginalFilename() != null ? file.getOriginalFilename() : "timetable";
+        long started = System.nanoTime();
+
+        TimetableImportResultDto result = new TimetableImportResultDto(fileName, dryRun);
+        RowCollector collector = new RowCollector(result);
+        read(file, fileName, collector);
+        if (collector.columns == null) {
+            throw new IllegalArgumentException("Timetable file has no header row");
+        }
+        result.setTotalRows(collector.totalRows);
+
+        List<ImportRow> accepted = transactionTemplate.execute(status -> {
+            List<ImportRow> free = sweepConflicts(collector.rows, result);
+            if (dryRun || free.isEmpty()) {
+                return free;
+            }
+            List<ImportRow> inserted = insert(free, importedByUserId, result);
+            if (!inserted.isEmpty()) {
+                refreshUsageRollup(inserted);
+                bookingStatusCounters.recordCreated(BookingStatus.APPROVED, inserted.size());
+                publishChanges(inserted);
+            }
+            return inserted;
+        });
+        result.setImportedCount(accepted.size());
+        result.setDurationMillis((System.nanoTime() - started) / 1_000_000);
+
+        log.info("Timetable import {}{}: {} of {} row(s) accepted, {} rejected in {} ms",
+                fileName, dryRun ? " (dry run)" : "", accepted.size(), result.getTotalRows(),
+                result.getConflictCount(), result.getDurationMillis());
+        return result;
+    }
+
+    private void read(MultipartFile file, String fileName, RowCollector collector) {
+        try {
+            if (fileName.toLowerCase(Locale.ROOT).endsWith(".xlsx")) {
+                // The zip directory is at the end of the file, so XLSX is read from disk rather than a stream
+                Path temp = Files.createTempFile("timetable-", ".xlsx");
+                try {
+                    file.transferTo(temp);
+                    TimetableFileReader.readXlsx(temp.toFile(), collector);
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+            } else {
+                try (InputStream in = file.getInputStream()) {
+                    TimetableFileReader.readCsv(in, collector);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read timetable file: " + e.getMessage(), e);
+        }
+    }
+
+    private List<ImportRow> sweepConflicts(List<ImportRow> rows, TimetableImportResultDto result) {
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        LocalDate first = rows.get(0).date;
+        LocalDate last = first;
+        for (ImportRow row : rows) {
+            if (row.date.isBefore(first)) first = row.date;
+            if (row.date.isAfter(last)) last = row.date;
+        }
+        if (ChronoUnit.DAYS.between(first, last) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Timetable spans more than " + MAX_RANGE_DAYS + " days");
+        }
+        Map<LocalDate, OccupancyService.DayOccupancy> occupancy = occupancyService.getOccupancy(first, last);
+
+        rows.sort(BY_SLOT);
+        List<ImportRow> accepted = new ArrayList<>(rows.size());
+        ImportRow slotOwner = null;
+        for (ImportRow row : rows) {
+            if (slotOwner != null && row.sameSlot(slotOwner)) {
+                result.addConflict(conflict(row, TimetableConflictType.DUPLICATE_IN_FILE,
+                        "Строка " + slotOwner.line));
+                continue;
+            }
+            slotOwner = row;
+            int mask = occupancy.get(row.date).maskFor(row.room.id, row.room.building, row.room.floor);
+            if ((mask & row.period.getMask()) != 0) {
+                result.addConflict(conflict(row, TimetableConflictType.SLOT_TAKEN, null));
+            } else {
+                accepted.add(row);
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Inserts the rows and returns those that went in; a row whose slot was booked since the sweep
+     * is skipped by the unique index and reported as taken.
+     */
+    private List<ImportRow> insert(List<ImportRow> rows, Long importedByUserId, TimetableImportResultDto result) {
+        LocalDateTime now = LocalDateTime.now();
+        Set<String> inserted = new HashSet<>();
+        for (int from = 0; from < rows.size(); from += INSERT_BATCH_SIZE) {
+            List<ImportRow> chunk = rows.subList(from, Math.min(from + INSERT_BATCH_SIZE, rows.size()));
+            String sql = INSERT_SQL + String.join(", ", Collections.nCopies(chunk.size(), INSERT_VALUES)) + INSERT_CONFLICT;
+            jdbcTemplate.query(sql, ps -> {
+                int i = 0;
+                for (ImportRow row : chunk) {
+                    ps.setLong(++i, row.teacherId);
+                    ps.setLong(++i, row.room.id);
+                    ps.setObject(++i, row.date);
+                    ps.setString(++i, row.period.name());
+                    ps.setObject(++i, row.period.getStartTime());
+                    ps.setObject(++i, row.period.getEndTime());
+                    ps.setString(++i, row.purpose);
+                    ps.setString(++i, row.notes);
+                    ps.setObject(++i, importedByUserId);
+                    ps.setObject(++i, now);
+                    ps.setObject(++i, now);
+                    ps.setObject(++i, now);
+                }
+            }, rs -> {
+                inserted.add(slotKey(rs.getLong(1), rs.getObject(2, LocalDate.class), rs.getString(3)));
+            });
+        }
+
+        List<ImportRow> accepted = new ArrayList<>(inserted.size());
+        for (ImportRow row : rows) {
+            if (inserted.contains(slotKey(row.room.id, row.date, row.period.name()))) {
+                accepted.add(row);
+            } else {
+                result.addConflict(conflict(row, TimetableConflictType.SLOT_TAKEN, null));
+            }
+        }
+        return accepted;
+    }
+
+    private static String slotKey(long roomId, LocalDate date, String period) {
+        return roomId + ":" + date + ":" + period;
+    }
+
+    /**
+     * The inserts bypass the outbox that keeps the usage rollup current, so the range is recomputed here.
+     */
+    private void refreshUsageRollup(List<ImportRow> rows) {
+        LocalDate first = rows.get(0).date;
+        LocalDate last = first;
+        for (ImportRow row : rows) {
+            if (row.date.isBefore(first)) first = row.date;
+            if (row.date.isAfter(last)) last = row.date;
+        }
+        utilizationService.refreshRange(first, last);
+    }
+
+    /**
+     * One event per room and day, which is all availability listeners key on.
+     */
+    private void publishChanges(List<ImportRow> rows) {
+        Set<String> published = new HashSet<>();
+        for (ImportRow row : rows) {
+            if (published.add(row.room.id + ":" + row.date)) {
+                // Batch inserts do not return ids; no listener needs them
+                eventPublisher.publishEvent(new BookingChangedEvent(null, row.room.id, row.date,
+                        row.period, BookingStatus.APPROVED));
+            }
+        }
+    }
+
+    private static TimetableConflictDto conflict(ImportRow row, TimetableConflictType type, String detail) {
+        return new TimetableConflictDto(row.line, type, row.roomNumber, row.teacher,
+                row.date.toString(), row.period.getDisplayName(), detail);
+    }
+
+    private static LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            return LocalDate.parse(value, DOTTED_DATE);
+        }
+    }
+
+    private static ClassPeriod parsePeriod(String value) {
+        if (value.startsWith("PERIOD_")) {
+            return ClassPeriod.valueOf(value);
+        }
+        // Spreadsheets may give numbers as "3.0"
+        String number = value.endsWith(".0") ? value.substring(0, value.length() - 2) : value;
+        return ClassPeriod.fromNumber(Integer.parseInt(number));
+    }
+
+    /**
+     * Turns raw rows into resolved {@link ImportRow}s as the reader produces them; rows that
+     * cannot be resolved go straight into the report.
+     */
+    private final class RowCollector implements TimetableFileReader.RowHandler {
+        private final TimetableImportResultDto result;
+        private final Map<String, RoomKey> rooms = new HashMap<>();
+        private final Map<String, Long> teachers = new HashMap<>();
+        private final LocalDate today = LocalDate.now();
+        private final List<ImportRow> rows = new ArrayList<>();
+        private Map<String, Integer> columns;
+        private int totalRows;
+
+        private RowCollector(TimetableImportResultDto result) {
+            this.result = result;
+            for (Object[] room : roomRepository.findActiveRoomKeys()) {
+                rooms.put(((String) room[0]).trim().toLowerCase(Locale.ROOT),
+                        new RoomKey((Long) room[1], (String) room[2], (Integer) room[3]));
+            }
+            for (Object[] user : userRepository.findActiveEmailIds()) {
+                teachers.put((String) user[0], (Long) user[1]);
+            }
+        }
+
+        @Override
+        public void row(int line, List<String> cells) {
+            if (columns == null) {
+                columns = header(cells);
+                return;
+            }
+            totalRows++;
+
+            String roomNumber = cell(cells, "room");
+            String teacher = cell(cells, "teacher");
+            String dateValue = cell(cells, "date");
+            String periodValue = cell(cells, "period");
+            String purpose = cell(cells, "purpose");
+
+            LocalDate date;
+            ClassPeriod period;
+            try {
+                date = parseDate(dateValue);
+                period = parsePeriod(periodValue);
+            } catch (DateTimeParseException | IllegalArgumentException e) {
+                result.addConflict(new TimetableConflictDto(line, TimetableConflictType.INVALID_ROW,
+                        roomNumber, teacher, dateValue, periodValue, "Неверная дата или номер пары"));
+                return;
+            }
+            if (purpose.isEmpty() || purpose.length() > MAX_PURPOSE_LENGTH) {
+                result.addConflict(new TimetableConflictDto(line, TimetableConflictType.INVALID_ROW,
+                        roomNumber, teacher, dateValue, period.getDisplayName(),
+                        "Цель должна быть от 1 до " + MAX_PURPOSE_LENGTH + " символов"));
+                return;
+            }
+
+            RoomKey room = rooms.get(roomNumber.toLowerCase(Locale.ROOT));
+            Long teacherId = teachers.get(teacher.toLowerCase(Locale.ROOT));
+            TimetableConflictType problem = room == null ? TimetableConflictType.UNKNOWN_ROOM
+                    : teacherId == null ? TimetableConflictType.UNKNOWN_TEACHER
+                    : date.isBefore(today) ? TimetableConflictType.PAST_DATE
+                    : null;
+            if (problem != null) {
+                result.addConflict(new TimetableConflictDto(line, problem, roomNumber, teacher,
+                        date.toString(), period.getDisplayName(), null));
+                return;
+            }
+
+            String notes = cell(cells, "notes");
+            rows.add(new ImportRow(line, room, roomNumber, teacherId, teacher, date, period, purpose,
+                    notes.isEmpty() ? null : notes));
+        }
+
+        private Map<String, Integer> header(List<String> cells) {
+            Map<String, Integer> found = new HashMap<>();
+            for (int i = 0; i < cells.size(); i++) {
+                String column = COLUMN_ALIASES.get(cells.get(i).trim().toLowerCase(Locale.ROOT));
+                if (column != null) {
+                    found.putIfAbsent(column, i);
+                }
+            }
+            List<String> missing = new ArrayList<>();
+            for (String required : List.of("room", "teacher", "date", "period", "purpose")) {
+                if (!found.containsKey(required)) {
+                    missing.add(required);
+                }
+            }
+            if (!missing.isEmpty()) {
+                throw new IllegalArgumentException("Timetable header is missing column(s): " + String.join(", ", missing));
+            }
+            return found;
+        }
+
+        private String cell(List<String> cells, String column) {
+            Integer index = columns.get(column);
+            return index != null && index < cells.size() ? cells.get(index).trim() : "";
+        }
+    }
+
+    private static final class RoomKey {
+        private final long id;
+        private final String building;
+        private final Integer floor;
+
+        private RoomKey(long id, String building, Integer floor) {
+            this.id = id;
+            this.building = building;
+            this.floor = floor;
+        }
+    }
+
+    private static final class ImportRow {
+        private final int line;
+        private final RoomKey room;
+        private final String roomNumber;
+        private final long teacherId;
+        private final String teacher;
+        private final LocalDate date;
+        private final ClassPeriod period;
+        private final String purpose;
+        private final String notes;
+
+        private ImportRow(int line, RoomKey room, String roomNumber, long teacherId, String teacher,
+                          LocalDate date, ClassPeriod period, String purpose, String notes) {
+            this.line = line;
+            this.room = room;
+            this.roomNumber = roomNumber;
+            this.teacherId = teacherId;
+            this.teacher = teacher;
+            this.date = date;
+            this.period = period;
+            this.purpose = purpose;
+            this.notes = notes;
+        }
+
+        private boolean sameSlot(ImportRow other) {
+            return room.id == other.room.id && date.equals(other.date) && period == other.period;
+        }
+    }
+}
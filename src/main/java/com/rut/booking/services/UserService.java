@@ -2,10 +2,14 @@ package com.rut.booking.services;
 
 import com.rut.booking.dto.DtoMapper;
 import com.rut.booking.dto.UserDto;
+import com.rut.booking.models.entities.Role;
 import com.rut.booking.models.entities.User;
 import com.rut.booking.models.enums.RoleType;
 import com.rut.booking.models.exceptions.ResourceNotFoundException;
+import com.rut.booking.repository.RoleRepository;
 import com.rut.booking.repository.UserRepository;
+import com.rut.booking.security.AuthenticationUserCache;
+import com.rut.booking.security.TokenRevocationService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,11 +22,21 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
     private final DtoMapper dtoMapper;
+    private final AuthenticationUserCache userCache;
+    private final EntityCacheService entityCacheService;
+    private final TokenRevocationService tokenRevocationService;
 
-    public UserService(UserRepository userRepository, DtoMapper dtoMapper) {
+    public UserService(UserRepository userRepository, RoleRepository roleRepository, DtoMapper dtoMapper,
+                       AuthenticationUserCache userCache, EntityCacheService entityCacheService,
+                       TokenRevocationService tokenRevocationService) {
         this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
         this.dtoMapper = dtoMapper;
+        this.userCache = userCache;
+        this.entityCacheService = entityCacheService;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     public User findById(Long id) {
@@ -72,8 +86,42 @@ public class UserService {
         userRepository.save(user);
     }
 
+    /**
+     * Saves any change to a user and drops its cached login and entity once this commits, so
+     * the next authentication reads the new row.
+     */
     @Transactional
     public User save(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userCache.removeUserFromCacheAfterCommit(saved.getEmail());
+        entityCacheService.evictUser(saved.getId());
+        return saved;
+    }
+
+    @Transactional
+    public UserDto deactivateUser(Long userId) {
+        User user = findById(userId);
+        user.setIsActive(false);
+        User saved = userRepository.save(user);
+        evictCachedUser(saved);
+        return dtoMapper.toUserDto(saved);
+    }
+
+    @Transactional
+    public UserDto changeRole(Long userId, RoleType roleType) {
+        User user = findById(userId);
+        Role role = roleRepository.findByCode(roleType)
+                .orElseThrow(() -> new ResourceNotFoundException("Role", "code", roleType.name()));
+        user.setRole(role);
+        User saved = userRepository.save(user);
+        evictCachedUser(saved);
+        return dtoMapper.toUserDto(saved);
+    }
+
+    private void evictCachedUser(User user) {
+        userCache.removeUserFromCacheAfterCommit(user.getEmail());
+        entityCacheService.evictUser(user.getId());
+        // Stateless tokens carry the role and are not re-checked against the database
+        tokenRevocationService.revokeAllForUser(user.getId());
     }
 }
@@ -0,0 +1,164 @@
+package com.rut.booking.services;
+
+import com.rut.booking.dto.UtilizationDto;
+import com.rut.booking.dto.UtilizationReportDto;
+import com.rut.booking.models.enums.ClassPeriod;
+import com.rut.booking.repository.RoomUsageDailyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.TextStyle;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Room utilization analytics read from the {@code room_usage_daily} rollup.
+ * <p>
+ * The rollup holds one row per room and day with the booked periods as a bitmask. It is kept
+ * current by the outbox: every booking change recomputes its room and day (see
+ * {@link com.rut.booking.outbox.UsageRollupConsumer}); bulk writes that bypass the outbox
+ * recompute their date range. A report then costs two grouped queries over the rollup: totals
+ * per room, and room-days per weekday and mask, which expand into the period breakdown.
+ * <p>
+ * Available capacity is counted as every active room for every period of every teaching day
+ * (Monday to Saturday) in the range.
+ */
+@Service
+@Transactional(readOnly = true)
+@Slf4j
+public class UtilizationService {
+
+    public static final int MAX_RANGE_DAYS = 366;
+    private static final Locale RU = Locale.forLanguageTag("ru");
+    private static final int PERIODS_PER_DAY = ClassPeriod.values().length;
+
+    private final RoomUsageDailyRepository roomUsageDailyRepository;
+
+    public UtilizationService(RoomUsageDailyRepository roomUsageDailyRepository) {
+        this.roomUsageDailyRepository = roomUsageDailyRepository;
+    }
+
+    @Transactional
+    public void refreshDay(Long roomId, LocalDate date) {
+        roomUsageDailyRepository.refreshDay(roomId, date, LocalDateTime.now());
+    }
+
+    /**
+     * Recomputes a whole date range, for writes that did not go through the outbox.
+     */
+    @Transactional
+    public void refreshRange(LocalDate startDate, LocalDate endDate) {
+        // Postgres keeps microseconds; the clearing pass compares against exactly this value
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        roomUsageDailyRepository.refreshRange(startDate, endDate, now);
+        roomUsageDailyRepository.clearNotRefreshedSince(startDate, endDate, now);
+    }
+
+    /**
+     * Builds the rollup on the first start against a database that already has bookings.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if (roomUsageDailyRepository.count() > 0) {
+            return;
+        }
+        Object[] range = roomUsageDailyRepository.findBookingDateRange().get(0);
+        if (range[0] != null) {
+            refreshRange(toLocalDate(range[0]), toLocalDate(range[1]));
+            log.info("Room usage rollup built for {} – {}", range[0], range[1]);
+        }
+    }
+
+    public UtilizationReportDto getReport(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate) || ChronoUnit.DAYS.between(startDate, endDate) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range must be between 1 and " + MAX_RANGE_DAYS + " days");
+        }
+        UtilizationReportDto report = new UtilizationReportDto(startDate, endDate);
+
+        // Teaching days in the range per ISO weekday (index 1..6)
+        int[] weekdayCounts = new int[8];
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            if (date.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                weekdayCounts[date.getDayOfWeek().getValue()]++;
+            }
+        }
+        int teachingDays = 0;
+        for (int count : weekdayCounts) {
+            teachingDays += count;
+        }
+        long slotsPerRoom = (long) teachingDays * PERIODS_PER_DAY;
+
+        Map<String, long[]> byBuilding = new TreeMap<>();
+        Map<String, long[]> byFloor = new TreeMap<>();
+        long totalBooked = 0;
+        int roomCount = 0;
+        for (Object[] row : roomUsageDailyRepository.sumByRoom(startDate, endDate)) {
+            String number = (String) row[1];
+            String building = row[2] != null ? (String) row[2] : "—";
+            Integer floor = row[3] != null ? ((Number) row[3]).intValue() : null;
+            long booked = ((Number) row[4]).longValue();
+
+            report.getRooms().add(new UtilizationDto(number, booked, slotsPerRoom));
+            add(byBuilding, building, booked, slotsPerRoom);
+            add(byFloor, building + ", этаж " + (floor != null ? floor : "—"), booked, slotsPerRoom);
+            totalBooked += booked;
+            roomCount++;
+        }
+        byBuilding.forEach((label, sums) -> report.getBuildings().add(new UtilizationDto(label, sums[0], sums[1])));
+        byFloor.forEach((label, sums) -> report.getFloors().add(new UtilizationDto(label, sums[0], sums[1])));
+        report.setTotal(new UtilizationDto("Всего", totalBooked, roomCount * slotsPerRoom));
+
+        // heat[weekday][period]: room-days with that period booked
+        long[][] heat = new long[8][PERIODS_PER_DAY];
+        for (Object[] row : roomUsageDailyRepository.countMasksByWeekday(startDate, endDate)) {
+            int weekday = ((Number) row[0]).intValue();
+            int mask = ((Number) row[1]).intValue();
+            long roomDays = ((Number) row[2]).longValue();
+            for (ClassPeriod period : ClassPeriod.fromMask(mask)) {
+                heat[weekday][period.getNumber() - 1] += roomDays;
+            }
+        }
+
+        long[] periodTotals = new long[PERIODS_PER_DAY];
+        for (int weekday = DayOfWeek.MONDAY.getValue(); weekday <= DayOfWeek.SATURDAY.getValue(); weekday++) {
+            long available = (long) roomCount * weekdayCounts[weekday];
+            List<UtilizationDto> cells = new ArrayList<>(PERIODS_PER_DAY);
+            long weekdayBooked = 0;
+            for (ClassPeriod period : ClassPeriod.values()) {
+                long booked = heat[weekday][period.getNumber() - 1];
+                cells.add(new UtilizationDto(period.getDisplayName(), booked, available));
+                periodTotals[period.getNumber() - 1] += booked;
+                weekdayBooked += booked;
+            }
+            String label = DayOfWeek.of(weekday).getDisplayName(TextStyle.SHORT, RU);
+            report.getHeatmap().add(new UtilizationReportDto.HeatmapRow(label, cells));
+            report.getWeekdays().add(new UtilizationDto(label, weekdayBooked, available * PERIODS_PER_DAY));
+        }
+        for (ClassPeriod period : ClassPeriod.values()) {
+            report.getPeriods().add(new UtilizationDto(period.getDisplayName() + " (" + period.getTimeRange() + ")",
+                    periodTotals[period.getNumber() - 1], (long) roomCount * teachingDays));
+        }
+        return report;
+    }
+
+    private static void add(Map<String, long[]> sums, String key, long booked, long available) {
+        long[] values = sums.computeIfAbsent(key, k -> new long[2]);
+        values[0] += booked;
+        values[1] += available;
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof java.sql.Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+}
@@ -0,0 +1,172 @@
+package com.rut.booking.services;
+
+import com.rut.booking.dto.BookingCreateRequest;
+import com.rut.booking.dto.DtoMapper;
+import com.rut.booking.dto.WaitlistEntryDto;
+import com.rut.booking.models.entities.Booking;
+import com.rut.booking.models.entities.Room;
+import com.rut.booking.models.entities.RoomBlackout;
+import com.rut.booking.models.entities.WaitlistEntry;
+import com.rut.booking.models.enums.ClassPeriod;
+import com.rut.booking.models.enums.OutboxEventType;
+import com.rut.booking.models.enums.WaitlistStatus;
+import com.rut.booking.models.exceptions.ResourceNotFoundException;
+import com.rut.booking.outbox.OutboxService;
+import com.rut.booking.repository.BookingRepository;
+import com.rut.booking.repository.WaitlistEntryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Queues teachers for taken slots. The queue is only read when a slot is freed:
+ * {@link BookingService} locks the head entry in the transaction that cancels or rejects the
+ * booking and books the slot for it, so waiting teachers no longer need to poll the room page.
+ */
+@Service
+@Transactional(readOnly = true)
+@Slf4j
+public class WaitlistService {
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final BookingRepository bookingRepository;
+    private final UserService userService;
+    private final RoomService roomService;
+    private final OccupancyService occupancyService;
+    private final OutboxService outboxService;
+    private final DtoMapper dtoMapper;
+
+    public WaitlistService(WaitlistEntryRepository waitlistEntryRepository, BookingRepository bookingRepository,
+                           UserService userService, RoomService roomService, OccupancyService occupancyService,
+                           OutboxService outboxService, DtoMapper dtoMapper) {
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.bookingRepository = bookingRepository;
+        this.userService = userService;
+        this.roomService = roomService;
+        this.occupancyService = occupancyService;
+        this.outboxService = outboxService;
+        this.dtoMapper = dtoMapper;
+    }
+
+    public List<WaitlistEntryDto> getWaitingEntries(Long teacherId) {
+        return waitlistEntryRepository.findByTeacherAndStatus(teacherId, WaitlistStatus.WAITING).stream()
+                .map(entry -> {
+                    WaitlistEntryDto dto = dtoMapper.toWaitlistEntryDto(entry);
+                    dto.setPosition(waitlistEntryRepository.countAhead(entry.getRoom().getId(),
+                            entry.getBookingDate(), entry.getClassPeriod(), entry.getPriority(),
+                            entry.getCreatedAt(), entry.getId()) + 1);
+                    return dto;
+                })
+                .toList();
+    }
+
+    @Transactional
+    public WaitlistEntryDto join(Long teacherId, BookingCreateRequest request) {
+        if (request.getBookingDate().isBefore(LocalDate.now())) {
+            throw new IllegalStateException("Cannot join the waitlist for a past date");
+        }
+        Room room = roomService.findById(request.getRoomId());
+        // A closed slot never frees up for the waitlist, and booking it fails too
+        Optional<RoomBlackout> blackout = occupancyService.findBlackout(room, request.getBookingDate(), request.getClassPeriod());
+        if (blackout.isPresent()) {
+            String reason = blackout.get().getReason();
+            throw new IllegalStateException(String.format("Room %s is closed on %s at %s%s",
+                    room.getNumber(), request.getBookingDate(), request.getClassPeriod().getTimeRange(),
+                    reason != null && !reason.isBlank() ? ": " + reason : ""));
+        }
+        if (!bookingRepository.isRoomBookedForPeriod(room.getId(), request.getBookingDate(), request.getClassPeriod())) {
+            throw new IllegalStateException("The slot is free, book it directly");
+        }
+        if (waitlistEntryRepository.isWaiting(teacherId, room.getId(), request.getBookingDate(), request.getClassPeriod())) {
+            throw new IllegalStateException("You are already on the waitlist for this slot");
+        }
+
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setTeacher(userService.findById(teacherId));
+        entry.setRoom(room);
+        entry.setBookingDate(request.getBookingDate());
+        entry.setClassPeriod(request.getClassPeriod());
+        entry.setPurpose(request.getPurpose());
+        entry.setNotes(request.getNotes());
+        return dtoMapper.toWaitlistEntryDto(waitlistEntryRepository.save(entry));
+    }
+
+    @Transactional
+    public void leave(Long entryId, Long userId) {
+        WaitlistEntry entry = findById(entryId);
+        if (!entry.getTeacher().getId().equals(userId)) {
+            throw new IllegalStateException("Only the owner can leave the waitlist");
+        }
+        if (entry.getStatus() != WaitlistStatus.WAITING) {
+            throw new IllegalStateException("Waitlist entry is no longer waiting: " + entry.getStatus());
+        }
+        entry.setStatus(WaitlistStatus.CANCELLED);
+        waitlistEntryRepository.save(entry);
+    }
+
+    @Transactional
+    public WaitlistEntryDto setPriority(Long entryId, int priority) {
+        WaitlistEntry entry = findById(entryId);
+        entry.setPriority(priority);
+        return dtoMapper.toWaitlistEntryDto(waitlistEntryRepository.save(entry));
+    }
+
+    /**
+     * Locks the next entry for a slot; must run in the transaction that frees the slot.
+     */
+    @Transactional
+    public Optional<WaitlistEntry> lockNext(Long roomId, LocalDate date, ClassPeriod period) {
+        return waitlistEntryRepository.lockNext(roomId, date, period.name());
+    }
+
+    /**
+     * Links the entry to the booking it became and queues the notice to the teacher.
+     */
+    @Transactional
+    public void markPromoted(WaitlistEntry entry, Booking booking) {
+        entry.setStatus(WaitlistStatus.PROMOTED);
+        entry.setBooking(booking);
+        entry.setPromotedAt(LocalDateTime.now());
+        waitlistEntryRepository.save(entry);
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("email", entry.getTeacher().getEmail());
+        payload.put("fullName", entry.getTeacher().getFullName());
+        payload.put("bookingId", booking.getId());
+        payload.put("roomNumber", booking.getRoom().getNumber());
+        payload.put("bookingDate", booking.getBookingDate().toString());
+        payload.put("timeRange", booking.getClassPeriod().getTimeRange());
+        outboxService.publish(OutboxEventType.WAITLIST_PROMOTED, "WaitlistEntry", entry.getId(), payload);
+    }
+
+    /**
+     * Drops the queue of a slot that staff closed on purpose (bulk reject or cancel), so the slot
+     * is not handed straight back to a waiting teacher.
+     */
+    @Transactional
+    public int cancelWaiting(Long roomId, LocalDate date, ClassPeriod period) {
+        return waitlistEntryRepository.cancelWaiting(roomId, date, period);
+    }
+
+    @Scheduled(fixedDelayString = "${app.waitlist.expire-interval-ms:3600000}")
+    @Transactional
+    public void expirePastEntries() {
+        int expired = waitlistEntryRepository.expireBefore(LocalDate.now());
+        if (expired > 0) {
+            log.info("Expired {} waitlist entr{}", expired, expired == 1 ? "y" : "ies");
+        }
+    }
+
+    private WaitlistEntry findById(Long id) {
+        return waitlistEntryRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("WaitlistEntry", id));
+    }
+}
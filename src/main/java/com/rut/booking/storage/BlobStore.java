@@ -0,0 +1,48 @@
+package com.rut.booking.storage;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Storage for uploaded images and generated PDFs. Keys are relative, slash-separated paths
+ * such as {@code uploads/blobs/3f/3fa9...c1.jpg} or {@code pdf-storage/booking_12_ab34cd56.pdf}.
+ */
+public interface BlobStore {
+
+    /**
+     * Stores {@code content} under {@code key}, replacing any existing object.
+     *
+     * @param contentLength size in bytes, or {@code -1} when unknown
+     */
+    void put(String key, InputStream content, long contentLength, String contentType);
+
+    /**
+     * Opens the object for reading. The caller closes the stream.
+     *
+     * @throws com.rut.booking.models.exceptions.ResourceNotFoundException if there is no object under {@code key}
+     */
+    InputStream open(String key);
+
+    boolean exists(String key);
+
+    void delete(String key);
+
+    /**
+     * A time-limited URL the client can download the object from directly, or empty when the
+     * backend cannot hand out such URLs and the application has to serve the bytes itself.
+     */
+    Optional<URI> presignedDownloadUrl(String key, Duration ttl);
+
+    /**
+     * Turns stored paths ({@code /uploads/...}, {@code ./pdf-storage/...}) into store keys.
+     */
+    static String toKey(String path) {
+        String key = path.replace('\\', '/');
+        while (key.startsWith("./") || key.startsWith("/")) {
+            key = key.startsWith("./") ? key.substring(2) : key.substring(1);
+        }
+        return key;
+    }
+}
@@ -0,0 +1,142 @@
+package com.rut.booking.storage;
+
+import com.rut.booking.models.exceptions.ResourceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Stores blobs in an S3-compatible bucket (AWS S3, MinIO). Objects larger than one part, or
+ * of unknown size, are sent as a multipart upload so only one part is buffered at a time.
+ * Downloads are handed to the client as pre-signed URLs.
+ */
+@Slf4j
+public class S3BlobStore implements BlobStore, AutoCloseable {
+
+    // S3 requires every part except the last to be at least 5 MB
+    static final int PART_SIZE = 8 * 1024 * 1024;
+
+    private final S3Client s3Client;
+    private final S3Presigner presigner;
+    private final String bucket;
+
+    public S3BlobStore(S3Client s3Client, S3Presigner presigner, String bucket) {
+        this.s3Client = s3Client;
+        this.presigner = presigner;
+        this.bucket = bucket;
+    }
+
+    @Override
+    public void put(String key, InputStream content, long contentLength, String contentType) {
+        String objectKey = BlobStore.toKey(key);
+        try {
+            if (contentLength >= 0 && contentLength <= PART_SIZE) {
+                s3Client.putObject(b -> b.bucket(bucket).key(objectKey).contentType(contentType),
+                        RequestBody.fromInputStream(content, contentLength));
+            } else {
+                multipartUpload(objectKey, content, contentType);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void multipartUpload(String objectKey, InputStream content, String contentType) throws IOException {
+        String uploadId = s3Client.createMultipartUpload(b -> b.bucket(bucket).key(objectKey).contentType(contentType))
+                .uploadId();
+        try {
+            List<CompletedPart> parts = new ArrayList<>();
+            byte[] buffer = new byte[PART_SIZE];
+            int partNumber = 1;
+            while (true) {
+                int length = content.readNBytes(buffer, 0, PART_SIZE);
+                if (length == 0 && partNumber > 1) {
+                    break;
+                }
+                int number = partNumber++;
+                byte[] part = length == PART_SIZE ? buffer : Arrays.copyOf(buffer, length);
+                String eTag = s3Client.uploadPart(b -> b.bucket(bucket).key(objectKey)
+                                .uploadId(uploadId).partNumber(number).contentLength((long) length),
+                        RequestBody.fromBytes(part)).eTag();
+                parts.add(CompletedPart.builder().partNumber(number).eTag(eTag).build());
+                if (length < PART_SIZE) {
+                    break;
+                }
+            }
+            s3Client.completeMultipartUpload(b -> b.bucket(bucket).key(objectKey).uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build()));
+        } catch (IOException | RuntimeException e) {
+            s3Client.abortMultipartUpload(b -> b.bucket(bucket).key(objectKey).uploadId(uploadId));
+            throw e;
+        }
+    }
+
+    @Override
+    public InputStream open(String key) {
+        String objectKey = BlobStore.toKey(key);
+        try {
+            return s3Client.getObject(b -> b.bucket(bucket).key(objectKey));
+        } catch (NoSuchKeyException e) {
+            throw new ResourceNotFoundException("Blob", "key", key);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        String objectKey = BlobStore.toKey(key);
+        try {
+            s3Client.headObject(b -> b.bucket(bucket).key(objectKey));
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        String objectKey = BlobStore.toKey(key);
+        try {
+            s3Client.deleteObject(b -> b.bucket(bucket).key(objectKey));
+        } catch (S3Exception e) {
+            log.warn("Failed to delete {}", key, e);
+        }
+    }
+
+    @Override
+    public Optional<URI> presignedDownloadUrl(String key, Duration ttl) {
+        String objectKey = BlobStore.toKey(key);
+        try {
+            return Optional.of(presigner.presignGetObject(p -> p.signatureDuration(ttl)
+                            .getObjectRequest(g -> g.bucket(bucket).key(objectKey)))
+                    .url().toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Invalid pre-signed URL for " + key, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        presigner.close();
+        s3Client.close();
+    }
+}
@@ -0,0 +1,7 @@
+-- Partial indexes that JPA @Index cannot express. Hibernate runs this script after
+-- schema creation when ddl-auto is create/create-drop. One statement per line.
+CREATE UNIQUE INDEX IF NOT EXISTS idx_bookings_active_slot ON bookings (room_id, booking_date, class_period) WHERE status IN ('APPROVED', 'PENDING', 'CREATED');
+CREATE INDEX IF NOT EXISTS idx_reviews_room_active_created ON reviews (room_id, created_at DESC) WHERE is_deleted = false;
+CREATE INDEX IF NOT EXISTS idx_reviews_with_issues ON reviews (created_at DESC) WHERE is_deleted = false AND issues IS NOT NULL AND issues <> '';
+CREATE INDEX IF NOT EXISTS idx_reviews_deleted ON reviews (room_id) WHERE is_deleted = true;
+CREATE INDEX IF NOT EXISTS idx_room_issues_unresolved ON room_issues (created_at DESC) WHERE is_resolved = false;